@@ -0,0 +1,81 @@
+package com.aspectsense.greektools.cli;
+
+import com.aspectsense.greektools.FileTransliterator;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+/**
+ * A command-line front end of {@link FileTransliterator}, which converts a file into another using several threads,
+ * and reports the throughput, e.g.
+ * <pre>
+ * java -cp greektools-cli.jar com.aspectsense.greektools.cli.FileTransliteratorCli [--accents | --remove-accents] [--threads N] input output
+ * </pre>
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public final class FileTransliteratorCli {
+
+    static final String USAGE = "Usage: java " + FileTransliteratorCli.class.getName() +
+            " [--accents | --remove-accents] [--threads N] input output";
+
+    private FileTransliteratorCli() {}
+
+    /**
+     * Runs the conversion given by the arguments.
+     *
+     * @return the exit status, as in {@link GreeklishCli}
+     */
+    static int run(final String [] args, final PrintStream out, final PrintStream err) {
+        FileTransliterator.Mode mode = FileTransliterator.Mode.TO_GREEKLISH;
+        int numOfThreads = Runtime.getRuntime().availableProcessors();
+        String input = null;
+        String output = null;
+        boolean valid = true;
+        for(int i = 0; i < args.length && valid; i++) {
+            switch (args[i]) {
+                case "--accents": mode = FileTransliterator.Mode.TO_GREEKLISH_WITH_ACCENTS; break;
+                case "--remove-accents": mode = FileTransliterator.Mode.REMOVE_ACCENTS; break;
+                case "--threads":
+                    try {
+                        numOfThreads = Integer.parseInt(args[++i]);
+                        valid = numOfThreads > 0;
+                    } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+                        valid = false;
+                    }
+                    break;
+                default:
+                    if(input == null) input = args[i];
+                    else if(output == null) output = args[i];
+                    else valid = false; // too many arguments
+            }
+        }
+        if(!valid || input == null || output == null) {
+            err.println(USAGE);
+            return GreeklishCli.EXIT_ERROR;
+        }
+
+        final Path inputPath = Paths.get(input);
+        try {
+            final long start = System.nanoTime();
+            final long written = FileTransliterator.transliterate(inputPath, Paths.get(output), mode, numOfThreads);
+            final double seconds = (System.nanoTime() - start) / 1e9;
+            final double megabytes = Files.size(inputPath) / (1024d * 1024d);
+            out.println(String.format(Locale.US, "Converted %.1f MB to %.1f MB in %.2f s (%.1f MB/s)",
+                    megabytes, written / (1024d * 1024d), seconds, megabytes / seconds));
+            return GreeklishCli.EXIT_SUCCESS;
+        } catch (IOException ioe) {
+            err.println("greeklish: " + ioe.getMessage());
+            return GreeklishCli.EXIT_ERROR;
+        }
+    }
+
+    public static void main(final String [] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+}
@@ -0,0 +1,143 @@
+package com.aspectsense.greektools.cli;
+
+import com.aspectsense.greektools.GreekCharClass;
+import com.aspectsense.greektools.GreekScanner;
+import com.aspectsense.greektools.Greeklish;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A command-line transliterator, which reads text from the standard input and writes the result to the standard
+ * output, both in UTF-8, for use in shell pipelines, e.g.
+ * <pre>
+ * echo 'Καλή μέρα' | greeklish                  # Kali mera
+ * echo 'Καλή μέρα' | greeklish --accents        # Kalī́ méra
+ * echo 'Καλή μέρα' | greeklish --remove-accents # Καλη μερα
+ * greeklish --contains-greek &lt; file.txt &amp;&amp; echo 'has Greek'
+ * </pre>
+ *
+ * The input is converted as it is read, in bounded memory. With --contains-greek nothing is written: as with
+ * {@code grep -q}, the exit status is 0 if the input contains a Greek letter, which is read only up to the first one,
+ * and 1 otherwise. Invalid options and errors exit with status 2.
+ *
+ * The command needs nothing but the library, so it can be built as a native executable with GraalVM
+ * ({@code ./gradlew nativeImage}), which starts in a few milliseconds rather than starting a JVM for every call; its
+ * configuration is in src/cli/resources/META-INF/native-image.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public final class GreeklishCli {
+
+    static final int EXIT_SUCCESS = 0;
+    static final int EXIT_NOT_FOUND = 1;
+    static final int EXIT_ERROR = 2;
+
+    static final String USAGE = "Usage: greeklish [--accents | --remove-accents | --contains-greek] < input > output";
+
+    private static final int BUFFER_SIZE = 8192;
+
+    enum Command {
+        /** As with {@link Greeklish#toGreeklish(String)}. */
+        TO_GREEKLISH,
+        /** As with {@link Greeklish#toGreeklish(String, boolean)} with accents. */
+        TO_GREEKLISH_WITH_ACCENTS,
+        /** As with {@link Greeklish#removeAccents(String)}. */
+        REMOVE_ACCENTS,
+        /** As with {@link Greeklish#containsGreek(String)}, reported by the exit status. */
+        CONTAINS_GREEK
+    }
+
+    private GreeklishCli() {}
+
+    /**
+     * Runs the command given by the arguments.
+     *
+     * @return the exit status
+     */
+    static int run(final String [] args, final InputStream in, final OutputStream out, final PrintStream err) {
+        Command command = Command.TO_GREEKLISH;
+        for(final String arg : args) {
+            switch (arg) {
+                case "--accents": command = Command.TO_GREEKLISH_WITH_ACCENTS; break;
+                case "--remove-accents": command = Command.REMOVE_ACCENTS; break;
+                case "--contains-greek": command = Command.CONTAINS_GREEK; break;
+                case "-h":
+                case "--help":
+                    err.println(USAGE);
+                    return EXIT_SUCCESS;
+                default:
+                    err.println("greeklish: unknown option " + arg);
+                    err.println(USAGE);
+                    return EXIT_ERROR;
+            }
+        }
+
+        final Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        try {
+            switch (command) {
+                case CONTAINS_GREEK:
+                    return containsGreek(reader) ? EXIT_SUCCESS : EXIT_NOT_FOUND;
+                case REMOVE_ACCENTS:
+                    removeAccents(reader, writer);
+                    return EXIT_SUCCESS;
+                default:
+                    Greeklish.toGreeklish(reader, writer, command == Command.TO_GREEKLISH_WITH_ACCENTS);
+                    return EXIT_SUCCESS;
+            }
+        } catch (IOException ioe) {
+            err.println("greeklish: " + ioe.getMessage());
+            return EXIT_ERROR;
+        }
+    }
+
+    private static boolean containsGreek(final Reader in) throws IOException {
+        final char [] buffer = new char[BUFFER_SIZE];
+        int count;
+        while((count = in.read(buffer, 0, buffer.length)) != -1) {
+            if(GreekScanner.containsGreek(buffer, 0, count)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes the accents of the text read, a buffer at a time. The last letter of each buffer is kept for the next
+     * one, as the combining marks after it may not have been read yet.
+     */
+    private static void removeAccents(final Reader in, final Writer out) throws IOException {
+        final char [] buffer = new char[BUFFER_SIZE];
+        final StringBuilder converted = new StringBuilder(BUFFER_SIZE);
+        int length = 0;
+        int count;
+        while((count = in.read(buffer, length, buffer.length - length)) != -1) {
+            length += count;
+            int end = length;
+            while(end > 0 && GreekCharClass.isCombiningMark(buffer[end - 1])) end--;
+            if(end > 1) end--; // unless the buffer is a single letter with its marks
+            else end = length;
+            Greeklish.removeAccents(CharBuffer.wrap(buffer, 0, end), converted);
+            out.append(converted);
+            converted.setLength(0);
+            System.arraycopy(buffer, end, buffer, 0, length - end);
+            length -= end;
+        }
+        Greeklish.removeAccents(CharBuffer.wrap(buffer, 0, length), converted);
+        out.append(converted);
+        out.flush();
+    }
+
+    public static void main(final String [] args) {
+        System.exit(run(args, System.in, System.out, System.err));
+    }
+}
@@ -0,0 +1,417 @@
+package com.aspectsense.greektools.generator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Generates the GreeklishTables class at build time, so that the library starts without filling any maps and without
+ * classifying characters: the transliteration tables are read from a tab-separated file, and the flags, the versions
+ * without accents and the monotonic versions of all the Greek characters are computed with the canonical
+ * decomposition. The character trigram scores of the {@code GreeklishDetector} are computed from a Greek sample,
+ * transliterated with the tables, and from an English sample. Everything is written out as constant arrays and
+ * strings.
+ *
+ * Usage: TablesGenerator tables.tsv greek-sample.txt english-sample.txt outputDirectory
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public class TablesGenerator {
+
+    private static final String PACKAGE = "com.aspectsense.greektools";
+    private static final String CLASS_NAME = "GreeklishTables";
+
+    // the flags of each character
+    private static final int GREEK = 1;
+    private static final int VOWEL = 1 << 1;
+    private static final int UPPER = 1 << 2;
+    private static final int LOWER = 1 << 3;
+    private static final int NOTE_1 = 1 << 4;
+    private static final int NOTE_2 = 1 << 5;
+    private static final int ROUGH_BREATHING = 1 << 6;
+
+    // the kinds of accents, as found in the canonical decomposition
+    private static final int TONOS = 1;
+    private static final int DIALYTIKA = 1 << 1;
+    private static final int OTHER_ACCENT = 1 << 2;
+
+    private static final char COMBINING_GRAVE_ACCENT = '\u0300';
+    private static final char COMBINING_ACUTE_ACCENT = '\u0301';
+    private static final char COMBINING_DIAERESIS = '\u0308';
+    private static final char COMBINING_GREEK_PERISPOMENI = '\u0342';
+    private static final char COMBINING_REVERSED_COMMA_ABOVE = '\u0314'; // the rough breathing (dasia)
+
+    private static final char GREEK_AND_COPTIC_START = '\u0370';
+    private static final char GREEK_AND_COPTIC_END = '\u0400';
+    private static final char GREEK_EXTENDED_START = '\u1F00';
+    private static final char GREEK_EXTENDED_END = '\u2000';
+    private static final int GREEK_EXTENDED_OFFSET = GREEK_AND_COPTIC_END - GREEK_AND_COPTIC_START;
+    private static final int TABLE_SIZE = GREEK_EXTENDED_OFFSET + GREEK_EXTENDED_END - GREEK_EXTENDED_START;
+
+    // the Coptic letters share the Greek and Coptic block, but they are not Greek
+    private static final char COPTIC_START = '\u03E2';
+    private static final char COPTIC_END = '\u03F0';
+
+    // the letters of the notes of ISO 843, escaped so that the generator compiles in any default encoding
+    private static final String VOWELS = "\u03B1\u03B5\u03B7\u03B9\u03BF\u03C5\u03C9";
+    private static final String NOTE_1_CONSONANTS = "\u03B2\u03B3\u03B4\u03B6\u03BB\u03BC\u03BD\u03C1"; // voiced consonants
+    private static final String NOTE_2_CONSONANTS = "\u03B8\u03BA\u03BE\u03C0\u03C3\u03C2\u03C4\u03C6\u03C7\u03C8"; // voiceless consonants
+
+    // the trigrams of the detector are over the word boundary (0) and the Latin letters (1 to 26), and their scores
+    // are stored in sixteenths of a natural logarithm
+    private static final int TRIGRAM_ALPHABET = 27;
+    private static final int TRIGRAM_SCALE = 16;
+    private static final int MAX_TRIGRAM_SCORE = 127;
+    // the weight of the higher order when mixing the trigram, bigram and letter probabilities
+    private static final double INTERPOLATION = 0.6;
+
+    public static void main(String[] args) throws IOException {
+        if(args.length != 4) {
+            System.err.println("Usage: java " + TablesGenerator.class.getName() + " tables.tsv greek-sample.txt english-sample.txt outputDirectory");
+            System.exit(1);
+        }
+        final Map<String, List<String[]>> tables = readTables(Paths.get(args[0]));
+        final String greeklishSample = toGreeklish(tables, readSample(Paths.get(args[1])));
+        final String englishSample = readSample(Paths.get(args[2]));
+        final Path output = Paths.get(args[3]).resolve(PACKAGE.replace('.', '/')).resolve(CLASS_NAME + ".java");
+        Files.createDirectories(output.getParent());
+        Files.write(output, generate(tables, trigramScores(greeklishSample, englishSample)).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads the tables, keeping their order and the order of their rows. Empty lines and lines starting with '#' are
+     * skipped.
+     */
+    static Map<String, List<String[]>> readTables(final Path path) throws IOException {
+        final Map<String, List<String[]>> tables = new LinkedHashMap<>();
+        int lineNumber = 0;
+        for(final String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            lineNumber++;
+            if(line.trim().isEmpty() || line.startsWith("#")) continue;
+            final String [] columns = line.split("\t");
+            if(columns.length < 3) throw new IOException(path + ":" + lineNumber + ": expected a table, a key and a value");
+            final List<String[]> rows = tables.computeIfAbsent(columns[0], table -> new ArrayList<>());
+            if(!rows.isEmpty() && rows.get(0).length != columns.length - 1) {
+                throw new IOException(path + ":" + lineNumber + ": all the rows of " + columns[0] + " must have the same columns");
+            }
+            final String [] row = new String[columns.length - 1];
+            System.arraycopy(columns, 1, row, 0, row.length);
+            rows.add(row);
+        }
+        return tables;
+    }
+
+    /**
+     * Reads a sample text, skipping the lines starting with '#'.
+     */
+    static String readSample(final Path path) throws IOException {
+        final StringBuilder sample = new StringBuilder();
+        for(final String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            if(!line.startsWith("#")) sample.append(line).append('\n');
+        }
+        return sample.toString();
+    }
+
+    /**
+     * Transliterates the given Greek text, in lower case and without accents, with the MAPPING, EXCEPTIONS,
+     * NOTES_1_2 and WORD_INITIAL tables: this is enough for the statistics of the detector, which ignores case.
+     */
+    static String toGreeklish(final Map<String, List<String[]>> tables, final String text) {
+        final Map<String, String[]> mapping = lowercaseRows(tables.get("MAPPING"));
+        final Map<String, String[]> exceptions = lowercaseRows(tables.get("EXCEPTIONS"));
+        final Map<String, String[]> notes = lowercaseRows(tables.get("NOTES_1_2"));
+        final Map<String, String[]> wordInitial = lowercaseRows(tables.get("WORD_INITIAL"));
+        final String greek = withoutAccents(text);
+        final StringBuilder greeklish = new StringBuilder(greek.length() + greek.length() / 4);
+        int i = 0;
+        while(i < greek.length()) {
+            final String pair = i + 2 <= greek.length() ? greek.substring(i, i + 2) : "";
+            final boolean wordStart = i == 0 || !Character.isLetter(greek.charAt(i - 1));
+            if(wordStart && wordInitial.containsKey(pair)) {
+                greeklish.append(wordInitial.get(pair)[0]);
+                i += 2;
+            } else if(notes.containsKey(pair)) {
+                // note 1 before vowels and voiced consonants, note 2 before voiceless consonants and word-finally
+                final char next = i + 2 < greek.length() ? greek.charAt(i + 2) : ' ';
+                final boolean voiced = VOWELS.indexOf(next) != -1 || NOTE_1_CONSONANTS.indexOf(next) != -1;
+                greeklish.append(notes.get(pair)[voiced ? 0 : 1]);
+                i += 2;
+            } else if(exceptions.containsKey(pair)) {
+                greeklish.append(exceptions.get(pair)[0]);
+                i += 2;
+            } else {
+                final String letter = greek.substring(i, i + 1);
+                greeklish.append(mapping.containsKey(letter) ? mapping.get(letter)[0] : letter);
+                i++;
+            }
+        }
+        return greeklish.toString();
+    }
+
+    /**
+     * @return the rows of the given table whose keys are in lower case and without accents, by key
+     */
+    private static Map<String, String[]> lowercaseRows(final List<String[]> rows) {
+        final Map<String, String[]> lowercase = new HashMap<>();
+        for(final String [] row : rows) {
+            if(row[0].equals(withoutAccents(row[0]))) {
+                lowercase.put(row[0], Arrays.copyOfRange(row, 1, row.length));
+            }
+        }
+        return lowercase;
+    }
+
+    private static String withoutAccents(final String text) {
+        final String decomposition = Normalizer.normalize(text, Normalizer.Form.NFD);
+        final StringBuilder plain = new StringBuilder(decomposition.length());
+        for(int i = 0; i < decomposition.length(); i++) {
+            final char c = decomposition.charAt(i);
+            if(Character.getType(c) != Character.NON_SPACING_MARK) plain.append(c);
+        }
+        return plain.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Computes, for each trigram of letters and word boundaries, the logarithm of the ratio between its probability
+     * in the Greeklish sample and its probability in the English sample, in sixteenths and clamped to a byte. The
+     * probability of a letter after two others mixes its trigram, bigram and letter frequencies, so that trigrams
+     * which are missing from a sample still get a score.
+     */
+    static byte [] trigramScores(final String greeklishSample, final String englishSample) {
+        final double [] greeklish = trigramProbabilities(greeklishSample);
+        final double [] english = trigramProbabilities(englishSample);
+        final byte [] scores = new byte[greeklish.length];
+        for(int i = 0; i < scores.length; i++) {
+            final long score = Math.round(TRIGRAM_SCALE * Math.log(greeklish[i] / english[i]));
+            scores[i] = (byte) Math.max(-MAX_TRIGRAM_SCORE, Math.min(MAX_TRIGRAM_SCORE, score));
+        }
+        return scores;
+    }
+
+    private static double [] trigramProbabilities(final String sample) {
+        final int n = TRIGRAM_ALPHABET;
+        final long [] trigrams = new long[n * n * n];
+        final long [] bigrams = new long[n * n];
+        final long [] letters = new long[n];
+        // each word is counted with two boundaries before it and one after it, so that its first letters and its
+        // end are scored as well
+        int previous = 0;
+        int current = 0;
+        for(int i = 0; i <= sample.length(); i++) {
+            final int letter = i < sample.length() ? trigramLetter(sample.charAt(i)) : 0;
+            if(letter == 0 && current == 0) continue;
+            trigrams[(previous * n + current) * n + letter]++;
+            bigrams[current * n + letter]++;
+            letters[letter]++;
+            previous = letter == 0 ? 0 : current;
+            current = letter;
+        }
+        final long [] trigramContexts = new long[n * n];
+        final long [] bigramContexts = new long[n];
+        long total = 0;
+        for(int i = 0; i < trigrams.length; i++) trigramContexts[i / n] += trigrams[i];
+        for(int i = 0; i < bigrams.length; i++) bigramContexts[i / n] += bigrams[i];
+        for(final long count : letters) total += count;
+
+        final double [] probabilities = new double[trigrams.length];
+        for(int i = 0; i < trigrams.length; i++) {
+            final int letter = i % n;
+            final int bigram = i % (n * n);
+            double probability = (letters[letter] + 1.0) / (total + n);
+            if(bigramContexts[bigram / n] > 0) {
+                probability = INTERPOLATION * bigrams[bigram] / bigramContexts[bigram / n] + (1 - INTERPOLATION) * probability;
+            }
+            if(trigramContexts[i / n] > 0) {
+                probability = INTERPOLATION * trigrams[i] / trigramContexts[i / n] + (1 - INTERPOLATION) * probability;
+            }
+            probabilities[i] = probability;
+        }
+        return probabilities;
+    }
+
+    /**
+     * @return 1 to 26 for the Latin letters, in either case, or 0 for any other character, i.e. a word boundary
+     */
+    private static int trigramLetter(final char c) {
+        if(c >= 'a' && c <= 'z') return c - 'a' + 1;
+        if(c >= 'A' && c <= 'Z') return c - 'A' + 1;
+        return 0;
+    }
+
+    static String generate(final Map<String, List<String[]>> tables, final byte [] trigramScores) {
+        final StringBuilder java = new StringBuilder();
+        java.append("package ").append(PACKAGE).append(";\n\n");
+        java.append("/**\n");
+        java.append(" * The constant tables of the library, generated at build time by ").append(TablesGenerator.class.getName()).append(".\n");
+        java.append(" * Do not edit; edit src/main/tables or the generator instead.\n");
+        java.append(" */\n");
+        java.append("final class ").append(CLASS_NAME).append(" {\n\n");
+        java.append("    private ").append(CLASS_NAME).append("() {}\n");
+
+        // the transliteration tables, with the columns of each row one after the other
+        for(final Map.Entry<String, List<String[]>> table : tables.entrySet()) {
+            java.append("\n    static final String [] ").append(table.getKey()).append(" = {\n");
+            for(final String [] row : table.getValue()) {
+                java.append("           ");
+                for(final String column : row) java.append(' ').append(literal(column)).append(',');
+                java.append('\n');
+            }
+            java.append("    };\n");
+        }
+
+        // the character tables
+        final char [] flags = new char[TABLE_SIZE];
+        final char [] withoutAccent = new char[TABLE_SIZE];
+        final char [] accents = new char[TABLE_SIZE];
+        final char [] monotonic = new char[TABLE_SIZE];
+        classify(flags, withoutAccent, accents, monotonic);
+        java.append('\n');
+        constant(java, "int", "GREEK", GREEK);
+        constant(java, "int", "VOWEL", VOWEL);
+        constant(java, "int", "UPPER", UPPER);
+        constant(java, "int", "LOWER", LOWER);
+        constant(java, "int", "NOTE_1", NOTE_1);
+        constant(java, "int", "NOTE_2", NOTE_2);
+        constant(java, "int", "ROUGH_BREATHING", ROUGH_BREATHING);
+        java.append('\n');
+        constant(java, "int", "TONOS", TONOS);
+        constant(java, "int", "DIALYTIKA", DIALYTIKA);
+        constant(java, "int", "OTHER_ACCENT", OTHER_ACCENT);
+        java.append('\n');
+        java.append("    static final char GREEK_AND_COPTIC_START = ").append(literal(GREEK_AND_COPTIC_START)).append(";\n");
+        java.append("    static final char GREEK_AND_COPTIC_END = ").append(literal(GREEK_AND_COPTIC_END)).append(";\n");
+        java.append("    static final char GREEK_EXTENDED_START = ").append(literal(GREEK_EXTENDED_START)).append(";\n");
+        java.append("    static final char GREEK_EXTENDED_END = ").append(literal(GREEK_EXTENDED_END)).append(";\n");
+        java.append("\n    // indexed by the characters of the Greek and Coptic block followed by those of the Greek Extended block\n");
+        java.append("    static final String FLAGS = ").append(literal(new String(flags))).append(";\n");
+        java.append("    static final String WITHOUT_ACCENT = ").append(literal(new String(withoutAccent))).append(";\n");
+        java.append("    static final String ACCENTS = ").append(literal(new String(accents))).append(";\n");
+        java.append("    static final String MONOTONIC = ").append(literal(new String(monotonic))).append(";\n");
+        java.append("\n    // indexed by the characters of the Greek and Coptic block\n");
+        java.append("    static final String WITH_TONOS = ").append(literal(compose(COMBINING_ACUTE_ACCENT))).append(";\n");
+        java.append("    static final String WITH_DIALYTIKA = ").append(literal(compose(COMBINING_DIAERESIS))).append(";\n");
+
+        // the trigram scores, each stored as a character from 1 to 255
+        final char [] scores = new char[trigramScores.length];
+        for(int i = 0; i < scores.length; i++) scores[i] = (char) (trigramScores[i] + MAX_TRIGRAM_SCORE + 1);
+        java.append('\n');
+        constant(java, "int", "TRIGRAM_ALPHABET", TRIGRAM_ALPHABET);
+        constant(java, "int", "TRIGRAM_SCALE", TRIGRAM_SCALE);
+        constant(java, "int", "TRIGRAM_SCORE_OFFSET", MAX_TRIGRAM_SCORE + 1);
+        java.append("\n    // indexed by (first * TRIGRAM_ALPHABET + second) * TRIGRAM_ALPHABET + third, 0 for a word boundary and 1 to 26 for\n");
+        java.append("    // the Latin letters; the scores are log(P(Greeklish) / P(English)) * TRIGRAM_SCALE + TRIGRAM_SCORE_OFFSET\n");
+        java.append("    static final String TRIGRAM_SCORES = ").append(literal(new String(scores))).append(";\n");
+        java.append("}\n");
+        return java.toString();
+    }
+
+    /**
+     * Computes the flags, the version without accents, the accents and the monotonic version of each character in the
+     * Greek blocks.
+     */
+    private static void classify(final char [] flags, final char [] withoutAccent, final char [] accents, final char [] monotonic) {
+        for(int i = 0; i < TABLE_SIZE; i++) {
+            final char c = i < GREEK_EXTENDED_OFFSET ?
+                    (char) (GREEK_AND_COPTIC_START + i) : (char) (GREEK_EXTENDED_START + i - GREEK_EXTENDED_OFFSET);
+            withoutAccent[i] = c;
+            monotonic[i] = c;
+            // skip non-letters and modifier letters (e.g. the numeral sign), as well as the Coptic letters
+            if(!Character.isLetter(c) || Character.getType(c) == Character.MODIFIER_LETTER) continue;
+            if(c >= COPTIC_START && c < COPTIC_END) continue;
+
+            // the base letter is the first character of the canonical decomposition, e.g. alpha with tonos is alpha followed by tonos
+            final String decomposition = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+            final char base = decomposition.charAt(0);
+            if(Character.isLetter(base)) withoutAccent[i] = base;
+            int accent = 0;
+            for(int j = 1; j < decomposition.length(); j++) {
+                final char mark = decomposition.charAt(j);
+                accent |= mark == COMBINING_ACUTE_ACCENT ? TONOS : mark == COMBINING_DIAERESIS ? DIALYTIKA : OTHER_ACCENT;
+            }
+            accents[i] = (char) accent;
+            monotonic[i] = toMonotonic(decomposition);
+
+            int flag = GREEK;
+            if(Character.isUpperCase(c) || Character.isTitleCase(c)) flag |= UPPER;
+            if(Character.isLowerCase(c)) flag |= LOWER;
+            final char lowercaseBase = Character.toLowerCase(withoutAccent[i]);
+            if(VOWELS.indexOf(lowercaseBase) != -1) flag |= VOWEL;
+            if(NOTE_1_CONSONANTS.indexOf(lowercaseBase) != -1) flag |= NOTE_1;
+            if(NOTE_2_CONSONANTS.indexOf(lowercaseBase) != -1) flag |= NOTE_2;
+            if(decomposition.indexOf(COMBINING_REVERSED_COMMA_ABOVE) != -1) flag |= ROUGH_BREATHING;
+            flags[i] = (char) flag;
+        }
+    }
+
+    /**
+     * @return the monotonic version of the given canonical decomposition, i.e. the base letter with a tonos for any
+     * acute, grave or circumflex accent, and with its dialytika, but without breathings or iota subscript, e.g. alpha
+     * with tonos for alpha with psili and oxia, and for alpha with perispomeni, or alpha for alpha with ypogegrammeni
+     */
+    private static char toMonotonic(final String decomposition) {
+        final StringBuilder monotonic = new StringBuilder().append(decomposition.charAt(0));
+        if(decomposition.indexOf(COMBINING_DIAERESIS) != -1) monotonic.append(COMBINING_DIAERESIS);
+        for(int j = 1; j < decomposition.length(); j++) {
+            final char mark = decomposition.charAt(j);
+            if(mark == COMBINING_ACUTE_ACCENT || mark == COMBINING_GRAVE_ACCENT || mark == COMBINING_GREEK_PERISPOMENI) {
+                monotonic.append(COMBINING_ACUTE_ACCENT);
+                break;
+            }
+        }
+        final String composed = Normalizer.normalize(monotonic, Normalizer.Form.NFC);
+        return composed.length() == 1 ? composed.charAt(0) : decomposition.charAt(0);
+    }
+
+    /**
+     * @return for each character of the Greek and Coptic block, the character composed with the given combining mark
+     * if there is one (e.g. alpha with tonos for alpha and the acute accent, or iota with dialytika and tonos for iota
+     * with dialytika), or else the character itself
+     */
+    private static String compose(final char mark) {
+        final char [] composed = new char[GREEK_EXTENDED_OFFSET];
+        for(int i = 0; i < GREEK_EXTENDED_OFFSET; i++) {
+            final char c = (char) (GREEK_AND_COPTIC_START + i);
+            final String normalized = Normalizer.normalize(String.valueOf(c) + mark, Normalizer.Form.NFC);
+            composed[i] = Character.isLetter(c) && normalized.length() == 1 ? normalized.charAt(0) : c;
+        }
+        return new String(composed);
+    }
+
+    private static void constant(final StringBuilder java, final String type, final String name, final int value) {
+        java.append("    static final ").append(type).append(' ').append(name).append(" = ").append(value).append(";\n");
+    }
+
+    private static String literal(final char c) {
+        return "'" + escape(c) + "'";
+    }
+
+    /**
+     * @return the given text as a Java string literal, with any characters other than printable ASCII escaped, so
+     * that the generated source does not depend on the encoding
+     */
+    private static String literal(final String text) {
+        final StringBuilder literal = new StringBuilder(text.length() * 6 + 2).append('"');
+        for(int i = 0; i < text.length(); i++) literal.append(escape(text.charAt(i)));
+        return literal.append('"').toString();
+    }
+
+    private static String escape(final char c) {
+        if(c == '"' || c == '\'' || c == '\\') return "\\" + c;
+        // unicode escapes are translated before parsing, so line terminators need their own escapes
+        if(c == '\n') return "\\n";
+        if(c == '\r') return "\\r";
+        if(c >= ' ' && c < 0x7F) return String.valueOf(c);
+        return String.format("\\u%04X", (int) c);
+    }
+}
@@ -0,0 +1,47 @@
+package com.aspectsense.greektools;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Benchmarks the routing check of {@link Greeklish#containsGreek(String)} on documents which are plain ASCII, which is
+ * its worst case as the whole document has to be scanned, and on mixed documents.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+@State(Scope.Benchmark)
+public class ContainsGreekBenchmark {
+
+    @Param({"ascii", "mixed"})
+    public String input;
+
+    private String text;
+    private ByteBuffer utf8;
+
+    @Setup
+    public void setup() {
+        final char [] ascii = new char[1 << 20];
+        Arrays.fill(ascii, 'x');
+        if("mixed".equals(input)) ascii[ascii.length - 16] = 'α';
+        text = new String(ascii);
+        utf8 = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public boolean containsGreek() {
+        return Greeklish.containsGreek(text);
+    }
+
+    @Benchmark
+    public boolean containsGreekUtf8() {
+        return GreekScanner.containsGreek(utf8);
+    }
+}
@@ -0,0 +1,93 @@
+package com.aspectsense.greektools;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Benchmarks the public operations of {@link Greeklish} on texts of a single word, a sentence and a sample of real
+ * text. The conversion of single words by {@link Greeklish#toGreeklishWord(String, boolean)} is benchmarked by
+ * {@link GreeklishWordBenchmark}.
+ *
+ * Run with {@code ./gradlew jmh}; the results are written to build/reports/jmh/results.json.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+@State(Scope.Benchmark)
+public class GreeklishBenchmark {
+
+    static final String SENTENCE = "Αυτή είναι μια δοκιμαστική πρόταση. Είναι καλή; ΕΥΓΝΩΜΟΣΎΝΗ για τα Μπιφτέκια!";
+
+    /** About 26 KB of running Greek text (news, a recipe, a letter, a dialogue), bundled in src/jmh/resources. */
+    static String corpus() {
+        try(final InputStream inputStream = GreeklishBenchmark.class.getResourceAsStream("greek-text.txt")) {
+            if(inputStream == null) throw new IllegalStateException("Missing greek-text.txt");
+            final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+            final byte [] buffer = new byte[8192];
+            int count;
+            while((count = inputStream.read(buffer)) != -1) byteArrayOutputStream.write(buffer, 0, count);
+            return new String(byteArrayOutputStream.toByteArray(), StandardCharsets.UTF_8);
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+    }
+
+    @Param({"word", "sentence", "corpus"})
+    public String input;
+
+    private String text;
+
+    @Setup
+    public void setup() {
+        switch (input) {
+            case "word": text = "Ευγνωμοσύνη"; break;
+            case "sentence": text = SENTENCE; break;
+            case "corpus": text = corpus(); break;
+            default: throw new IllegalArgumentException("Unknown input: " + input);
+        }
+    }
+
+    @Benchmark
+    public String toGreeklish() {
+        return Greeklish.toGreeklish(text);
+    }
+
+    @Benchmark
+    public String toGreeklishWithAccents() {
+        return Greeklish.toGreeklish(text, true);
+    }
+
+    @Benchmark
+    public String removeAccents() {
+        return Greeklish.removeAccents(text);
+    }
+
+    @Benchmark
+    public String removeAccentsLowercase() {
+        return Greeklish.removeAccentsLowercase(text);
+    }
+
+    @Benchmark
+    public String removeAccentsUppercase() {
+        return Greeklish.removeAccentsUppercase(text);
+    }
+
+    @Benchmark
+    public boolean isGreekWordInAllCaps() {
+        return Greeklish.isGreekWordInAllCaps(text);
+    }
+
+    @Benchmark
+    public boolean containsGreek() {
+        return Greeklish.containsGreek(text);
+    }
+}
@@ -0,0 +1,38 @@
+package com.aspectsense.greektools;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks {@link GreeklishDetector#score(CharSequence)} on a short Greeklish message, a short English one, and the
+ * Greeklish of the sample of real text of {@link GreeklishBenchmark}.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+@State(Scope.Benchmark)
+public class GreeklishDetectorBenchmark {
+
+    @Param({"greeklish", "english", "corpus"})
+    public String input;
+
+    private String text;
+
+    @Setup
+    public void setup() {
+        switch (input) {
+            case "greeklish": text = Greeklish.toGreeklish("Πότε τελειώνει η βάρδια σου;"); break;
+            case "english": text = "When does your shift end?"; break;
+            case "corpus": text = Greeklish.toGreeklish(GreeklishBenchmark.corpus()); break;
+            default: throw new IllegalArgumentException("Unknown input: " + input);
+        }
+    }
+
+    @Benchmark
+    public double score() {
+        return GreeklishDetector.score(text);
+    }
+}
@@ -0,0 +1,43 @@
+package com.aspectsense.greektools;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks the overhead of the {@link GreeklishListener} hooks: {@link Greeklish#toGreeklish(String)} without a
+ * listener, which should be as fast as before the hooks were added, and with {@link GreeklishMetrics} installed.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+@State(Scope.Benchmark)
+public class GreeklishListenerBenchmark {
+
+    @Param({"none", "metrics"})
+    public String listener;
+
+    @Param({"sentence", "corpus"})
+    public String input;
+
+    private String text;
+
+    @Setup
+    public void setup() {
+        text = "corpus".equals(input) ? GreeklishBenchmark.corpus() : GreeklishBenchmark.SENTENCE;
+        Greeklish.setListener("metrics".equals(listener) ? new GreeklishMetrics() : null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        Greeklish.setListener(null);
+    }
+
+    @Benchmark
+    public String toGreeklish() {
+        return Greeklish.toGreeklish(text);
+    }
+}
@@ -0,0 +1,30 @@
+package com.aspectsense.greektools;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks {@link Greeklish#toGreeklishWord(String, boolean)} on a short and a long word, in lowercase and in all
+ * caps, as the exceptions for words in all caps are applied only to the latter.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+@State(Scope.Benchmark)
+public class GreeklishWordBenchmark {
+
+    @Param({"και", "Ευγνωμοσύνη", "ΕΥΓΝΩΜΟΣΎΝΗ"})
+    public String word;
+
+    @Benchmark
+    public String toGreeklishWord() {
+        return Greeklish.toGreeklishWord(word, false);
+    }
+
+    @Benchmark
+    public String toGreeklishWordWithAccents() {
+        return Greeklish.toGreeklishWord(word, true);
+    }
+}
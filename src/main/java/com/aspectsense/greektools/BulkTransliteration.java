@@ -0,0 +1,181 @@
+package com.aspectsense.greektools;
+
+import java.io.IOException;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * Fork/join tasks behind the bulk methods of {@link Greeklish}. Arrays are split by index, while large texts are split
+ * only between words, so that every word is converted as a whole and the word-level rules still apply.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+final class BulkTransliteration {
+
+    /** Arrays with up to this many elements are converted by a single task. */
+    static final int ARRAY_THRESHOLD = 256;
+
+    /** Texts are split in chunks of at least this many characters. */
+    static final int TEXT_THRESHOLD = 32 * 1024;
+
+    private BulkTransliteration() {}
+
+    static String [] toGreeklish(final String [] greek, final boolean withAccents, final ForkJoinPool pool) {
+        final String [] greeklish = new String[greek.length];
+        pool.invoke(new ArrayTask(greek, greeklish, Greeklish.getEngine(withAccents), 0, greek.length));
+        return greeklish;
+    }
+
+    static String toGreeklish(final CharSequence greek, final boolean withAccents, final ForkJoinPool pool) {
+        final int start = 0;
+        final int end = greek.length();
+        // cut the text in chunks, each ending between two words
+        final int numOfChunks = Math.max(1, Math.min((end - start) / TEXT_THRESHOLD, pool.getParallelism() * 4));
+        final int [] bounds = new int[numOfChunks + 1];
+        bounds[0] = start;
+        for(int i = 1; i < numOfChunks; i++) {
+            bounds[i] = WordTokenizer.nextBoundary(greek, Math.max(bounds[i - 1], start + (int) ((long) (end - start) * i / numOfChunks)), end);
+        }
+        bounds[numOfChunks] = end;
+
+        final StringBuilder [] chunks = new StringBuilder[numOfChunks];
+        pool.invoke(new TextTask(greek, bounds, chunks, Greeklish.getEngine(withAccents), 0, numOfChunks));
+
+        int length = 0;
+        for(final StringBuilder chunk : chunks) length += chunk.length();
+        final StringBuilder greeklish = new StringBuilder(length);
+        for(final StringBuilder chunk : chunks) greeklish.append(chunk);
+        return greeklish.toString();
+    }
+
+    private static final class ArrayTask extends RecursiveAction {
+        private final String [] greek;
+        private final String [] greeklish;
+        private final TransliterationEngine engine;
+        private final int from;
+        private final int to;
+
+        private ArrayTask(final String [] greek, final String [] greeklish, final TransliterationEngine engine, final int from, final int to) {
+            this.greek = greek;
+            this.greeklish = greeklish;
+            this.engine = engine;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if(to - from <= ARRAY_THRESHOLD) {
+                final StringBuilder stringBuilder = new StringBuilder();
+                for(int i = from; i < to; i++) {
+                    stringBuilder.setLength(0);
+                    transliterate(engine, greek[i], 0, greek[i].length(), stringBuilder);
+                    greeklish[i] = stringBuilder.toString();
+                }
+            } else {
+                final int middle = (from + to) >>> 1;
+                invokeAll(new ArrayTask(greek, greeklish, engine, from, middle), new ArrayTask(greek, greeklish, engine, middle, to));
+            }
+        }
+    }
+
+    private static final class TextTask extends RecursiveAction {
+        private final CharSequence greek;
+        private final int [] bounds;
+        private final StringBuilder [] chunks;
+        private final TransliterationEngine engine;
+        private final int from;
+        private final int to;
+
+        private TextTask(final CharSequence greek, final int [] bounds, final StringBuilder [] chunks,
+                         final TransliterationEngine engine, final int from, final int to) {
+            this.greek = greek;
+            this.bounds = bounds;
+            this.chunks = chunks;
+            this.engine = engine;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if(to - from == 1) {
+                final StringBuilder chunk = new StringBuilder(bounds[from + 1] - bounds[from] + 16);
+                transliterate(engine, greek, bounds[from], bounds[from + 1], chunk);
+                chunks[from] = chunk;
+            } else {
+                final int middle = (from + to) >>> 1;
+                invokeAll(new TextTask(greek, bounds, chunks, engine, from, middle), new TextTask(greek, bounds, chunks, engine, middle, to));
+            }
+        }
+    }
+
+    private static void transliterate(final TransliterationEngine engine, final CharSequence text, final int start,
+                                      final int end, final StringBuilder out) {
+        try {
+            Greeklish.transliterate(engine, text, start, end, out);
+        } catch (IOException ioe) {
+            throw new AssertionError("StringBuilder does not throw IOException", ioe);
+        }
+    }
+
+    /**
+     * Splits a text in words (see {@link WordTokenizer}), converting each word as it is consumed. It only splits
+     * between words, so it can be used by a parallel stream.
+     */
+    static final class WordSpliterator implements Spliterator<String> {
+
+        /** Ranges shorter than this are not split any further. */
+        private static final int SPLIT_THRESHOLD = 1024;
+
+        private final CharSequence greek;
+        private final TransliterationEngine engine;
+        private final WordTokenizer tokenizer;
+        private int position;
+        private final int end;
+
+        WordSpliterator(final CharSequence greek, final TransliterationEngine engine, final int start, final int end) {
+            this.greek = greek;
+            this.engine = engine;
+            this.tokenizer = new WordTokenizer(greek, start, end);
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super String> action) {
+            if(!tokenizer.next()) return false;
+            final int wordEnd = tokenizer.end();
+            final StringBuilder stringBuilder = new StringBuilder(wordEnd - tokenizer.start() + 8);
+            engine.transliterateWord(greek, tokenizer.start(), wordEnd, stringBuilder);
+            position = wordEnd;
+            action.accept(stringBuilder.toString());
+            return true;
+        }
+
+        @Override
+        public Spliterator<String> trySplit() {
+            if(end - position < SPLIT_THRESHOLD) return null;
+            final int split = WordTokenizer.nextBoundary(greek, position + (end - position) / 2, end);
+            if(split == end) return null;
+            final Spliterator<String> prefix = new WordSpliterator(greek, engine, position, split);
+            position = split;
+            tokenizer.reset(greek, split, end);
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            // roughly one word every 6 characters
+            return (end - position) / 6 + 1;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL | IMMUTABLE;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.aspectsense.greektools;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Converts files of any size, encoded in UTF-8, using several threads. The input file is memory-mapped and cut in
+ * chunks which end at whitespace (which in UTF-8 never falls in the middle of a character, nor of a word), the chunks
+ * are converted in parallel, and the results are written to the output file in order. Only a few chunks per thread
+ * are in memory at any time. A chunk without whitespace in twice its nominal size, which does not occur in natural
+ * text, is cut at a character boundary instead, so that chunks stay bounded.
+ *
+ * The command-line front end is com.aspectsense.greektools.cli.FileTransliteratorCli, in src/cli.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public final class FileTransliterator {
+
+    /** The conversion applied to the file. */
+    public enum Mode {
+        /** As with {@link Greeklish#toGreeklish(String)}. */
+        TO_GREEKLISH,
+        /** As with {@link Greeklish#toGreeklish(String, boolean)} with accents. */
+        TO_GREEKLISH_WITH_ACCENTS,
+        /** As with {@link Greeklish#removeAccents(String)}. */
+        REMOVE_ACCENTS
+    }
+
+    /** The nominal size of the chunks, which are extended to the next whitespace, by up to as much again. */
+    static final int CHUNK_SIZE = 16 * 1024 * 1024;
+
+    private FileTransliterator() {}
+
+    /**
+     * Converts the given input file, writing the result to the given output file, which is replaced if it exists.
+     *
+     * @param input the file to be converted, encoded in UTF-8
+     * @param output the file where the result is written, encoded in UTF-8
+     * @param mode the conversion to apply
+     * @param numOfThreads the number of threads converting chunks of the file in parallel
+     * @return the number of bytes written to the output file
+     * @throws IOException if reading or writing the files fails
+     */
+    public static long transliterate(final Path input, final Path output, final Mode mode, final int numOfThreads) throws IOException {
+        return transliterate(input, output, mode, numOfThreads, CHUNK_SIZE);
+    }
+
+    static long transliterate(final Path input, final Path output, final Mode mode, final int numOfThreads, final int chunkSize) throws IOException {
+        if(numOfThreads < 1) throw new IllegalArgumentException("The number of threads must be positive");
+        // a chunk is at most twice the chunk size, and a mapped buffer is at most Integer.MAX_VALUE bytes
+        if(chunkSize < 4 || chunkSize > Integer.MAX_VALUE / 2) throw new IllegalArgumentException("Invalid chunk size: " + chunkSize);
+        final ExecutorService executorService = Executors.newFixedThreadPool(numOfThreads);
+        try(final FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+            final FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final long size = in.size();
+            final int maxInFlight = numOfThreads * 2;
+            final Deque<Future<ByteBuffer>> inFlight = new ArrayDeque<>();
+            long written = 0;
+            long start = 0;
+            while(start < size) {
+                final long end = chunkEnd(in, start + chunkSize, Math.min(start + 2L * chunkSize, size), size);
+                final MappedByteBuffer chunk = in.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+                inFlight.addLast(executorService.submit(() -> convert(chunk, mode)));
+                start = end;
+                if(inFlight.size() >= maxInFlight) written += write(inFlight.removeFirst(), out);
+            }
+            while(!inFlight.isEmpty()) written += write(inFlight.removeFirst(), out);
+            return written;
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Finds the end of the chunk, which is the first whitespace byte at or after the given nominal end. If there is
+     * none before the given limit, the chunk ends at the limit, moved back to the start of the character there.
+     */
+    private static long chunkEnd(final FileChannel in, final long nominalEnd, final long limit, final long size) throws IOException {
+        if(nominalEnd >= size) return size;
+        final ByteBuffer buffer = ByteBuffer.allocate(4096);
+        long position = nominalEnd;
+        while(position < limit) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), limit - position));
+            final int read = in.read(buffer, position);
+            if(read <= 0) break;
+            for(int i = 0; i < read; i++) {
+                final byte b = buffer.get(i);
+                if(b == ' ' || b == '\n' || b == '\r' || b == '\t') return position + i;
+            }
+            position += read;
+        }
+        if(limit >= size) return size;
+        // skip back over the continuation bytes (10xxxxxx) of the character at the limit, at most 3 of them
+        buffer.clear();
+        buffer.limit(4);
+        final int read = in.read(buffer, limit - 3);
+        int end = 3;
+        while(end > 0 && end < read && (buffer.get(end) & 0xC0) == 0x80) end--;
+        return limit - 3 + end;
+    }
+
+    private static ByteBuffer convert(final ByteBuffer chunk, final Mode mode) throws CharacterCodingException {
+        switch (mode) {
+            case TO_GREEKLISH: return Utf8Transliterator.toGreeklish(chunk, false);
+            case TO_GREEKLISH_WITH_ACCENTS: return Utf8Transliterator.toGreeklish(chunk, true);
+            case REMOVE_ACCENTS: {
+                final CharBuffer text = StandardCharsets.UTF_8.newDecoder()
+                        .onMalformedInput(CodingErrorAction.REPLACE)
+                        .onUnmappableCharacter(CodingErrorAction.REPLACE)
+                        .decode(chunk);
+                final StringBuilder withoutAccents = new StringBuilder(text.remaining());
+                Greeklish.removeAccents(text, withoutAccents);
+                return StandardCharsets.UTF_8.encode(CharBuffer.wrap(withoutAccents));
+            }
+            default: throw new IllegalArgumentException("Unknown mode: " + mode);
+        }
+    }
+
+    private static long write(final Future<ByteBuffer> future, final FileChannel out) throws IOException {
+        final ByteBuffer converted;
+        try {
+            converted = future.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while converting", ie);
+        } catch (ExecutionException ee) {
+            throw new IOException("Failed to convert", ee.getCause());
+        }
+        final long length = converted.remaining();
+        while(converted.hasRemaining()) out.write(converted);
+        return length;
+    }
+}
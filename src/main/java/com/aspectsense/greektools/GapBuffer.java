@@ -0,0 +1,96 @@
+package com.aspectsense.greektools;
+
+import java.util.Arrays;
+
+/**
+ * A text which can be edited in place, as in text editors: the characters are kept in an array with a gap at the
+ * place of the last edit, so an edit costs the length of the edited text plus the distance from the previous edit,
+ * rather than the length of the whole text. It is used by the {@link IncrementalTransliterator}.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+final class GapBuffer implements CharSequence {
+
+    private char [] chars;
+    private int gapStart = 0;
+    private int gapEnd;
+
+    GapBuffer(final int capacity) {
+        this.chars = new char[Math.max(capacity, 16)];
+        this.gapEnd = chars.length;
+    }
+
+    @Override
+    public int length() {
+        return chars.length - (gapEnd - gapStart);
+    }
+
+    @Override
+    public char charAt(final int index) {
+        if(index < 0 || index >= length()) throw new IndexOutOfBoundsException("Index " + index + " not in [0, " + length() + ")");
+        return index < gapStart ? chars[index] : chars[index + gapEnd - gapStart];
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        final StringBuilder stringBuilder = new StringBuilder(end - start);
+        appendTo(stringBuilder, start, end);
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Appends the characters between start and end to the given builder.
+     */
+    void appendTo(final StringBuilder out, final int start, final int end) {
+        if(start < 0 || end > length() || start > end) throw new IndexOutOfBoundsException("Range [" + start + ", " + end + ") not in [0, " + length() + ")");
+        if(end <= gapStart) {
+            out.append(chars, start, end - start);
+        } else if(start >= gapStart) {
+            out.append(chars, start + gapEnd - gapStart, end - start);
+        } else {
+            out.append(chars, start, gapStart - start);
+            out.append(chars, gapEnd, end - gapStart);
+        }
+    }
+
+    /**
+     * Replaces the characters between start and end with the characters of text between textStart and textEnd.
+     */
+    void replace(final int start, final int end, final CharSequence text, final int textStart, final int textEnd) {
+        if(start < 0 || end > length() || start > end) throw new IndexOutOfBoundsException("Range [" + start + ", " + end + ") not in [0, " + length() + ")");
+        moveGap(start);
+        gapEnd += end - start; // the removed characters join the gap
+        final int count = textEnd - textStart;
+        if(count > gapEnd - gapStart) grow(count);
+        for(int i = 0; i < count; i++) chars[gapStart++] = text.charAt(textStart + i);
+    }
+
+    private void moveGap(final int index) {
+        if(index < gapStart) {
+            final int count = gapStart - index;
+            System.arraycopy(chars, index, chars, gapEnd - count, count);
+            gapStart -= count;
+            gapEnd -= count;
+        } else if(index > gapStart) {
+            final int count = index - gapStart;
+            System.arraycopy(chars, gapEnd, chars, gapStart, count);
+            gapStart += count;
+            gapEnd += count;
+        }
+    }
+
+    private void grow(final int count) {
+        final int after = chars.length - gapEnd;
+        final int capacity = Math.max(chars.length * 2, length() + count + 16);
+        final char [] grown = Arrays.copyOf(chars, capacity);
+        System.arraycopy(chars, gapEnd, grown, capacity - after, after);
+        chars = grown;
+        gapEnd = capacity - after;
+    }
+
+    @Override
+    public String toString() {
+        return subSequence(0, length()).toString();
+    }
+}
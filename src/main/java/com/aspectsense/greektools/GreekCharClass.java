@@ -0,0 +1,218 @@
+package com.aspectsense.greektools;
+
+/**
+ * Constant-time classification of Greek characters. Each character in the Greek and Coptic block (U+0370 to U+03FF)
+ * and in the Greek Extended block (U+1F00 to U+1FFF) has a set of flags and a version without accents (i.e. without
+ * tonos, dialytika, breathings or other diacritics), all stored in small tables generated at build time. Characters
+ * outside these blocks are not Greek.
+ *
+ * Polytonic letters have a monotonic version too, so that they are converted with the monotonic rules, and the
+ * combining diacritics of decomposed (NFD) text can be composed onto the letter before them with a table lookup,
+ * rather than by normalizing the text first.
+ *
+ * For example, {@code isVowel('ά')} and {@code isNote1('β')} are true, {@code stripAccent('ΐ')} is 'ι' and
+ * {@code toMonotonic('ἄ')} is 'ά'.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public final class GreekCharClass {
+
+    private static final int GREEK = GreeklishTables.GREEK;
+    private static final int VOWEL = GreeklishTables.VOWEL;
+    private static final int UPPER = GreeklishTables.UPPER;
+    private static final int LOWER = GreeklishTables.LOWER;
+    private static final int NOTE_1 = GreeklishTables.NOTE_1;
+    private static final int NOTE_2 = GreeklishTables.NOTE_2;
+    private static final int ROUGH_BREATHING = GreeklishTables.ROUGH_BREATHING;
+
+    private static final char GREEK_AND_COPTIC_START = GreeklishTables.GREEK_AND_COPTIC_START;
+    private static final char GREEK_AND_COPTIC_END = GreeklishTables.GREEK_AND_COPTIC_END;
+    static final char GREEK_EXTENDED_START = GreeklishTables.GREEK_EXTENDED_START;
+    private static final char GREEK_EXTENDED_END = GreeklishTables.GREEK_EXTENDED_END;
+    private static final int GREEK_EXTENDED_OFFSET = GREEK_AND_COPTIC_END - GREEK_AND_COPTIC_START;
+
+    // the kinds of accents, as found in the canonical decomposition
+    static final int TONOS = GreeklishTables.TONOS;
+    static final int DIALYTIKA = GreeklishTables.DIALYTIKA;
+    static final int OTHER_ACCENT = GreeklishTables.OTHER_ACCENT;
+
+    // the tables are computed at build time with the canonical decomposition of each character, see TablesGenerator,
+    // and kept as constant strings, so that they need no initialization
+    private static final String FLAGS = GreeklishTables.FLAGS;
+    private static final String WITHOUT_ACCENT = GreeklishTables.WITHOUT_ACCENT;
+    private static final String ACCENTS = GreeklishTables.ACCENTS;
+    private static final String MONOTONIC = GreeklishTables.MONOTONIC;
+    private static final String WITH_TONOS = GreeklishTables.WITH_TONOS;
+    private static final String WITH_DIALYTIKA = GreeklishTables.WITH_DIALYTIKA;
+
+    // the Combining Diacritical Marks block, which includes the Greek ones (e.g. perispomeni and ypogegrammeni)
+    static final char COMBINING_MARKS_START = '\u0300';
+    static final char COMBINING_MARKS_END = '\u0370';
+    // the combining rough breathing (dasia)
+    private static final char COMBINING_REVERSED_COMMA_ABOVE = '\u0314';
+
+    private GreekCharClass() {}
+
+    private static int index(final char c) {
+        if(c < GREEK_AND_COPTIC_START) return -1;
+        if(c < GREEK_AND_COPTIC_END) return c - GREEK_AND_COPTIC_START;
+        if(c >= GREEK_EXTENDED_START && c < GREEK_EXTENDED_END) return c - GREEK_EXTENDED_START + GREEK_EXTENDED_OFFSET;
+        return -1;
+    }
+
+    private static boolean has(final char c, final int flag) {
+        final int index = index(c);
+        return index != -1 && (FLAGS.charAt(index) & flag) != 0;
+    }
+
+    /**
+     * @param c the character to be checked
+     * @return true if and only if the given character is a Greek letter, in any case and with or without accents
+     */
+    public static boolean isGreek(final char c) {
+        return has(c, GREEK);
+    }
+
+    /**
+     * @param c the character to be checked
+     * @return true if and only if the given character is a Greek vowel, e.g. 'α', 'Ώ' or 'ΐ'
+     */
+    public static boolean isVowel(final char c) {
+        return has(c, VOWEL);
+    }
+
+    /**
+     * @param c the character to be checked
+     * @return true if and only if the given character is an upper-case (or title-case) Greek letter
+     */
+    public static boolean isUpper(final char c) {
+        return has(c, UPPER);
+    }
+
+    /**
+     * @param c the character to be checked
+     * @return true if and only if the given character is a lower-case Greek letter
+     */
+    public static boolean isLower(final char c) {
+        return has(c, LOWER);
+    }
+
+    /**
+     * Checks if the given character is one of the voiced consonants (β, γ, δ, ζ, λ, μ, ν, ρ) which, together with the
+     * vowels, are converted according to note 1 of ISO 843, i.e. "αυ" before them is converted to "av".
+     *
+     * @param c the character to be checked
+     * @return true if and only if the given character is a Greek voiced consonant
+     */
+    public static boolean isNote1(final char c) {
+        return has(c, NOTE_1);
+    }
+
+    /**
+     * Checks if the given character is one of the voiceless consonants (θ, κ, ξ, π, σ, ς, τ, φ, χ, ψ) which are
+     * converted according to note 2 of ISO 843, i.e. "αυ" before them is converted to "af".
+     *
+     * @param c the character to be checked
+     * @return true if and only if the given character is a Greek voiceless consonant
+     */
+    public static boolean isNote2(final char c) {
+        return has(c, NOTE_2);
+    }
+
+    /**
+     * @param c the character to be checked
+     * @return true if and only if the given character is a Greek letter with a rough breathing (dasia), e.g. 'ἁ',
+     * 'Ὁ' or 'ῥ'
+     */
+    static boolean hasRoughBreathing(final char c) {
+        return has(c, ROUGH_BREATHING);
+    }
+
+    /**
+     * @return true if and only if the combining marks in text between start and end include a rough breathing
+     */
+    static boolean hasRoughBreathing(final CharSequence text, final int start, final int end) {
+        for(int i = start; i < end; i++) {
+            if(text.charAt(i) == COMBINING_REVERSED_COMMA_ABOVE) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param c the character to be checked
+     * @return the accents of the given character, as a combination of {@link #TONOS}, {@link #DIALYTIKA} and
+     * {@link #OTHER_ACCENT}, or 0 if it has none or it is not a Greek letter
+     */
+    static int accents(final char c) {
+        final int index = index(c);
+        return index == -1 ? 0 : ACCENTS.charAt(index);
+    }
+
+    /**
+     * @param c the character to be converted
+     * @return the given character without accents, if it is a Greek letter, or else the given character
+     */
+    public static char stripAccent(final char c) {
+        final int index = index(c);
+        return index == -1 ? c : WITHOUT_ACCENT.charAt(index);
+    }
+
+    /**
+     * @param c the character to be converted
+     * @return the monotonic version of the given character, i.e. with a tonos instead of any acute, grave or
+     * circumflex accent, and without breathings or iota subscript, e.g. 'ά' for 'ἄ' or 'ᾶ', if it is a Greek letter,
+     * or else the given character
+     */
+    public static char toMonotonic(final char c) {
+        if(c < GREEK_EXTENDED_START) return c; // the letters of the Greek and Coptic block are monotonic
+        final int index = index(c);
+        return index == -1 ? c : MONOTONIC.charAt(index);
+    }
+
+    /**
+     * @param c the character to be checked
+     * @return true if and only if the given character is a combining diacritical mark (U+0300 to U+036F), e.g. the
+     * combining acute accent of the decomposed "ά"
+     */
+    public static boolean isCombiningMark(final char c) {
+        return c >= COMBINING_MARKS_START && c < COMBINING_MARKS_END;
+    }
+
+    /**
+     * Composes the combining marks found in text between start and end onto the given monotonic Greek letter, as
+     * with {@link #toMonotonic(char)}: any acute, grave or circumflex accent becomes a tonos, a diaeresis becomes a
+     * dialytika, and the other marks are dropped. For example, 'α' with the combining acute accent is 'ά'.
+     *
+     * @param c a monotonic Greek letter, e.g. 'α' or 'ϊ'
+     * @param text the text containing the combining marks
+     * @param start the index of the first combining mark
+     * @param end the index after the last combining mark
+     * @return the given letter with the marks composed onto it
+     */
+    static char withCombiningMarks(char c, final CharSequence text, final int start, final int end) {
+        boolean tonos = false;
+        boolean dialytika = false;
+        for(int i = start; i < end; i++) {
+            switch (text.charAt(i)) {
+                case '\u0300': case '\u0301': case '\u0340': case '\u0341': case '\u0342': tonos = true; break;
+                case '\u0308': dialytika = true; break;
+                case '\u0344': tonos = true; dialytika = true; break; // combining dialytika tonos
+                default: // breathings, ypogegrammeni and other marks are dropped
+            }
+        }
+        if(c < GREEK_AND_COPTIC_START || c >= GREEK_AND_COPTIC_END) return c;
+        if(dialytika) c = WITH_DIALYTIKA.charAt(c - GREEK_AND_COPTIC_START);
+        if(tonos) c = WITH_TONOS.charAt(c - GREEK_AND_COPTIC_START);
+        return c;
+    }
+
+    /**
+     * @return the index after the combining marks which follow the character at the given index, in text up to end
+     */
+    static int endOfCombiningMarks(final CharSequence text, int i, final int end) {
+        i++;
+        while(i < end && isCombiningMark(text.charAt(i))) i++;
+        return i;
+    }
+}
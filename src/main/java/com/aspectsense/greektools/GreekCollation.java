@@ -0,0 +1,194 @@
+package com.aspectsense.greektools;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Sorts Greek text in alphabetical order, much faster than {@link java.text.Collator}. Texts are compared in three
+ * levels, where each level is only considered if the previous ones are equal:
+ * <ol>
+ *     <li>the letters, ignoring accents and case, and treating the final sigma 'ς' as 'σ'</li>
+ *     <li>the accents, from left to right, where a letter without accents comes first, e.g. "αγια" &lt; "αγιά"
+ *     &lt; "άγια"</li>
+ *     <li>the case, from left to right, where lower case comes first, e.g. "κοσμος" &lt; "Κοσμος"</li>
+ * </ol>
+ * Other characters are compared by their lower-case code, so digits and Latin letters come before Greek letters.
+ *
+ * There are two ways to sort. The {@link #comparator()} compares two texts in place, without allocating any objects,
+ * which suits sorting a list once. Alternatively, a {@link #sortKey(CharSequence)} can be computed once for each text,
+ * and the keys compared as unsigned bytes with {@link #compare(byte[], byte[])}, which suits repeated comparisons,
+ * e.g. when sorting very large arrays, merging sorted runs or storing the keys in a database.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public final class GreekCollation {
+
+    // the levels of a sort key are separated by 0, and the weights of the second and third levels start from 1, so
+    // that their trailing common weights can be dropped without changing the order
+    private static final byte LEVEL_SEPARATOR = 0;
+    private static final int COMMON_WEIGHT = 1;
+
+    // the lower-case Greek letters, from 'α' to 'ω', take a single byte in the first level of the sort key, just like
+    // ASCII characters; other characters take three bytes, starting with a byte which keeps them in the right order
+    private static final char GREEK_FIRST = 'α';
+    private static final char GREEK_LAST = 'ω';
+    private static final int GREEK_LEAD = 0x81;
+    private static final int BELOW_GREEK_LEAD = 0x80;
+    private static final int ABOVE_GREEK_LEAD = GREEK_LEAD + GREEK_LAST - GREEK_FIRST + 1;
+
+    private static final Comparator<CharSequence> COMPARATOR = GreekCollation::compare;
+
+    private GreekCollation() {}
+
+    /**
+     * The weight of the given character in the first level: the lower-case letter without accents, with 'ς' as 'σ'.
+     */
+    private static char primary(final char c) {
+        if(c < 0x80) {
+            if(c >= 'A' && c <= 'Z') return (char) (c + 'a' - 'A');
+            return c == 0 ? 1 : c; // 0 is reserved as the separator of the levels
+        }
+        if(GreekCharClass.isGreek(c)) {
+            final char base = Character.toLowerCase(GreekCharClass.stripAccent(c));
+            return base == 'ς' ? 'σ' : base;
+        }
+        return Character.toLowerCase(c);
+    }
+
+    /**
+     * The weight of the given character in the second level: 1 if it has no accents, and more for tonos, dialytika,
+     * both, and any others.
+     */
+    private static int secondary(final char c) {
+        return COMMON_WEIGHT + GreekCharClass.accents(c);
+    }
+
+    /**
+     * The weight of the given character in the third level: 1 if it is lower case, 2 if it is upper case.
+     */
+    private static int tertiary(final char c) {
+        return Character.isUpperCase(c) || Character.isTitleCase(c) ? COMMON_WEIGHT + 1 : COMMON_WEIGHT;
+    }
+
+    /**
+     * Computes the sort key of the given text. Comparing two sort keys with {@link #compare(byte[], byte[])} gives the
+     * same result as comparing the texts with {@link #comparator()}. A key takes a little more than one byte for
+     * each Greek or ASCII character, plus one byte for each character up to the last one with accents and up to the
+     * last one in upper case.
+     *
+     * @param text the text to be sorted
+     * @return the sort key of the given text
+     */
+    public static byte [] sortKey(final CharSequence text) {
+        final int length = text.length();
+        final byte [] key = new byte[5 * length + 2];
+        int k = 0;
+        for(int i = 0; i < length; i++) {
+            final char c = primary(text.charAt(i));
+            if(c < 0x80) {
+                key[k++] = (byte) c;
+            } else if(c >= GREEK_FIRST && c <= GREEK_LAST) {
+                key[k++] = (byte) (GREEK_LEAD + c - GREEK_FIRST);
+            } else {
+                key[k++] = (byte) (c < GREEK_FIRST ? BELOW_GREEK_LEAD : ABOVE_GREEK_LEAD);
+                key[k++] = (byte) (c >> 8);
+                key[k++] = (byte) c;
+            }
+        }
+        key[k++] = LEVEL_SEPARATOR;
+        int end = k;
+        for(int i = 0; i < length; i++) {
+            final int weight = secondary(text.charAt(i));
+            key[k++] = (byte) weight;
+            if(weight != COMMON_WEIGHT) end = k;
+        }
+        k = end;
+        key[k++] = LEVEL_SEPARATOR;
+        end = k;
+        for(int i = 0; i < length; i++) {
+            final int weight = tertiary(text.charAt(i));
+            key[k++] = (byte) weight;
+            if(weight != COMMON_WEIGHT) end = k;
+        }
+        return Arrays.copyOf(key, end);
+    }
+
+    /**
+     * Compares two sort keys as unsigned bytes.
+     *
+     * @param key1 the first sort key
+     * @param key2 the second sort key
+     * @return a negative number, zero, or a positive number if the first key is less than, equal to, or greater than
+     * the second key
+     * @see #sortKey(CharSequence)
+     */
+    public static int compare(final byte [] key1, final byte [] key2) {
+        final int length = Math.min(key1.length, key2.length);
+        for(int i = 0; i < length; i++) {
+            final int b1 = key1[i] & 0xFF;
+            final int b2 = key2[i] & 0xFF;
+            if(b1 != b2) return b1 - b2;
+        }
+        return key1.length - key2.length;
+    }
+
+    /**
+     * Compares two texts in place, without allocating any objects.
+     *
+     * @param text1 the first text
+     * @param text2 the second text
+     * @return a negative number, zero, or a positive number if the first text sorts before, together with, or after
+     * the second text
+     */
+    public static int compare(final CharSequence text1, final CharSequence text2) {
+        final int length1 = text1.length();
+        final int length2 = text2.length();
+        final int length = Math.min(length1, length2);
+        for(int i = 0; i < length; i++) {
+            final char c1 = primary(text1.charAt(i));
+            final char c2 = primary(text2.charAt(i));
+            if(c1 != c2) return c1 - c2;
+        }
+        if(length1 != length2) return length1 - length2;
+        for(int i = 0; i < length; i++) {
+            final int difference = secondary(text1.charAt(i)) - secondary(text2.charAt(i));
+            if(difference != 0) return difference;
+        }
+        for(int i = 0; i < length; i++) {
+            final int difference = tertiary(text1.charAt(i)) - tertiary(text2.charAt(i));
+            if(difference != 0) return difference;
+        }
+        return 0;
+    }
+
+    /**
+     * @return a comparator which compares texts in place, as with {@link #compare(CharSequence, CharSequence)}
+     */
+    public static Comparator<CharSequence> comparator() {
+        return COMPARATOR;
+    }
+
+    /**
+     * Sorts the given array of texts, computing the sort key of each text once. This is faster than sorting with the
+     * {@link #comparator()} for large arrays.
+     *
+     * @param texts the texts to be sorted in place
+     */
+    public static void sort(final String [] texts) {
+        final Keyed [] keyed = new Keyed[texts.length];
+        for(int i = 0; i < texts.length; i++) keyed[i] = new Keyed(sortKey(texts[i]), texts[i]);
+        Arrays.sort(keyed, (keyed1, keyed2) -> compare(keyed1.key, keyed2.key));
+        for(int i = 0; i < texts.length; i++) texts[i] = keyed[i].text;
+    }
+
+    private static final class Keyed {
+        private final byte [] key;
+        private final String text;
+
+        private Keyed(final byte [] key, final String text) {
+            this.key = key;
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.aspectsense.greektools;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+/**
+ * Fast scanning of large texts for Greek letters, e.g. to decide whether a document needs to be transliterated at all.
+ * Texts can be given as characters ({@link CharSequence} or char[]) or as UTF-8 bytes (byte[] or {@link ByteBuffer},
+ * including direct buffers), in which case they are scanned without being decoded.
+ *
+ * The scan skips whole blocks of ASCII (or, for characters, Latin-1) text at a time, i.e. 8 bytes read as a single
+ * long or 8 characters combined with a single test, and only looks at individual characters in blocks which might
+ * contain Greek. This way plain ASCII documents are scanned at memory speed.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public final class GreekScanner {
+
+    private static final int BLOCK = 8;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+
+    // in UTF-8, the Greek and Coptic block starts with 0xCD-0xCF, and Greek Extended with 0xE1 0xBC-0xBF
+    private static final int UTF8_GREEK_AND_COPTIC_FIRST = 0xCD;
+    private static final int UTF8_GREEK_AND_COPTIC_LAST = 0xCF;
+    private static final int UTF8_GREEK_EXTENDED_FIRST = 0xE1;
+    private static final int UTF8_GREEK_EXTENDED_SECOND_FIRST = 0xBC;
+
+    private GreekScanner() {}
+
+    /**
+     * @param text the text to be checked
+     * @return true if and only if the given text contains at least one Greek letter
+     */
+    public static boolean containsGreek(final CharSequence text) {
+        return indexOfFirstGreek(text) != -1;
+    }
+
+    /**
+     * @param text the text to be checked
+     * @param offset the index of the first character to be checked
+     * @param length the number of characters to be checked
+     * @return true if and only if the given range of characters contains at least one Greek letter
+     */
+    public static boolean containsGreek(final char [] text, final int offset, final int length) {
+        return indexOfFirstGreek(text, offset, length) != -1;
+    }
+
+    /**
+     * @param utf8 the text to be checked, encoded in UTF-8
+     * @param offset the index of the first byte to be checked
+     * @param length the number of bytes to be checked
+     * @return true if and only if the given range of bytes contains at least one Greek letter
+     */
+    public static boolean containsGreek(final byte [] utf8, final int offset, final int length) {
+        return indexOfFirstGreek(utf8, offset, length) != -1;
+    }
+
+    /**
+     * @param utf8 the text to be checked, encoded in UTF-8, between the position and the limit of the buffer; the
+     *             position of the buffer is not changed
+     * @return true if and only if the remaining bytes of the given buffer contain at least one Greek letter
+     */
+    public static boolean containsGreek(final ByteBuffer utf8) {
+        return indexOfFirstGreek(utf8) != -1;
+    }
+
+    /**
+     * @param text the text to be checked
+     * @return the index of the first Greek letter in the given text, or -1 if there is none
+     */
+    public static int indexOfFirstGreek(final CharSequence text) {
+        final int length = text.length();
+        int i = 0;
+        for(; i + BLOCK <= length; i += BLOCK) {
+            final int block = text.charAt(i) | text.charAt(i + 1) | text.charAt(i + 2) | text.charAt(i + 3)
+                    | text.charAt(i + 4) | text.charAt(i + 5) | text.charAt(i + 6) | text.charAt(i + 7);
+            if((block & 0xFF00) == 0) continue; // all characters are Latin-1
+            for(int j = i; j < i + BLOCK; j++) {
+                if(GreekCharClass.isGreek(text.charAt(j))) return j;
+            }
+        }
+        for(; i < length; i++) {
+            if(GreekCharClass.isGreek(text.charAt(i))) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * @param text the text to be checked
+     * @param offset the index of the first character to be checked
+     * @param length the number of characters to be checked
+     * @return the index of the first Greek letter in the given range of characters, or -1 if there is none
+     */
+    public static int indexOfFirstGreek(final char [] text, final int offset, final int length) {
+        checkRange(text.length, offset, length);
+        final int end = offset + length;
+        int i = offset;
+        for(; i + BLOCK <= end; i += BLOCK) {
+            final int block = text[i] | text[i + 1] | text[i + 2] | text[i + 3]
+                    | text[i + 4] | text[i + 5] | text[i + 6] | text[i + 7];
+            if((block & 0xFF00) == 0) continue; // all characters are Latin-1
+            for(int j = i; j < i + BLOCK; j++) {
+                if(GreekCharClass.isGreek(text[j])) return j;
+            }
+        }
+        for(; i < end; i++) {
+            if(GreekCharClass.isGreek(text[i])) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * @param utf8 the text to be checked, encoded in UTF-8
+     * @param offset the index of the first byte to be checked
+     * @param length the number of bytes to be checked
+     * @return the index of the first byte of the first Greek letter in the given range of bytes, or -1 if there is none
+     */
+    public static int indexOfFirstGreek(final byte [] utf8, final int offset, final int length) {
+        checkRange(utf8.length, offset, length);
+        return indexOfFirstGreek(ByteBuffer.wrap(utf8), offset, offset + length);
+    }
+
+    /**
+     * @param utf8 the text to be checked, encoded in UTF-8, between the position and the limit of the buffer; the
+     *             position of the buffer is not changed
+     * @return the index in the buffer of the first byte of the first Greek letter, or -1 if there is none
+     */
+    public static int indexOfFirstGreek(final ByteBuffer utf8) {
+        return indexOfFirstGreek(utf8, utf8.position(), utf8.limit());
+    }
+
+    private static int indexOfFirstGreek(final ByteBuffer utf8, final int start, final int end) {
+        int i = start;
+        while(i < end) {
+            if(i + BLOCK <= end && (utf8.getLong(i) & HIGH_BITS) == 0) {
+                i += BLOCK; // all bytes are ASCII
+                continue;
+            }
+            final int b = utf8.get(i) & 0xFF;
+            final int sequenceLength = utf8SequenceLength(b);
+            if(i + sequenceLength <= end && GreekCharClass.isGreek(decodeGreek(utf8, i, b))) return i;
+            i += sequenceLength;
+        }
+        return -1;
+    }
+
+    /**
+     * Computes the ratio of Greek letters to all letters in the given text, e.g. to tell Greek documents which include
+     * a few English words from English documents which include a few Greek words.
+     *
+     * @param text the text to be checked
+     * @return a number between 0 and 1, which is 0 if the text has no letters
+     */
+    public static double greekCharRatio(final CharSequence text) {
+        final int first = indexOfFirstGreek(text);
+        if(first == -1) return 0d;
+        int letters = 0;
+        int greekLetters = 0;
+        final int length = text.length();
+        for(int i = 0; i < length; i++) {
+            final char c = text.charAt(i);
+            if(GreekCharClass.isGreek(c)) {
+                greekLetters++;
+                letters++;
+            } else if(Character.isLetter(c)) {
+                letters++;
+            }
+        }
+        return (double) greekLetters / letters;
+    }
+
+    /**
+     * @see #greekCharRatio(CharSequence)
+     *
+     * @param text the text to be checked
+     * @param offset the index of the first character to be checked
+     * @param length the number of characters to be checked
+     * @return a number between 0 and 1, which is 0 if the text has no letters
+     */
+    public static double greekCharRatio(final char [] text, final int offset, final int length) {
+        checkRange(text.length, offset, length);
+        return greekCharRatio(CharBuffer.wrap(text, offset, length));
+    }
+
+    /**
+     * @see #greekCharRatio(CharSequence)
+     *
+     * @param utf8 the text to be checked, encoded in UTF-8
+     * @param offset the index of the first byte to be checked
+     * @param length the number of bytes to be checked
+     * @return a number between 0 and 1, which is 0 if the text has no letters
+     */
+    public static double greekCharRatio(final byte [] utf8, final int offset, final int length) {
+        checkRange(utf8.length, offset, length);
+        return greekCharRatio(ByteBuffer.wrap(utf8), offset, offset + length);
+    }
+
+    /**
+     * @see #greekCharRatio(CharSequence)
+     *
+     * @param utf8 the text to be checked, encoded in UTF-8, between the position and the limit of the buffer; the
+     *             position of the buffer is not changed
+     * @return a number between 0 and 1, which is 0 if the text has no letters
+     */
+    public static double greekCharRatio(final ByteBuffer utf8) {
+        return greekCharRatio(utf8, utf8.position(), utf8.limit());
+    }
+
+    private static double greekCharRatio(final ByteBuffer utf8, final int start, final int end) {
+        if(indexOfFirstGreek(utf8, start, end) == -1) return 0d;
+        int letters = 0;
+        int greekLetters = 0;
+        int i = start;
+        while(i < end) {
+            final int b = utf8.get(i) & 0xFF;
+            final int sequenceLength = utf8SequenceLength(b);
+            if(b < 0x80) {
+                if(Character.isLetter(b)) letters++;
+            } else if(i + sequenceLength <= end) {
+                final int codePoint = decode(utf8, i, b, sequenceLength);
+                if(codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT && GreekCharClass.isGreek((char) codePoint)) {
+                    greekLetters++;
+                    letters++;
+                } else if(Character.isLetter(codePoint)) {
+                    letters++;
+                }
+            }
+            i += sequenceLength;
+        }
+        return (double) greekLetters / letters;
+    }
+
+    /**
+     * @return the length of the UTF-8 sequence starting with the given byte, or 1 for an invalid or continuation byte
+     */
+    private static int utf8SequenceLength(final int b) {
+        if(b < 0xC0) return 1;
+        if(b < 0xE0) return 2;
+        if(b < 0xF0) return 3;
+        if(b < 0xF8) return 4;
+        return 1;
+    }
+
+    /**
+     * Decodes the character at index i, if it is in one of the Greek blocks.
+     *
+     * @return the decoded character, or 0 if it is not in one of the Greek blocks
+     */
+    private static char decodeGreek(final ByteBuffer utf8, final int i, final int b) {
+        if(b >= UTF8_GREEK_AND_COPTIC_FIRST && b <= UTF8_GREEK_AND_COPTIC_LAST) {
+            return (char) (((b & 0x1F) << 6) | (utf8.get(i + 1) & 0x3F));
+        } else if(b == UTF8_GREEK_EXTENDED_FIRST && (utf8.get(i + 1) & 0xFF) >= UTF8_GREEK_EXTENDED_SECOND_FIRST) {
+            return (char) (((b & 0x0F) << 12) | ((utf8.get(i + 1) & 0x3F) << 6) | (utf8.get(i + 2) & 0x3F));
+        }
+        return 0;
+    }
+
+    private static int decode(final ByteBuffer utf8, final int i, final int b, final int sequenceLength) {
+        switch (sequenceLength) {
+            case 2: return ((b & 0x1F) << 6) | (utf8.get(i + 1) & 0x3F);
+            case 3: return ((b & 0x0F) << 12) | ((utf8.get(i + 1) & 0x3F) << 6) | (utf8.get(i + 2) & 0x3F);
+            case 4: return ((b & 0x07) << 18) | ((utf8.get(i + 1) & 0x3F) << 12) | ((utf8.get(i + 2) & 0x3F) << 6) | (utf8.get(i + 3) & 0x3F);
+            default: return b;
+        }
+    }
+
+    private static void checkRange(final int arrayLength, final int offset, final int length) {
+        if(offset < 0 || length < 0 || offset + length > arrayLength) {
+            throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length + ", array length: " + arrayLength);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.aspectsense.greektools;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * An immutable, in-memory index over a list of entries (e.g. names, titles or addresses) which can be searched
+ * regardless of accents, case and script. Each entry is normalized once, when the index is built: Greek words are
+ * converted into Greeklish, and then accents and case are folded, so that "Κόσμος", "κοσμος", "KOSMOS" and "kosmos" are
+ * all the same word. Queries are normalized the same way.
+ *
+ * The normalized entries are kept in a single char array, and the index maps every trigram (sequence of three
+ * characters) of the normalized entries to the sorted ids of the entries containing it, stored in primitive int arrays.
+ * A query is answered by intersecting the lists of its trigrams, starting with the shortest, and then checking the few
+ * remaining candidates. Queries shorter than three characters have no trigrams, so they are checked against all
+ * entries.
+ *
+ * The entries are identified by their index in the collection given when building the index.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public final class GreekSearchIndex {
+
+    // the normalized entries are words separated by a single space, and each word is preceded by a space, so that
+    // prefixes of words are found by searching for the space followed by the prefix
+    private static final char WORD_START = ' ';
+
+    // every character of the normalized text is reduced to 6 bits, so that a trigram fits in 18 bits
+    private static final int BITS_PER_CHAR = 6;
+    private static final int NUM_OF_TRIGRAMS = 1 << (3 * BITS_PER_CHAR);
+
+    /** Latin letters below this bound have their accents folded, e.g. 'ó' to 'o'. */
+    private static final int LATIN_TABLE_SIZE = 0x0250;
+    private static final char [] LATIN_FOLDED = new char[LATIN_TABLE_SIZE];
+
+    static {
+        for(int c = 0; c < LATIN_TABLE_SIZE; c++) {
+            final char folded = Character.isLetter(c) ? Normalizer.normalize(String.valueOf((char) c), Normalizer.Form.NFD).charAt(0) : (char) c;
+            LATIN_FOLDED[c] = Character.toLowerCase(folded);
+        }
+    }
+
+    private final int size;
+    private final char [] text;
+    private final int [] entryStarts;
+    private final int [] postingStarts;
+    private final int [] postings;
+
+    /**
+     * Builds an index over the given entries.
+     *
+     * @param entries the entries to be searched, in any script, with or without accents
+     */
+    public GreekSearchIndex(final Collection<? extends CharSequence> entries) {
+        this.size = entries.size();
+
+        // normalize all the entries into a single array
+        final StringBuilder normalized = new StringBuilder();
+        this.entryStarts = new int[size + 1];
+        int maxLength = 0;
+        int id = 0;
+        for(final CharSequence entry : entries) {
+            entryStarts[id++] = normalized.length();
+            normalize(entry, normalized);
+            maxLength = Math.max(maxLength, normalized.length() - entryStarts[id - 1]);
+        }
+        entryStarts[size] = normalized.length();
+        this.text = new char[normalized.length()];
+        normalized.getChars(0, text.length, text, 0);
+
+        // count the entries containing each trigram, then fill in the lists
+        this.postingStarts = new int[NUM_OF_TRIGRAMS + 1];
+        final int [] trigrams = new int[Math.max(0, maxLength - 2)];
+        for(id = 0; id < size; id++) {
+            final int numOfTrigrams = distinctTrigrams(id, trigrams);
+            for(int i = 0; i < numOfTrigrams; i++) postingStarts[trigrams[i] + 1]++;
+        }
+        for(int i = 0; i < NUM_OF_TRIGRAMS; i++) postingStarts[i + 1] += postingStarts[i];
+        this.postings = new int[postingStarts[NUM_OF_TRIGRAMS]];
+        final int [] next = Arrays.copyOf(postingStarts, NUM_OF_TRIGRAMS);
+        for(id = 0; id < size; id++) {
+            final int numOfTrigrams = distinctTrigrams(id, trigrams);
+            for(int i = 0; i < numOfTrigrams; i++) postings[next[trigrams[i]]++] = id;
+        }
+    }
+
+    /**
+     * Stores the distinct trigrams of the given entry in the given array, in ascending order.
+     *
+     * @return the number of distinct trigrams
+     */
+    private int distinctTrigrams(final int id, final int [] trigrams) {
+        final int start = entryStarts[id];
+        final int numOfTrigrams = Math.max(0, entryStarts[id + 1] - start - 2);
+        for(int i = 0; i < numOfTrigrams; i++) trigrams[i] = trigram(text, start + i);
+        Arrays.sort(trigrams, 0, numOfTrigrams);
+        int distinct = 0;
+        for(int i = 0; i < numOfTrigrams; i++) {
+            if(distinct == 0 || trigrams[distinct - 1] != trigrams[i]) trigrams[distinct++] = trigrams[i];
+        }
+        return distinct;
+    }
+
+    private static int trigram(final char [] text, final int i) {
+        return (code(text[i]) << (2 * BITS_PER_CHAR)) | (code(text[i + 1]) << BITS_PER_CHAR) | code(text[i + 2]);
+    }
+
+    /**
+     * Reduces a character of the normalized text to 6 bits. Letters, digits and the space have codes of their own,
+     * while any other characters share the remaining codes, which only causes a few more candidates to be checked.
+     */
+    private static int code(final char c) {
+        if(c >= 'a' && c <= 'z') return c - 'a' + 1;
+        if(c >= '0' && c <= '9') return c - '0' + 27;
+        if(c == WORD_START) return 37;
+        return 38 + c % 26;
+    }
+
+    /**
+     * Normalizes the given text, appending it to the given builder. Each word is preceded by a space, and any
+     * characters which are not letters or digits are dropped. Words containing Greek letters are converted into
+     * Greeklish, and then all the letters are converted to lower case without accents.
+     */
+    static void normalize(final CharSequence text, final StringBuilder out) {
+        final TransliterationEngine engine = Greeklish.getEngine(false);
+        final int length = text.length();
+        int i = 0;
+        while(i < length) {
+            if(!Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+                continue;
+            }
+            int wordEnd = i + 1;
+            boolean greek = GreekCharClass.isGreek(text.charAt(i));
+            while(wordEnd < length && Character.isLetterOrDigit(text.charAt(wordEnd))) {
+                greek |= GreekCharClass.isGreek(text.charAt(wordEnd));
+                wordEnd++;
+            }
+            out.append(WORD_START);
+            final int wordStart = out.length();
+            if(greek) engine.transliterateWord(text, i, wordEnd, out);
+            else out.append(text, i, wordEnd);
+            for(int j = wordStart; j < out.length(); j++) {
+                final char c = out.charAt(j);
+                out.setCharAt(j, c < LATIN_TABLE_SIZE ? LATIN_FOLDED[c] : Character.toLowerCase(c));
+            }
+            i = wordEnd;
+        }
+    }
+
+    /**
+     * @return the number of entries in the index
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the entries which contain the given text, regardless of accents, case and script. Any characters of the
+     * query which are not letters or digits only separate words, e.g. "ΚΌΣΜΟΣ-ΌΛΟΣ" finds "κοσμος ολος".
+     *
+     * @param query the text to look for
+     * @return the ids of the matching entries, in ascending order
+     */
+    public int [] findSubstring(final CharSequence query) {
+        final StringBuilder normalized = new StringBuilder(query.length() + 8);
+        normalize(query, normalized);
+        if(normalized.length() > 0) normalized.deleteCharAt(0); // the query may start in the middle of a word
+        return find(normalized);
+    }
+
+    /**
+     * Finds the entries which contain a word starting with the given text, regardless of accents, case and script,
+     * e.g. "Κοσμ" finds "ο κόσμος" but not "ο ακόσμητος". If the query has more than one word, the last one is matched
+     * as a prefix and the others must match whole words.
+     *
+     * @param query the prefix to look for
+     * @return the ids of the matching entries, in ascending order
+     */
+    public int [] findPrefix(final CharSequence query) {
+        final StringBuilder normalized = new StringBuilder(query.length() + 8);
+        normalize(query, normalized);
+        return find(normalized);
+    }
+
+    private int [] find(final CharSequence query) {
+        if(query.length() == 0) return new int[0];
+        final char [] pattern = query.toString().toCharArray();
+        final int [] candidates;
+        int numOfCandidates;
+        if(pattern.length < 3) {
+            candidates = null;
+            numOfCandidates = size;
+        } else {
+            // collect the distinct trigrams of the query, shortest list first
+            final int numOfTrigrams = pattern.length - 2;
+            final int [] trigrams = new int[numOfTrigrams];
+            for(int i = 0; i < numOfTrigrams; i++) trigrams[i] = trigram(pattern, i);
+            final long [] bySize = new long[numOfTrigrams];
+            for(int i = 0; i < numOfTrigrams; i++) {
+                final int trigram = trigrams[i];
+                bySize[i] = ((long) (postingStarts[trigram + 1] - postingStarts[trigram]) << 32) | trigram;
+            }
+            Arrays.sort(bySize);
+            final int first = (int) bySize[0];
+            candidates = Arrays.copyOfRange(postings, postingStarts[first], postingStarts[first + 1]);
+            numOfCandidates = candidates.length;
+            for(int i = 1; i < numOfTrigrams && numOfCandidates > 0; i++) {
+                final int trigram = (int) bySize[i];
+                if(bySize[i] == bySize[i - 1]) continue; // repeated trigram
+                numOfCandidates = intersect(candidates, numOfCandidates, postings, postingStarts[trigram], postingStarts[trigram + 1]);
+            }
+        }
+
+        // check the candidates, as the trigrams may match in different places
+        final int [] matches = new int[numOfCandidates];
+        int numOfMatches = 0;
+        for(int i = 0; i < numOfCandidates; i++) {
+            final int id = candidates == null ? i : candidates[i];
+            if(contains(entryStarts[id], entryStarts[id + 1], pattern)) matches[numOfMatches++] = id;
+        }
+        return numOfMatches == matches.length ? matches : Arrays.copyOf(matches, numOfMatches);
+    }
+
+    /**
+     * Intersects the sorted candidates with the sorted list found in the given range, keeping the result in the
+     * candidates array. Each element is found with a galloping search, as the candidates are usually far fewer.
+     *
+     * @return the number of remaining candidates
+     */
+    private static int intersect(final int [] candidates, final int numOfCandidates, final int [] list, int from, final int to) {
+        int numOfRemaining = 0;
+        for(int i = 0; i < numOfCandidates && from < to; i++) {
+            final int candidate = candidates[i];
+            int step = 1;
+            int high = from;
+            while(high < to && list[high] < candidate) {
+                from = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            final int index = Arrays.binarySearch(list, from, Math.min(high + 1, to), candidate);
+            if(index >= 0) {
+                candidates[numOfRemaining++] = candidate;
+                from = index + 1;
+            } else {
+                from = -index - 1;
+            }
+        }
+        return numOfRemaining;
+    }
+
+    private boolean contains(final int start, final int end, final char [] pattern) {
+        final int last = end - pattern.length;
+        outer:
+        for(int i = start; i <= last; i++) {
+            for(int j = 0; j < pattern.length; j++) {
+                if(text[i + j] != pattern[j]) continue outer;
+            }
+            return true;
+        }
+        return false;
+    }
+}
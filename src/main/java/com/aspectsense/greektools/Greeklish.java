@@ -1,13 +1,20 @@
 package com.aspectsense.greektools;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Set;
-import java.util.StringTokenizer;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Implements ISO 843 / ΕΛΟΤ 743 for the transliteration of Greek text to the Latin alphabet.
  *
+ * Other schemes, such as the style of Greek passports or the UN/BGN romanization, are available as
+ * {@link TransliterationProfile}s, each used through its own {@link Transliterator}.
+ *
  * @see <a href="https://en.wikipedia.org/wiki/ISO_843#1997_edition">ISO 843 on Wikipedia</a>
  * @see <a href="http://www.geonoma.gov.cy/index.php/typopoiisi/metagrafi-ellnikou-alfavitou">
  *     Metagrafi ellinikou alfavitou</a>
@@ -17,180 +24,107 @@ import java.util.StringTokenizer;
  */
 public class Greeklish {
 
-    private static final Map<String, String> mappingBase = new HashMap<>();
-    private static final Map<String, String> mappingWithAccents = new HashMap<>();
-    private static final Map<String, String> exceptions = new HashMap<>();
-    private static final Map<String, String[]> exceptionsNotes_1_2 = new HashMap<>();
-    private static final Map<String, String> exceptionsWithAccents = new HashMap<>();
-    private static final Map<String, String[]> exceptionsWithAccentsNotes_1_2 = new HashMap<>();
-    private static final Map<String, String> exceptionsAllCaps = new HashMap<>();
-
-    static {
-        mappingBase.put("Α", "A");
-        mappingBase.put("Ά", "A");
-        mappingBase.put("α", "a");
-        mappingBase.put("ά", "a");
-        mappingBase.put("Β", "V");
-        mappingBase.put("β", "v");
-        mappingBase.put("Γ", "G");
-        mappingBase.put("γ", "g");
-        mappingBase.put("Δ", "D");
-        mappingBase.put("δ", "d");
-        mappingBase.put("Ε", "E");
-        mappingBase.put("Έ", "E");
-        mappingBase.put("ε", "e");
-        mappingBase.put("έ", "e");
-        mappingBase.put("Ζ", "Z");
-        mappingBase.put("ζ", "z");
-        mappingBase.put("Η", "I");
-        mappingBase.put("Ή", "I");
-        mappingBase.put("η", "i");
-        mappingBase.put("ή", "i");
-        mappingBase.put("Θ", "Th");
-        mappingBase.put("θ", "th");
-        mappingBase.put("Ι", "I");
-        mappingBase.put("Ί", "I");
-        mappingBase.put("Ϊ", "I");
-        mappingBase.put("ι", "i");
-        mappingBase.put("ί", "i");
-        mappingBase.put("ϊ", "i");
-        mappingBase.put("ΐ", "i");
-        mappingBase.put("Κ", "K");
-        mappingBase.put("κ", "k");
-        mappingBase.put("Λ", "L");
-        mappingBase.put("λ", "l");
-        mappingBase.put("Μ", "M");
-        mappingBase.put("μ", "m");
-        mappingBase.put("Ν", "N");
-        mappingBase.put("ν", "n");
-        mappingBase.put("Ξ", "X");
-        mappingBase.put("ξ", "x");
-        mappingBase.put("Ο", "O");
-        mappingBase.put("Ό", "O");
-        mappingBase.put("ο", "o");
-        mappingBase.put("ό", "o");
-        mappingBase.put("Π", "P");
-        mappingBase.put("π", "p");
-        mappingBase.put("Ρ", "R");
-        mappingBase.put("ρ", "r");
-        mappingBase.put("Σ", "S");
-        mappingBase.put("σ", "s");
-        mappingBase.put("ς", "s");
-        mappingBase.put("Τ", "T");
-        mappingBase.put("τ", "t");
-        mappingBase.put("Υ", "Y");
-        mappingBase.put("Ύ", "Y");
-        mappingBase.put("Ϋ", "Y");
-        mappingBase.put("υ", "y");
-        mappingBase.put("ύ", "y");
-        mappingBase.put("ϋ", "y");
-        mappingBase.put("ΰ", "y");
-        mappingBase.put("Φ", "F");
-        mappingBase.put("φ", "f");
-        mappingBase.put("Χ", "Ch");
-        mappingBase.put("χ", "ch");
-        mappingBase.put("Ψ", "Ps");
-        mappingBase.put("ψ", "ps");
-        mappingBase.put("Ω", "O");
-        mappingBase.put("Ώ", "O");
-        mappingBase.put("ω", "o");
-        mappingBase.put("ώ", "o");
-
-        mappingBase.put(";", "?");
-
-        mappingWithAccents.put("Ά", "Á");
-        mappingWithAccents.put("ά", "á");
-        mappingWithAccents.put("Έ", "É");
-        mappingWithAccents.put("έ", "é");
-        mappingWithAccents.put("Η", "Ī");
-        mappingWithAccents.put("Ή", "Ī́");
-        mappingWithAccents.put("η", "ī");
-        mappingWithAccents.put("ή", "ī́");
-        mappingWithAccents.put("Ί", "Í");
-        mappingWithAccents.put("Ϊ", "Ï");
-        mappingWithAccents.put("ί", "í");
-        mappingWithAccents.put("ϊ", "ï");
-        mappingWithAccents.put("ΐ", "ḯ");
-        mappingWithAccents.put("Ό", "Ó");
-        mappingWithAccents.put("ό", "ó");
-        mappingWithAccents.put("Ύ", "Ý");
-        mappingWithAccents.put("Ϋ", "Ÿ");
-        mappingWithAccents.put("ύ", "ý");
-        mappingWithAccents.put("ϋ", "ÿ");
-        mappingWithAccents.put("ΰ", "ÿ́");
-        mappingWithAccents.put("Ω", "Ō");
-        mappingWithAccents.put("Ώ", "Ṓ");
-        mappingWithAccents.put("ω", "ō");
-        mappingWithAccents.put("ώ", "ṓ");
-
-        // e.g. av "before vowels or voiced consonants" and af "before voiceless consonants and word-finally"
-        exceptionsNotes_1_2.put("ΑΥ", new String [] {"AV", "AF"});
-        exceptionsNotes_1_2.put("Αυ", new String [] {"Av", "Af"});
-        exceptionsNotes_1_2.put("αυ", new String [] {"av", "af"});
-        exceptionsNotes_1_2.put("ΑΎ", new String [] {"AV", "AF"});
-        exceptionsNotes_1_2.put("Αύ", new String [] {"Av", "Af"});
-        exceptionsNotes_1_2.put("αύ", new String [] {"av", "af"});
-        exceptionsNotes_1_2.put("ΕΥ", new String [] {"EV", "EF"});
-        exceptionsNotes_1_2.put("Ευ", new String [] {"Ev", "Ef"});
-        exceptionsNotes_1_2.put("ευ", new String [] {"ev", "ef"});
-        exceptionsNotes_1_2.put("ΕΎ", new String [] {"EV", "EF"});
-        exceptionsNotes_1_2.put("Εύ", new String [] {"Ev", "Ef"});
-        exceptionsNotes_1_2.put("εύ", new String [] {"ev", "ef"});
-
-        exceptions.put("ΟΥ", "OU");
-        exceptions.put("Ου", "Ou");
-        exceptions.put("ου", "ou");
-        exceptions.put("ΟΎ", "OU");
-        exceptions.put("Ού", "Ou");
-        exceptions.put("ού", "ou");
-
-        exceptions.put("ΓΓ", "NG");
-        exceptions.put("Γγ", "Ng");
-        exceptions.put("γγ", "ng");
-        exceptions.put("ΓΚ", "GK");
-        exceptions.put("Γκ", "Gk");
-        exceptions.put("γκ", "gk");
-        exceptions.put("ΓΞ", "NX");
-        exceptions.put("Γξ", "Nx");
-        exceptions.put("γξ", "nx");
-        exceptions.put("ΓΧ", "NCH");
-        exceptions.put("Γχ", "Nch");
-        exceptions.put("γχ", "nch");
-        exceptions.put("ΝΤ", "NT");
-        exceptions.put("Ντ", "Nt");
-        exceptions.put("ντ", "nt");
-
-        // e.g. áv "before vowels or voiced consonants" and áf "before voiceless consonants and word-finally"
-        exceptionsWithAccentsNotes_1_2.put("ΑΎ", new String [] {"ÁV", "ÁF"});
-        exceptionsWithAccentsNotes_1_2.put("Αύ", new String [] {"Áv", "Áf"});
-        exceptionsWithAccentsNotes_1_2.put("αύ", new String [] {"áv", "áf"});
-        exceptionsWithAccentsNotes_1_2.put("ΕΎ", new String [] {"ÉV", "ÉF"});
-        exceptionsWithAccentsNotes_1_2.put("Εύ", new String [] {"Év", "Éf"});
-        exceptionsWithAccentsNotes_1_2.put("εύ", new String [] {"év", "éf"});
-
-        exceptionsWithAccents.put("ΟΎ", "OÚ");
-        exceptionsWithAccents.put("Ού", "Oú");
-        exceptionsWithAccents.put("ού", "oú");
-
-        exceptionsAllCaps.put("Θ", "TH");
-        exceptionsAllCaps.put("Χ", "CH");
-        exceptionsAllCaps.put("Ψ", "PS");
-    }
-
-    private static final String ALL_GREEK_UPPERCASE_LETTERS = "ΑΆΒΓΔΕΈΖΗΉΘΙΊΪΚΛΜΝΞΟΌΠΡΣΤΥΎΫΦΧΨΩΏ";
-    private static final String ALL_GREEK_LOWERCASE_LETTERS = "αάβγδεέζηήθιίϊΐκλμνξοόπρσςτυύϋΰφχψωώ";
-    private static final String ALL_GREEK_LETTERS = ALL_GREEK_UPPERCASE_LETTERS + ALL_GREEK_LOWERCASE_LETTERS;
-    private static final String ALL_GREEK_VOWELS = "ΑαΆάΕεΈέΗηΉήΙιΊίΪϊΐΟοΌόΥυΎύΫϋΰΩωΏώ";
-    private static final String NOTE_1_GREEK_CONSONANTS = "ΒβΓγΔδΖζΛλΜμΝνΡρ";
-    private static final String NOTE_2_GREEK_CONSONANTS = "ΘθΚκΞξΠπΣσΤτΦφΧχΨψ";
-
-    private static boolean checkNote1(final char c) {
-        return ALL_GREEK_VOWELS.indexOf(c) != -1 || NOTE_1_GREEK_CONSONANTS.indexOf(c) != -1;
+    // the reverse engine is only compiled when first used, from the rules of ISO 843 with accents
+    private static final class ReverseEngine {
+        private static final ReverseTransliterationEngine ENGINE = compileReverse();
+    }
+
+    /**
+     * @param withAccents indicates whether the transliterator converts accents as well
+     * @return the transliterator of ISO 843, which backs the static methods of this class
+     */
+    static Transliterator getTransliterator(final boolean withAccents) {
+        return (withAccents ? TransliterationProfile.ISO_843_WITH_ACCENTS : TransliterationProfile.ISO_843).transliterator();
+    }
+
+    static TransliterationEngine getEngine(final boolean withAccents) {
+        return getTransliterator(withAccents).getEngine();
+    }
+
+    private static volatile WordCache wordCache = null;
+
+    /**
+     * Installs a cache of converted words in front of the transliteration, used by all the methods converting Greek
+     * to Greeklish. Caching is disabled by default.
+     *
+     * @param wordCache the cache to use, or null to disable caching
+     */
+    public static void setWordCache(final WordCache wordCache) {
+        Greeklish.wordCache = wordCache;
+        getEngine(false).setWordCache(wordCache);
+        getEngine(true).setWordCache(wordCache);
+    }
+
+    /**
+     * @return the cache of converted words currently in use, or null if caching is disabled
+     */
+    public static WordCache getWordCache() {
+        return wordCache;
+    }
+
+    private static volatile NameDictionary nameDictionary = null;
+
+    /**
+     * Installs a dictionary of whole words with their official spellings, e.g. "Γιώργος" to "Yiorgos", which is
+     * checked before the transliteration rules by all the methods converting Greek to Greeklish, with or without
+     * accents. No dictionary is used by default.
+     *
+     * @param nameDictionary the dictionary to use, or null to use the rules only
+     */
+    public static void setNameDictionary(final NameDictionary nameDictionary) {
+        Greeklish.nameDictionary = nameDictionary;
+        getEngine(false).setNameDictionary(nameDictionary);
+        getEngine(true).setNameDictionary(nameDictionary);
+    }
+
+    /**
+     * @return the dictionary of whole words currently in use, or null if there is none
+     */
+    public static NameDictionary getNameDictionary() {
+        return nameDictionary;
+    }
+
+    private static volatile GreeklishListener listener = null;
+
+    /**
+     * Installs a listener which is notified of every conversion to Greeklish, of words or texts, and of every removal
+     * of accents, with their sizes and durations, as well as of the transliteration rules applied, e.g. a
+     * {@link GreeklishMetrics}. No listener is installed by default, and then the operations only check for one.
+     *
+     * @param listener the listener to notify, or null to notify none
+     */
+    public static void setListener(final GreeklishListener listener) {
+        Greeklish.listener = listener;
+        getEngine(false).setListener(listener);
+        getEngine(true).setListener(listener);
+    }
+
+    /**
+     * @return the listener currently notified, or null if there is none
+     */
+    public static GreeklishListener getListener() {
+        return listener;
+    }
+
+    private static ReverseTransliterationEngine compileReverse() {
+        // the tables with accents tell apart letters such as "ι" and "η", so that "i" is inverted to "ι" only
+        final TransliterationProfile profile = TransliterationProfile.ISO_843_WITH_ACCENTS;
+        return new ReverseTransliterationEngine(profile.wordInitial(), profile.voicing(), profile.digraphs(),
+                profile.allCaps(), profile.mapping());
+    }
+
+    static boolean checkNote1(final char c) {
+        return GreekCharClass.isVowel(c) || GreekCharClass.isNote1(c);
     }
 
     /**
      * Converts a text given in Greek into Greeklish (i.e. the equivalent text expressed in the Latin character set).
-     * It ignores accents, i.e. "Κόσμος" is converted to "Kosmos".
+     * It ignores accents, i.e. "Κόσμος" is converted to "Kosmos". Words are separated by any whitespace or punctuation
+     * (see {@link WordTokenizer}), which is kept as it is.
+     *
+     * Polytonic and decomposed (NFD) text is converted as the monotonic text, except that a rough breathing at the
+     * start of a word is converted to "h", as in ISO 843, i.e. "ὁ" is converted to "ho" and "Ῥόδος" to "Rhodos". The
+     * smooth breathing and the iota subscript are dropped.
      *
      * @param greek the original text, expressed in the Greek character set
      * @return the converted text, expressed in the Latin character set
@@ -211,113 +145,333 @@ public class Greeklish {
      * @return the converted text, expressed in the Latin character set
      */
     public static String toGreeklish(final String greek, final boolean withAccents) {
-        final StringBuilder stringBuilder = new StringBuilder();
-        final StringTokenizer stringTokenizer = new StringTokenizer(greek, " ");
-        while(stringTokenizer.hasMoreTokens()) {
-            final String word = stringTokenizer.nextToken();
-            stringBuilder.append(toGreeklishWord(word, withAccents)).append(" ");
+        final StringBuilder stringBuilder = new StringBuilder(greek.length() + 16);
+        toGreeklish(greek, withAccents, stringBuilder);
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Converts a text given in Greek into Greeklish, appending the result to the given builder. It produces the same
+     * text as {@link #toGreeklish(String, boolean)}, without allocating any intermediate objects. To convert a slice
+     * of a larger buffer, pass it as a {@link java.nio.CharBuffer}, which can be reused by updating its position and
+     * limit.
+     *
+     * @see #toGreeklish(String, boolean)
+     *
+     * @param greek the original text, expressed in the Greek character set
+     * @param withAccents indicates whether the resulting text will have accents
+     * @param greeklish the builder where the converted text, expressed in the Latin character set, is appended
+     */
+    public static void toGreeklish(final CharSequence greek, final boolean withAccents, final StringBuilder greeklish) {
+        try {
+            toGreeklish(greek, withAccents, (Appendable) greeklish);
+        } catch (IOException ioe) {
+            throw new AssertionError("StringBuilder does not throw IOException", ioe);
         }
-        return stringBuilder.toString().trim();
     }
 
     /**
-     * Converts a word given in Greek into Greeklish (i.e. the equivalent word expressed in the Latin character set).
-     * If withAccents is set to true, it converts accents as well, i.e. "Κόσμος" is converted to "Kósmos".
+     * Converts a text given in Greek into Greeklish, appending the result to the given appendable. It produces the
+     * same text as {@link #toGreeklish(String, boolean)}, without allocating any intermediate objects.
      *
-     * @see #toGreeklish(String)
+     * @see #toGreeklish(CharSequence, boolean, StringBuilder)
      *
-     * @param greekWord the original word, expressed in the Greek character set
+     * @param greek the original text, expressed in the Greek character set
      * @param withAccents indicates whether the resulting text will have accents
-     * @return the converted text, expressed in the Latin character set
+     * @param greeklish where the converted text, expressed in the Latin character set, is appended
+     * @throws IOException if appending to greeklish fails
      */
-    public static String toGreeklishWord(final String greekWord, final boolean withAccents) {
-        // handle words that match any of the exceptions
-        if(withAccents && exceptionsWithAccentsNotes_1_2.containsKey(greekWord)) return exceptionsWithAccentsNotes_1_2.get(greekWord)[0];
-        if(exceptionsNotes_1_2.containsKey(greekWord)) return exceptionsNotes_1_2.get(greekWord)[0];
-
-        String greeklishWord = greekWord;
-        // handle words starting with ΜΠ, Μπ, μπ
-        {
-            if(greeklishWord.startsWith("ΜΠ")) greeklishWord = greeklishWord.replace("ΜΠ", "B");
-            else if(greeklishWord.startsWith("Μπ")) greeklishWord = greeklishWord.replace("Μπ", "B");
-            else if(greeklishWord.startsWith("μπ")) greeklishWord = greeklishWord.replace("μπ", "b");
+    public static void toGreeklish(final CharSequence greek, final boolean withAccents, final Appendable greeklish) throws IOException {
+        final GreeklishListener listener = Greeklish.listener;
+        if(listener == null) {
+            getTransliterator(withAccents).transliterate(greek, greeklish);
+            return;
         }
-        // handle exceptional cases under notes 1, 2 - with accents ...
-        if(withAccents) {
-            final Set<String> exceptionKeys = exceptionsWithAccentsNotes_1_2.keySet();
-            for(final String exceptionKey : exceptionKeys) {
-                final String [] exceptionValues = exceptionsWithAccentsNotes_1_2.get(exceptionKey);
-                assert exceptionValues != null;
-                int index;
-                while((index = greeklishWord.indexOf(exceptionKey)) != -1) {
-                    final boolean endOfWord = index == greeklishWord.length() - exceptionKey.length() - 1;
-                    final boolean note1 = !endOfWord && checkNote1(greeklishWord.charAt(index + exceptionKey.length()));
-                    greeklishWord = greeklishWord.replaceAll(exceptionKey, note1 ? exceptionValues[0] : exceptionValues[1]);
-                }
-            }
+        final long start = System.nanoTime();
+        final int numOfWords;
+        final int outputLength;
+        if(greeklish instanceof StringBuilder) {
+            final int length = ((StringBuilder) greeklish).length();
+            numOfWords = transliterate(getEngine(withAccents), greek, 0, greek.length(), greeklish);
+            outputLength = ((StringBuilder) greeklish).length() - length;
+        } else {
+            final CountingAppendable counting = new CountingAppendable(greeklish);
+            numOfWords = transliterate(getEngine(withAccents), greek, 0, greek.length(), counting);
+            outputLength = counting.count;
         }
-        // ... and then handle base cases
-        {
-            final Set<String> exceptionKeys = exceptionsNotes_1_2.keySet();
-            for(final String exceptionKey : exceptionKeys) {
-                final String [] exceptionValues = exceptionsNotes_1_2.get(exceptionKey);
-                assert exceptionValues != null;
-                int index;
-                while((index = greeklishWord.indexOf(exceptionKey)) != -1) {
-                    final boolean endOfWord = greeklishWord.length() == exceptionKey.length() || index == greeklishWord.length() - exceptionKey.length() - 1;
-                    final boolean note1 = !endOfWord && checkNote1(greeklishWord.charAt(index + exceptionKey.length()));
-                    greeklishWord = greeklishWord.replaceAll(exceptionKey, note1 ? exceptionValues[0] : exceptionValues[1]);
-                }
+        listener.operationCompleted(GreeklishListener.Operation.TO_GREEKLISH, greek.length(), outputLength, numOfWords,
+                System.nanoTime() - start);
+    }
+
+    /**
+     * Converts a text given in Greek into Greeklish, appending the result to the given builder, and records in the
+     * given alignment the offset in the original text of each character of the result, e.g. to highlight in the
+     * original text a match found in the converted text. The alignment is produced in the same pass.
+     *
+     * @see Transliterator#transliterate(CharSequence, StringBuilder, OffsetAlignment)
+     *
+     * @param greek the original text, expressed in the Greek character set
+     * @param withAccents indicates whether the resulting text will have accents
+     * @param greeklish the builder where the converted text, expressed in the Latin character set, is appended
+     * @param alignment where the offsets of the converted text in the original text are recorded
+     */
+    public static void toGreeklish(final CharSequence greek, final boolean withAccents, final StringBuilder greeklish,
+                                   final OffsetAlignment alignment) {
+        getTransliterator(withAccents).transliterate(greek, greeklish, alignment);
+    }
+
+    /**
+     * Converts the words found in text between start and end (see {@link WordTokenizer}), appending them to out
+     * together with the characters between them, so that the spacing and the punctuation of the text are kept.
+     *
+     * @return the number of words converted
+     */
+    static int transliterate(final WordTransliterator wordTransliterator, final CharSequence text,
+                             final int start, final int end, final Appendable out) throws IOException {
+        int numOfWords = 0;
+        int i = start;
+        while(i < end) {
+            final char c = text.charAt(i);
+            if(!WordTokenizer.isWordCharacter(c)) {
+                wordTransliterator.transliterateSeparator(c, out);
+                i++;
+                continue;
             }
+            final int wordEnd = WordTokenizer.nextBoundary(text, i + 1, end);
+            wordTransliterator.transliterateWord(text, i, wordEnd, out);
+            numOfWords++;
+            i = wordEnd;
         }
-        // next handle exceptional cases - with accents ...
-        if(withAccents) {
-            final Set<String> exceptionKeys = exceptionsWithAccents.keySet();
-            for(final String exceptionKey : exceptionKeys) {
-                final String exceptionValue = exceptionsWithAccents.get(exceptionKey);
-                assert exceptionValue != null;
-                greeklishWord = greeklishWord.replaceAll(exceptionKey, exceptionValue);
-            }
+        return numOfWords;
+    }
+
+    /**
+     * Counts the characters appended to another appendable, for the listener.
+     */
+    private static final class CountingAppendable implements Appendable {
+        private final Appendable out;
+        private int count = 0;
+
+        private CountingAppendable(final Appendable out) {
+            this.out = out;
         }
-        // ... and then handle base cases
-        {
-            final Set<String> exceptionKeys = exceptions.keySet();
-            for(final String exceptionKey : exceptionKeys) {
-                final String exceptionValue = exceptions.get(exceptionKey);
-                assert exceptionValue != null;
-                greeklishWord = greeklishWord.replaceAll(exceptionKey, exceptionValue);
-            }
+
+        @Override
+        public Appendable append(final CharSequence text) throws IOException {
+            final CharSequence appended = text == null ? "null" : text;
+            out.append(appended);
+            count += appended.length();
+            return this;
         }
-        // next handle special letters if all caps
-        final boolean isAllCaps = isGreekWordInAllCaps(greekWord);
-        if(isAllCaps) {
-            final Set<String> exceptionAllCapsKeys = exceptionsAllCaps.keySet();
-            for(final String exceptionKey : exceptionAllCapsKeys) {
-                final String exceptionValue = exceptionsAllCaps.get(exceptionKey);
-                assert exceptionValue != null;
-                greeklishWord = greeklishWord.replaceAll(exceptionKey, exceptionValue);
-            }
+
+        @Override
+        public Appendable append(final CharSequence text, final int start, final int end) throws IOException {
+            out.append(text, start, end);
+            count += end - start;
+            return this;
         }
-        // finally handle all other letters - with accents ...
-        if(withAccents) {
-            final Set<String> mappingKeys = mappingWithAccents.keySet();
-            for(final String mappingKey : mappingKeys) {
-                final String mappingValue = mappingWithAccents.get(mappingKey);
-                assert mappingValue != null;
-                greeklishWord = greeklishWord.replaceAll(mappingKey, mappingValue);
-            }
+
+        @Override
+        public Appendable append(final char c) throws IOException {
+            out.append(c);
+            count++;
+            return this;
         }
-        // ... and then all base cases
-        {
-            final Set<String> mappingKeys = mappingBase.keySet();
-            for(final String mappingKey : mappingKeys) {
-                final String mappingValue = mappingBase.get(mappingKey);
-                assert mappingValue != null;
-                greeklishWord = greeklishWord.replaceAll(mappingKey, mappingValue);
-            }
+    }
+
+    /**
+     * Converts a text given in Greek into Greeklish, reading it from the given reader and writing the result to the
+     * given writer. It works in bounded memory, so it can be used to convert inputs of any size, and it
+     * produces the same text as {@link #toGreeklish(String, boolean)}.
+     *
+     * Neither the reader nor the writer are closed, but the writer is flushed.
+     *
+     * @see GreeklishReader
+     * @see GreeklishWriter
+     *
+     * @param greek the reader providing the original text, expressed in the Greek character set
+     * @param greeklish the writer receiving the converted text, expressed in the Latin character set
+     * @param withAccents indicates whether the resulting text will have accents
+     * @throws IOException if reading or writing fails
+     */
+    public static void toGreeklish(final Reader greek, final Writer greeklish, final boolean withAccents) throws IOException {
+        final char [] buffer = new char[StreamingTransliterator.DEFAULT_BUFFER_SIZE];
+        final StreamingTransliterator transliterator = new StreamingTransliterator(getEngine(withAccents), buffer.length);
+        final StringBuilder converted = new StringBuilder();
+        int count;
+        while((count = greek.read(buffer, 0, buffer.length)) != -1) {
+            transliterator.write(buffer, 0, count, converted);
+            greeklish.append(converted);
+            converted.setLength(0);
+        }
+        transliterator.finish(converted);
+        greeklish.append(converted);
+        greeklish.flush();
+    }
+
+    /**
+     * Converts many texts given in Greek into Greeklish in parallel, using the common {@link ForkJoinPool}. Each text
+     * is converted as with {@link #toGreeklish(String, boolean)}.
+     *
+     * @param greek the original texts, expressed in the Greek character set
+     * @param withAccents indicates whether the resulting texts will have accents
+     * @return the converted texts, in the same order
+     */
+    public static String [] toGreeklish(final String [] greek, final boolean withAccents) {
+        return toGreeklish(greek, withAccents, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Converts many texts given in Greek into Greeklish in parallel, using the given {@link ForkJoinPool}.
+     *
+     * @see #toGreeklish(String[], boolean)
+     *
+     * @param greek the original texts, expressed in the Greek character set
+     * @param withAccents indicates whether the resulting texts will have accents
+     * @param pool the pool running the conversion
+     * @return the converted texts, in the same order
+     */
+    public static String [] toGreeklish(final String [] greek, final boolean withAccents, final ForkJoinPool pool) {
+        return BulkTransliteration.toGreeklish(greek, withAccents, pool);
+    }
+
+    /**
+     * Converts many texts given in Greek into Greeklish in parallel, using the common {@link ForkJoinPool}. Each text
+     * is converted as with {@link #toGreeklish(String, boolean)}.
+     *
+     * @param greek the original texts, expressed in the Greek character set
+     * @param withAccents indicates whether the resulting texts will have accents
+     * @return a fixed-size list with the converted texts, in the same order
+     */
+    public static List<String> toGreeklish(final List<String> greek, final boolean withAccents) {
+        return toGreeklish(greek, withAccents, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Converts many texts given in Greek into Greeklish in parallel, using the given {@link ForkJoinPool}.
+     *
+     * @see #toGreeklish(List, boolean)
+     *
+     * @param greek the original texts, expressed in the Greek character set
+     * @param withAccents indicates whether the resulting texts will have accents
+     * @param pool the pool running the conversion
+     * @return a fixed-size list with the converted texts, in the same order
+     */
+    public static List<String> toGreeklish(final List<String> greek, final boolean withAccents, final ForkJoinPool pool) {
+        return Arrays.asList(BulkTransliteration.toGreeklish(greek.toArray(new String[0]), withAccents, pool));
+    }
+
+    /**
+     * Converts a large text given in Greek into Greeklish in parallel, using the common {@link ForkJoinPool}. The text
+     * is only split between words, so the result is the same as with {@link #toGreeklish(String, boolean)}.
+     *
+     * @param greek the original text, expressed in the Greek character set
+     * @param withAccents indicates whether the resulting text will have accents
+     * @return the converted text, expressed in the Latin character set
+     */
+    public static String toGreeklishParallel(final CharSequence greek, final boolean withAccents) {
+        return toGreeklishParallel(greek, withAccents, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Converts a large text given in Greek into Greeklish in parallel, using the given {@link ForkJoinPool}.
+     *
+     * @see #toGreeklishParallel(CharSequence, boolean)
+     *
+     * @param greek the original text, expressed in the Greek character set
+     * @param withAccents indicates whether the resulting text will have accents
+     * @param pool the pool running the conversion
+     * @return the converted text, expressed in the Latin character set
+     */
+    public static String toGreeklishParallel(final CharSequence greek, final boolean withAccents, final ForkJoinPool pool) {
+        return BulkTransliteration.toGreeklish(greek, withAccents, pool);
+    }
+
+    /**
+     * Returns a stream of the words of the given text, converted into Greeklish as they are consumed. Words are
+     * separated by any whitespace or punctuation (see {@link WordTokenizer}), which is not part of the stream, and the
+     * stream is only split between words, so the word-level rules still apply when it is processed in parallel.
+     *
+     * @param greek the original text, expressed in the Greek character set
+     * @param withAccents indicates whether the resulting words will have accents
+     * @param parallel indicates whether the returned stream is parallel
+     * @return an ordered stream of the converted words
+     */
+    public static Stream<String> toGreeklishWords(final CharSequence greek, final boolean withAccents, final boolean parallel) {
+        return StreamSupport.stream(new BulkTransliteration.WordSpliterator(greek, getEngine(withAccents), 0, greek.length()), parallel);
+    }
+
+    /**
+     * Converts a word given in Greek into Greeklish (i.e. the equivalent word expressed in the Latin character set).
+     * If withAccents is set to true, it converts accents as well, i.e. "Κόσμος" is converted to "Kósmos".
+     *
+     * @see #toGreeklish(String)
+     *
+     * @param greekWord the original word, expressed in the Greek character set
+     * @param withAccents indicates whether the resulting text will have accents
+     * @return the converted text, expressed in the Latin character set
+     */
+    public static String toGreeklishWord(final String greekWord, final boolean withAccents) {
+        final StringBuilder stringBuilder = new StringBuilder(greekWord.length() + 8);
+        toGreeklishWord(greekWord, withAccents, stringBuilder);
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Converts a word given in Greek into Greeklish, appending the result to the given builder, without allocating
+     * any intermediate objects.
+     *
+     * @see #toGreeklishWord(String, boolean)
+     *
+     * @param greekWord the original word, expressed in the Greek character set
+     * @param withAccents indicates whether the resulting text will have accents
+     * @param greeklishWord the builder where the converted word, expressed in the Latin character set, is appended
+     */
+    public static void toGreeklishWord(final CharSequence greekWord, final boolean withAccents, final StringBuilder greeklishWord) {
+        final GreeklishListener listener = Greeklish.listener;
+        if(listener == null) {
+            getTransliterator(withAccents).transliterateWord(greekWord, greeklishWord);
+            return;
         }
+        final long start = System.nanoTime();
+        final int length = greeklishWord.length();
+        getTransliterator(withAccents).transliterateWord(greekWord, greeklishWord);
+        listener.operationCompleted(GreeklishListener.Operation.TO_GREEKLISH_WORD, greekWord.length(),
+                greeklishWord.length() - length, 1, System.nanoTime() - start);
+    }
+
+    /**
+     * Converts a text given in Greeklish (i.e. Greek text expressed in the Latin character set according to ISO 843)
+     * back into Greek. For example, "Kosmos" is converted to "Κοσμος", and "Kósmos" to "Κόσμος". Words are separated by
+     * any whitespace or punctuation, which is kept as it is, as with {@link #toGreeklish(String)}.
+     *
+     * The transliteration without accents loses some information, e.g. both "ι" and "η" are converted to "i", so in
+     * that case the most frequent letter is chosen ("ι"). Text converted with accents is converted back exactly, except
+     * in rare cases such as "αυ" before a vowel.
+     *
+     * @param greeklish the original text, expressed in the Latin character set
+     * @return the converted text, expressed in the Greek character set
+     */
+    public static String toGreek(final String greeklish) {
+        final StringBuilder stringBuilder = new StringBuilder(greeklish.length());
+        toGreek(greeklish, stringBuilder);
+        return stringBuilder.toString();
+    }
 
-        return greeklishWord;
+    /**
+     * Converts a text given in Greeklish back into Greek, appending the result to the given builder.
+     *
+     * @see #toGreek(String)
+     *
+     * @param greeklish the original text, expressed in the Latin character set
+     * @param greek the builder where the converted text, expressed in the Greek character set, is appended
+     */
+    public static void toGreek(final CharSequence greeklish, final StringBuilder greek) {
+        try {
+            transliterate(ReverseEngine.ENGINE, greeklish, 0, greeklish.length(), greek);
+        } catch (IOException ioe) {
+            throw new AssertionError("StringBuilder does not throw IOException", ioe);
+        }
     }
 
     /**
@@ -327,45 +481,120 @@ public class Greeklish {
      * @return true if and only if a given Greek word is in all-capital letters
      */
     public static boolean isGreekWordInAllCaps(final String greekWord) {
-        final char [] characters = greekWord.toCharArray();
-        for(final char c : characters) {
-            if(ALL_GREEK_LOWERCASE_LETTERS.indexOf(c) != -1) return false;
+        return isGreekWordInAllCaps(greekWord, 0, greekWord.length());
+    }
+
+    static boolean isGreekWordInAllCaps(final CharSequence text, final int start, final int end) {
+        for(int i = start; i < end; i++) {
+            if(GreekCharClass.isLower(text.charAt(i))) return false;
         }
         return true;
     }
 
-    private static final Map<Character,Character> ACCENTS_TO_PLAIN_GREEK_LOWERCASE = new HashMap<>();
-    static {
-        ACCENTS_TO_PLAIN_GREEK_LOWERCASE.put('ά', 'α');
-        ACCENTS_TO_PLAIN_GREEK_LOWERCASE.put('έ', 'ε');
-        ACCENTS_TO_PLAIN_GREEK_LOWERCASE.put('ή', 'η');
-        ACCENTS_TO_PLAIN_GREEK_LOWERCASE.put('ί', 'ι');
-        ACCENTS_TO_PLAIN_GREEK_LOWERCASE.put('ϊ', 'ι');
-        ACCENTS_TO_PLAIN_GREEK_LOWERCASE.put('ΐ', 'ι');
-        ACCENTS_TO_PLAIN_GREEK_LOWERCASE.put('ό', 'ο');
-        ACCENTS_TO_PLAIN_GREEK_LOWERCASE.put('ύ', 'υ');
-        ACCENTS_TO_PLAIN_GREEK_LOWERCASE.put('ϋ', 'υ');
-        ACCENTS_TO_PLAIN_GREEK_LOWERCASE.put('ΰ', 'υ');
-        ACCENTS_TO_PLAIN_GREEK_LOWERCASE.put('ώ', 'ω');
+    // which letters have their accents removed
+    private static final int ANY_CASE = 0;
+    private static final int LOWERCASE = 1;
+    private static final int UPPERCASE = 2;
+
+    /**
+     * @return true if the accents of the given character are removed, including any combining marks after it
+     */
+    private static boolean hasAccentsRemoved(final int letterCase, final char c) {
+        switch (letterCase) {
+            case LOWERCASE: return GreekCharClass.isLower(c);
+            case UPPERCASE: return GreekCharClass.isUpper(c);
+            default: return GreekCharClass.isGreek(c);
+        }
+    }
+
+    private static char removeAccent(final int letterCase, final char c) {
+        switch (letterCase) {
+            case LOWERCASE: return GreekCharClass.isLower(c) ? GreekCharClass.stripAccent(c) : c;
+            case UPPERCASE: return GreekCharClass.isUpper(c) ? GreekCharClass.stripAccent(c) : c;
+            default: return GreekCharClass.stripAccent(c);
+        }
+    }
+
+    /**
+     * @return true if the character at index i is a combining mark of a letter whose accents are removed, e.g. the
+     * combining acute accent of a decomposed (NFD) "ά"
+     */
+    private static boolean isRemovedMark(final int letterCase, final CharSequence text, final int i) {
+        if(!GreekCharClass.isCombiningMark(text.charAt(i))) return false;
+        int letter = i - 1;
+        while(letter >= 0 && GreekCharClass.isCombiningMark(text.charAt(letter))) letter--;
+        return letter >= 0 && hasAccentsRemoved(letterCase, text.charAt(letter));
+    }
+
+    private static String removeAccents(final int letterCase, final String text) {
+        final GreeklishListener listener = Greeklish.listener;
+        if(listener == null) return removeAccentsFromString(letterCase, text);
+        final long start = System.nanoTime();
+        final String result = removeAccentsFromString(letterCase, text);
+        listener.operationCompleted(GreeklishListener.Operation.REMOVE_ACCENTS, text.length(), result.length(), 0,
+                System.nanoTime() - start);
+        return result;
+    }
+
+    private static String removeAccentsFromString(final int letterCase, final String text) {
+        final int length = text.length();
+        int i = 0;
+        while(i < length && removeAccent(letterCase, text.charAt(i)) == text.charAt(i) && !isRemovedMark(letterCase, text, i)) i++;
+        if(i == length) return text; // nothing to change
+        final StringBuilder stringBuilder = new StringBuilder(length);
+        stringBuilder.append(text, 0, i);
+        removeAccents(letterCase, text, i, stringBuilder);
+        return stringBuilder.toString();
+    }
+
+    private static void removeAccents(final int letterCase, final CharSequence text, final int start, final StringBuilder out) {
+        try {
+            removeAccents(letterCase, text, start, (Appendable) out);
+        } catch (IOException ioe) {
+            throw new AssertionError("StringBuilder does not throw IOException", ioe);
+        }
+    }
+
+    /**
+     * Removes the accents in a single pass: precomposed letters, including polytonic ones, are looked up in the table
+     * of {@link GreekCharClass#stripAccent(char)}, and the combining marks after them are skipped.
+     */
+    private static void removeAccents(final int letterCase, final CharSequence text, final int start, final Appendable out) throws IOException {
+        final int length = text.length();
+        for(int i = start; i < length; i++) {
+            final char c = text.charAt(i);
+            if(!GreekCharClass.isCombiningMark(c)) out.append(removeAccent(letterCase, c));
+            else if(!isRemovedMark(letterCase, text, i)) out.append(c);
+        }
     }
 
-    private static final Map<Character,Character> ACCENTS_TO_PLAIN_GREEK_UPPERCASE = new HashMap<>();
-    static {
-        ACCENTS_TO_PLAIN_GREEK_UPPERCASE.put('Ά', 'Α');
-        ACCENTS_TO_PLAIN_GREEK_UPPERCASE.put('Έ', 'Ε');
-        ACCENTS_TO_PLAIN_GREEK_UPPERCASE.put('Ή', 'Η');
-        ACCENTS_TO_PLAIN_GREEK_UPPERCASE.put('Ί', 'Ι');
-        ACCENTS_TO_PLAIN_GREEK_UPPERCASE.put('Ϊ', 'Ι');
-        ACCENTS_TO_PLAIN_GREEK_UPPERCASE.put('Ό', 'Ο');
-        ACCENTS_TO_PLAIN_GREEK_UPPERCASE.put('Ύ', 'Υ');
-        ACCENTS_TO_PLAIN_GREEK_UPPERCASE.put('Ϋ', 'Υ');
-        ACCENTS_TO_PLAIN_GREEK_UPPERCASE.put('Ώ', 'Ω');
+    private static void removeAccents(final int letterCase, final CharSequence text, final StringBuilder out) {
+        try {
+            removeAccents(letterCase, text, (Appendable) out);
+        } catch (IOException ioe) {
+            throw new AssertionError("StringBuilder does not throw IOException", ioe);
+        }
     }
 
-    private static final Map<Character,Character> ACCENTS_TO_PLAIN_GREEK = new HashMap<>();
-    static {
-        ACCENTS_TO_PLAIN_GREEK.putAll(ACCENTS_TO_PLAIN_GREEK_LOWERCASE);
-        ACCENTS_TO_PLAIN_GREEK.putAll(ACCENTS_TO_PLAIN_GREEK_UPPERCASE);
+    private static void removeAccents(final int letterCase, final CharSequence text, final Appendable out) throws IOException {
+        final GreeklishListener listener = Greeklish.listener;
+        if(listener == null) {
+            removeAccents(letterCase, text, 0, out);
+            return;
+        }
+        final long start = System.nanoTime();
+        final int outputLength;
+        if(out instanceof StringBuilder) {
+            final int length = ((StringBuilder) out).length();
+            removeAccents(letterCase, text, 0, out);
+            outputLength = ((StringBuilder) out).length() - length;
+        } else {
+            final CountingAppendable counting = new CountingAppendable(out);
+            removeAccents(letterCase, text, 0, counting);
+            outputLength = counting.count;
+        }
+        listener.operationCompleted(GreeklishListener.Operation.REMOVE_ACCENTS, text.length(), outputLength, 0,
+                System.nanoTime() - start);
     }
 
     /**
@@ -375,15 +604,31 @@ public class Greeklish {
      * This can be useful when you are searching in text.
      *
      * @param greekLowercaseTextWithAccents the lower-case text in Greek, which includes accents
-     * @return the equivalent text in Greek, without accents
+     * @return the equivalent text in Greek, without accents; this is the given instance if it has no accents
      */
     public static String removeAccentsLowercase(final String greekLowercaseTextWithAccents) {
-        final StringBuilder greekLowercaseTextWithoutAccents = new StringBuilder();
-        for(final char c : greekLowercaseTextWithAccents.toCharArray()) {
-            final Character cWithoutAccent = ACCENTS_TO_PLAIN_GREEK_LOWERCASE.get(c);
-            greekLowercaseTextWithoutAccents.append(cWithoutAccent == null ? c : cWithoutAccent);
-        }
-        return greekLowercaseTextWithoutAccents.toString();
+        return removeAccents(LOWERCASE, greekLowercaseTextWithAccents);
+    }
+
+    /**
+     * Same as {@link #removeAccentsLowercase(String)}, but appends the result to the given builder.
+     *
+     * @param greekLowercaseTextWithAccents the lower-case text in Greek, which includes accents
+     * @param greekLowercaseTextWithoutAccents the builder where the equivalent text without accents is appended
+     */
+    public static void removeAccentsLowercase(final CharSequence greekLowercaseTextWithAccents, final StringBuilder greekLowercaseTextWithoutAccents) {
+        removeAccents(LOWERCASE, greekLowercaseTextWithAccents, greekLowercaseTextWithoutAccents);
+    }
+
+    /**
+     * Same as {@link #removeAccentsLowercase(String)}, but appends the result to the given appendable.
+     *
+     * @param greekLowercaseTextWithAccents the lower-case text in Greek, which includes accents
+     * @param greekLowercaseTextWithoutAccents where the equivalent text without accents is appended
+     * @throws IOException if appending fails
+     */
+    public static void removeAccentsLowercase(final CharSequence greekLowercaseTextWithAccents, final Appendable greekLowercaseTextWithoutAccents) throws IOException {
+        removeAccents(LOWERCASE, greekLowercaseTextWithAccents, greekLowercaseTextWithoutAccents);
     }
 
     /**
@@ -393,15 +638,31 @@ public class Greeklish {
      * This can be useful when you are searching in text.
      *
      * @param greekUppercaseTextWithAccents the upper-case text in Greek, which includes accents
-     * @return the equivalent text in Greek, without accents
+     * @return the equivalent text in Greek, without accents; this is the given instance if it has no accents
      */
     public static String removeAccentsUppercase(final String greekUppercaseTextWithAccents) {
-        final StringBuilder greekUppercaseTextWithoutAccents = new StringBuilder();
-        for(final char c : greekUppercaseTextWithAccents.toCharArray()) {
-            final Character cWithoutAccent = ACCENTS_TO_PLAIN_GREEK_UPPERCASE.get(c);
-            greekUppercaseTextWithoutAccents.append(cWithoutAccent == null ? c : cWithoutAccent);
-        }
-        return greekUppercaseTextWithoutAccents.toString();
+        return removeAccents(UPPERCASE, greekUppercaseTextWithAccents);
+    }
+
+    /**
+     * Same as {@link #removeAccentsUppercase(String)}, but appends the result to the given builder.
+     *
+     * @param greekUppercaseTextWithAccents the upper-case text in Greek, which includes accents
+     * @param greekUppercaseTextWithoutAccents the builder where the equivalent text without accents is appended
+     */
+    public static void removeAccentsUppercase(final CharSequence greekUppercaseTextWithAccents, final StringBuilder greekUppercaseTextWithoutAccents) {
+        removeAccents(UPPERCASE, greekUppercaseTextWithAccents, greekUppercaseTextWithoutAccents);
+    }
+
+    /**
+     * Same as {@link #removeAccentsUppercase(String)}, but appends the result to the given appendable.
+     *
+     * @param greekUppercaseTextWithAccents the upper-case text in Greek, which includes accents
+     * @param greekUppercaseTextWithoutAccents where the equivalent text without accents is appended
+     * @throws IOException if appending fails
+     */
+    public static void removeAccentsUppercase(final CharSequence greekUppercaseTextWithAccents, final Appendable greekUppercaseTextWithoutAccents) throws IOException {
+        removeAccents(UPPERCASE, greekUppercaseTextWithAccents, greekUppercaseTextWithoutAccents);
     }
 
     /**
@@ -411,15 +672,31 @@ public class Greeklish {
      * This can be useful when you are searching in text.
      *
      * @param greekTextWithAccents the any-case text in Greek, which includes accents
-     * @return the equivalent text in Greek, without accents
+     * @return the equivalent text in Greek, without accents; this is the given instance if it has no accents
      */
     public static String removeAccents(final String greekTextWithAccents) {
-        final StringBuilder greekTextWithoutAccents = new StringBuilder();
-        for(final char c : greekTextWithAccents.toCharArray()) {
-            final Character cWithoutAccent = ACCENTS_TO_PLAIN_GREEK.get(c);
-            greekTextWithoutAccents.append(cWithoutAccent == null ? c : cWithoutAccent);
-        }
-        return greekTextWithoutAccents.toString();
+        return removeAccents(ANY_CASE, greekTextWithAccents);
+    }
+
+    /**
+     * Same as {@link #removeAccents(String)}, but appends the result to the given builder.
+     *
+     * @param greekTextWithAccents the any-case text in Greek, which includes accents
+     * @param greekTextWithoutAccents the builder where the equivalent text without accents is appended
+     */
+    public static void removeAccents(final CharSequence greekTextWithAccents, final StringBuilder greekTextWithoutAccents) {
+        removeAccents(ANY_CASE, greekTextWithAccents, greekTextWithoutAccents);
+    }
+
+    /**
+     * Same as {@link #removeAccents(String)}, but appends the result to the given appendable.
+     *
+     * @param greekTextWithAccents the any-case text in Greek, which includes accents
+     * @param greekTextWithoutAccents where the equivalent text without accents is appended
+     * @throws IOException if appending fails
+     */
+    public static void removeAccents(final CharSequence greekTextWithAccents, final Appendable greekTextWithoutAccents) throws IOException {
+        removeAccents(ANY_CASE, greekTextWithAccents, greekTextWithoutAccents);
     }
 
     /**
@@ -427,11 +704,9 @@ public class Greeklish {
      *
      * @param text the text to be checked
      * @return true if and only if the given text contains at least one character from the Greek character set
+     * @see GreekScanner
      */
     public static boolean containsGreek(final String text) {
-        for(final char c : text.toCharArray()) {
-            if(ALL_GREEK_LETTERS.indexOf(c) > -1) return true;
-        }
-        return false;
+        return GreekScanner.containsGreek(text);
     }
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.aspectsense.greektools;
+
+/**
+ * Tells Greeklish from English in Latin text, e.g. to decide whether a message should be converted back to Greek
+ * with {@link Greeklish#toGreek(String)} or searched as Greeklish. {@link Greeklish#containsGreek(String)} only finds
+ * Greek letters, whereas both Greeklish and English are written with Latin letters.
+ *
+ * The text is scored with the character trigrams of its words: each trigram has the logarithm of the ratio between
+ * its probabilities in Greeklish and in English, and the score of the text is the average over its trigrams, including
+ * the ones with the boundaries of the words. The probabilities are computed at build time from a Greek sample,
+ * transliterated with the ISO 843 tables, and from an English sample (see src/main/tables), and are kept in a byte
+ * array. Scoring makes a single pass over the text and does not allocate (see GreeklishDetectorBenchmark in
+ * src/jmh for its throughput).
+ *
+ * For example:
+ * <pre>{@code
+ * GreeklishDetector.isGreeklish("Kalimera, ti kaneis?"); // true
+ * GreeklishDetector.isGreeklish("Good morning, how are you?"); // false
+ * }</pre>
+ *
+ * Only the Latin letters from 'a' to 'z', in either case, are scored; any other characters separate words. Texts
+ * following informal spellings which are close to ISO 843 are scored as Greeklish as well.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public final class GreeklishDetector {
+
+    private static final int ALPHABET = GreeklishTables.TRIGRAM_ALPHABET;
+    private static final double SCALE = GreeklishTables.TRIGRAM_SCALE;
+
+    // the scores of the trigrams, in sixteenths of a natural logarithm
+    private static final byte [] SCORES = new byte[ALPHABET * ALPHABET * ALPHABET];
+    // 1 to 26 for the Latin letters, and 0 for the other ASCII characters
+    private static final byte [] LETTERS = new byte[128];
+
+    static {
+        final String scores = GreeklishTables.TRIGRAM_SCORES;
+        for(int i = 0; i < SCORES.length; i++) SCORES[i] = (byte) (scores.charAt(i) - GreeklishTables.TRIGRAM_SCORE_OFFSET);
+        for(char c = 'a'; c <= 'z'; c++) {
+            LETTERS[c] = (byte) (c - 'a' + 1);
+            LETTERS[Character.toUpperCase(c)] = (byte) (c - 'a' + 1);
+        }
+    }
+
+    private GreeklishDetector() {}
+
+    /**
+     * @param text the text to be checked
+     * @return true if and only if the given text is more likely Greeklish than English, i.e. its score is positive
+     */
+    public static boolean isGreeklish(final CharSequence text) {
+        return score(text, 0, text.length()) > 0;
+    }
+
+    /**
+     * @param text the text to be scored
+     * @return the score of the given text, see {@link #score(CharSequence, int, int)}
+     */
+    public static double score(final CharSequence text) {
+        return score(text, 0, text.length());
+    }
+
+    /**
+     * Scores the characters of the given text between start (inclusive) and end (exclusive). The score is the average
+     * log-likelihood ratio of Greeklish against English per trigram: positive scores favour Greeklish and negative
+     * ones English. Being an average, the score does not grow with the length of the text, but it is more reliable
+     * for longer texts, as it varies less around its expected value.
+     *
+     * @param text the text to be scored
+     * @param start the index of the first character to be scored
+     * @param end the index after the last character to be scored
+     * @return the score of the given range, or 0 if it contains no Latin letters
+     */
+    public static double score(final CharSequence text, final int start, final int end) {
+        int sum = 0;
+        int count = 0;
+        // the previous two letters, 0 at the start of a word
+        int previous = 0;
+        int current = 0;
+        for(int i = start; i < end; i++) {
+            final char c = text.charAt(i);
+            final int letter = c < LETTERS.length ? LETTERS[c] : 0;
+            if(letter == 0 && current == 0) continue; // not in a word
+            sum += SCORES[(previous * ALPHABET + current) * ALPHABET + letter];
+            count++;
+            previous = letter == 0 ? 0 : current;
+            current = letter;
+        }
+        if(current != 0) { // the end of the last word
+            sum += SCORES[(previous * ALPHABET + current) * ALPHABET];
+            count++;
+        }
+        return count == 0 ? 0 : sum / (count * SCALE);
+    }
+}
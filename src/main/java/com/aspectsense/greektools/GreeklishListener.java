@@ -0,0 +1,61 @@
+package com.aspectsense.greektools;
+
+/**
+ * Receives the operations of {@link Greeklish} as they complete, e.g. to collect metrics in production without
+ * wrapping every call site, when installed with {@link Greeklish#setListener(GreeklishListener)}. No listener is
+ * installed by default, and then the operations only check for one, which costs close to nothing.
+ *
+ * The methods are called on the threads running the operations, so implementations must be thread-safe and fast.
+ * {@link GreeklishMetrics} is an implementation which aggregates everything with lock-free counters and histograms.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public interface GreeklishListener {
+
+    /**
+     * The operations which are reported, i.e. the methods of {@link Greeklish} for single texts, with any type of
+     * output.
+     */
+    enum Operation {
+        /** {@link Greeklish#toGreeklish(String, boolean)}, with or without accents */
+        TO_GREEKLISH,
+        /** {@link Greeklish#toGreeklishWord(String, boolean)}, with or without accents */
+        TO_GREEKLISH_WORD,
+        /** {@link Greeklish#removeAccents(String)}, as well as the lowercase and uppercase versions */
+        REMOVE_ACCENTS
+    }
+
+    /**
+     * The families of the transliteration rules, apart from the single letter mappings.
+     */
+    enum RuleFamily {
+        /** the rules for the start of a word, e.g. "ΜΠ" to "B" */
+        WORD_INITIAL,
+        /** the digraphs of notes 1 and 2, e.g. "αυ" to "av" or "af" */
+        NOTES_1_2,
+        /** the other digraphs, e.g. "ου" to "ou" and "γγ" to "ng" */
+        EXCEPTIONS,
+        /** the mappings of words in all caps, e.g. "Θ" to "TH" */
+        ALL_CAPS
+    }
+
+    /**
+     * Called when an operation completes, unless it throws an exception.
+     *
+     * @param operation the operation
+     * @param inputLength the number of characters of the input
+     * @param outputLength the number of characters of the output
+     * @param numOfWords the number of words transliterated, or 0 for {@link Operation#REMOVE_ACCENTS}
+     * @param nanos the duration of the operation, in nanoseconds
+     */
+    void operationCompleted(Operation operation, int inputLength, int outputLength, int numOfWords, long nanos);
+
+    /**
+     * Called every time a rule of the given family is applied in a word converted by the rules, i.e. not by the
+     * {@link NameDictionary} or the {@link WordCache}. Does nothing by default.
+     *
+     * @param ruleFamily the family of the rule
+     */
+    default void ruleApplied(final RuleFamily ruleFamily) {}
+}
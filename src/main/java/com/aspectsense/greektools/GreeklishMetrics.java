@@ -0,0 +1,341 @@
+package com.aspectsense.greektools;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link GreeklishListener} which aggregates, for every operation, the number of calls, the number of characters
+ * of the inputs and the outputs, the number of words and a histogram of the latencies, as well as the number of times
+ * each family of rules was applied. For example:
+ * <pre>{@code
+ * final GreeklishMetrics metrics = new GreeklishMetrics();
+ * Greeklish.setListener(metrics);
+ * metrics.registerMBean(); // optional, to read them with JConsole or any JMX client
+ * ...
+ * metrics.getLatencies(GreeklishListener.Operation.TO_GREEKLISH).getValueAtPercentile(99); // in nanoseconds
+ * }</pre>
+ *
+ * The rule counts cover the words converted by the rules only: with a {@link WordCache} installed, most words are
+ * found in the cache, and their rules are not counted again.
+ *
+ * Recording is lock-free: the counters are {@link LongAdder}s, which do not contend between threads, and the
+ * histograms are arrays of atomic counters. The metrics are also exposed through JMX, as {@link GreeklishMetricsMXBean}.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public final class GreeklishMetrics implements GreeklishListener, GreeklishMetricsMXBean {
+
+    /** The name under which {@link #registerMBean()} registers the metrics. */
+    public static final String OBJECT_NAME = "com.aspectsense.greektools:type=GreeklishMetrics";
+
+    private static final Operation [] OPERATIONS = Operation.values();
+    private static final RuleFamily [] RULE_FAMILIES = RuleFamily.values();
+
+    private final LongAdder [] calls = newAdders(OPERATIONS.length);
+    private final LongAdder [] inputCharacters = newAdders(OPERATIONS.length);
+    private final LongAdder [] outputCharacters = newAdders(OPERATIONS.length);
+    private final LongAdder [] words = newAdders(OPERATIONS.length);
+    private final LatencyHistogram [] latencies = new LatencyHistogram[OPERATIONS.length];
+    private final LongAdder [] rules = newAdders(RULE_FAMILIES.length);
+
+    public GreeklishMetrics() {
+        for(int i = 0; i < latencies.length; i++) latencies[i] = new LatencyHistogram();
+    }
+
+    private static LongAdder [] newAdders(final int size) {
+        final LongAdder [] adders = new LongAdder[size];
+        for(int i = 0; i < size; i++) adders[i] = new LongAdder();
+        return adders;
+    }
+
+    @Override
+    public void operationCompleted(final Operation operation, final int inputLength, final int outputLength,
+                                   final int numOfWords, final long nanos) {
+        final int i = operation.ordinal();
+        calls[i].increment();
+        inputCharacters[i].add(inputLength);
+        outputCharacters[i].add(outputLength);
+        if(numOfWords > 0) words[i].add(numOfWords);
+        latencies[i].record(nanos);
+    }
+
+    @Override
+    public void ruleApplied(final RuleFamily ruleFamily) {
+        rules[ruleFamily.ordinal()].increment();
+    }
+
+    /**
+     * @param operation the operation
+     * @return the number of calls of the given operation
+     */
+    public long getCalls(final Operation operation) {
+        return calls[operation.ordinal()].sum();
+    }
+
+    /**
+     * @param operation the operation
+     * @return the number of characters of the inputs of the given operation
+     */
+    public long getInputCharacters(final Operation operation) {
+        return inputCharacters[operation.ordinal()].sum();
+    }
+
+    /**
+     * @param operation the operation
+     * @return the number of characters of the outputs of the given operation
+     */
+    public long getOutputCharacters(final Operation operation) {
+        return outputCharacters[operation.ordinal()].sum();
+    }
+
+    /**
+     * @param operation the operation
+     * @return the number of words transliterated by the given operation
+     */
+    public long getWords(final Operation operation) {
+        return words[operation.ordinal()].sum();
+    }
+
+    /**
+     * @param operation the operation
+     * @return the histogram of the latencies of the given operation, which keeps being updated
+     */
+    public LatencyHistogram getLatencies(final Operation operation) {
+        return latencies[operation.ordinal()];
+    }
+
+    /**
+     * @param ruleFamily the family of rules
+     * @return the number of times a rule of the given family was applied; as with
+     * {@link GreeklishListener#ruleApplied(RuleFamily)}, only the words converted by the rules are counted, i.e. not
+     * the ones found in the {@link WordCache}, whose hits are counted by {@link WordCache#getHitCount()}
+     */
+    public long getRuleCount(final RuleFamily ruleFamily) {
+        return rules[ruleFamily.ordinal()].sum();
+    }
+
+    @Override
+    public Map<String, Long> getCalls() {
+        return byOperation(calls);
+    }
+
+    @Override
+    public Map<String, Long> getInputCharacters() {
+        return byOperation(inputCharacters);
+    }
+
+    @Override
+    public Map<String, Long> getOutputCharacters() {
+        return byOperation(outputCharacters);
+    }
+
+    @Override
+    public Map<String, Long> getWords() {
+        return byOperation(words);
+    }
+
+    @Override
+    public Map<String, Long> getRuleCounts() {
+        final Map<String, Long> counts = new LinkedHashMap<>();
+        for(final RuleFamily ruleFamily : RULE_FAMILIES) counts.put(ruleFamily.name(), getRuleCount(ruleFamily));
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getLatencyMedianNanos() {
+        return latencyPercentiles(50);
+    }
+
+    @Override
+    public Map<String, Long> getLatency99thPercentileNanos() {
+        return latencyPercentiles(99);
+    }
+
+    @Override
+    public Map<String, Long> getLatencyMaxNanos() {
+        final Map<String, Long> max = new LinkedHashMap<>();
+        for(final Operation operation : OPERATIONS) max.put(operation.name(), getLatencies(operation).getMaxValue());
+        return max;
+    }
+
+    private Map<String, Long> latencyPercentiles(final double percentile) {
+        final Map<String, Long> values = new LinkedHashMap<>();
+        for(final Operation operation : OPERATIONS) values.put(operation.name(), getLatencies(operation).getValueAtPercentile(percentile));
+        return values;
+    }
+
+    private static Map<String, Long> byOperation(final LongAdder [] adders) {
+        final Map<String, Long> values = new LinkedHashMap<>();
+        for(final Operation operation : OPERATIONS) values.put(operation.name(), adders[operation.ordinal()].sum());
+        return values;
+    }
+
+    /**
+     * Resets all the counters and histograms. Operations completing at the same time may be partly counted.
+     */
+    @Override
+    public void reset() {
+        for(int i = 0; i < OPERATIONS.length; i++) {
+            calls[i].reset();
+            inputCharacters[i].reset();
+            outputCharacters[i].reset();
+            words[i].reset();
+            latencies[i].reset();
+        }
+        for(final LongAdder rule : rules) rule.reset();
+    }
+
+    /**
+     * Registers these metrics with the platform MBean server, under {@link #OBJECT_NAME}.
+     *
+     * @throws JMException if the metrics cannot be registered, e.g. because other metrics are registered already
+     */
+    public void registerMBean() throws JMException {
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+    }
+
+    /**
+     * Unregisters the metrics registered under {@link #OBJECT_NAME} from the platform MBean server, if any.
+     *
+     * @throws JMException if the metrics cannot be unregistered
+     */
+    public static void unregisterMBean() throws JMException {
+        final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName objectName = new ObjectName(OBJECT_NAME);
+        if(mBeanServer.isRegistered(objectName)) mBeanServer.unregisterMBean(objectName);
+    }
+
+    @Override
+    public String toString() {
+        return "GreeklishMetrics{calls=" + getCalls() + ", rules=" + getRuleCounts() + '}';
+    }
+
+    /**
+     * A histogram of latencies in nanoseconds, in the style of HdrHistogram: values are counted in buckets of equal
+     * relative width, i.e. 32 buckets for every power of two, so that every value is kept with a precision of about
+     * 3% over the whole range of longs, in a fixed array. Recording increments a single atomic counter, without locks
+     * or allocations. It is also used by the HTTP service in src/server, which exports it with Prometheus buckets.
+     */
+    public static final class LatencyHistogram {
+
+        private static final int SUB_BUCKET_BITS = 5;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        // the values below SUB_BUCKETS are counted exactly, and then every power of two has SUB_BUCKETS buckets
+        private static final int NUM_OF_BUCKETS = SUB_BUCKETS + (Long.SIZE - 1 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+        private final AtomicLongArray counts = new AtomicLongArray(NUM_OF_BUCKETS);
+        private final LongAdder sum = new LongAdder();
+
+        public LatencyHistogram() {}
+
+        static int bucketOf(final long value) {
+            if(value < SUB_BUCKETS) return (int) Math.max(0, value);
+            final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+            final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKETS;
+            return SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket;
+        }
+
+        /**
+         * @return the highest value counted in the given bucket
+         */
+        static long highestValueOf(final int bucket) {
+            if(bucket < SUB_BUCKETS) return bucket;
+            final int exponent = (bucket - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+            final long subBucket = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+            final int shift = exponent - SUB_BUCKET_BITS;
+            return ((SUB_BUCKETS + subBucket) << shift) + (1L << shift) - 1;
+        }
+
+        /**
+         * @param nanos the latency to record, in nanoseconds; negative values are recorded as 0
+         */
+        public void record(final long nanos) {
+            counts.incrementAndGet(bucketOf(nanos));
+            sum.add(Math.max(0, nanos));
+        }
+
+        /**
+         * @return the number of latencies recorded
+         */
+        public long getCount() {
+            long count = 0;
+            for(int b = 0; b < NUM_OF_BUCKETS; b++) count += counts.get(b);
+            return count;
+        }
+
+        /**
+         * @param nanos the latency, in nanoseconds
+         * @return the number of latencies recorded at or below the given one, within the precision of the histogram,
+         * i.e. the latencies in the bucket of the given one are counted only if that is the highest value of the bucket
+         */
+        public long getCountAtOrBelow(final long nanos) {
+            if(nanos < 0) return 0;
+            int last = bucketOf(nanos);
+            if(highestValueOf(last) > nanos) last--;
+            long count = 0;
+            for(int b = 0; b <= last; b++) count += counts.get(b);
+            return count;
+        }
+
+        /**
+         * @return the sum of the latencies recorded, in nanoseconds
+         */
+        public long getSum() {
+            return sum.sum();
+        }
+
+        /**
+         * @return the mean of the latencies recorded, in nanoseconds, or 0 if there are none
+         */
+        public double getMean() {
+            final long count = getCount();
+            return count == 0 ? 0 : (double) sum.sum() / count;
+        }
+
+        /**
+         * @param percentile the percentile, from 0 to 100
+         * @return the latency at or below which the given percentage of the latencies fall, in nanoseconds, within the
+         * precision of the histogram, or 0 if there are none
+         */
+        public long getValueAtPercentile(final double percentile) {
+            final long count = getCount();
+            if(count == 0) return 0;
+            final long rank = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * count));
+            long cumulative = 0;
+            for(int b = 0; b < NUM_OF_BUCKETS; b++) {
+                cumulative += counts.get(b);
+                if(cumulative >= rank) return highestValueOf(b);
+            }
+            return getMaxValue(); // recorded in the meantime
+        }
+
+        /**
+         * @return the highest latency recorded, in nanoseconds, within the precision of the histogram, or 0 if there
+         * are none
+         */
+        public long getMaxValue() {
+            for(int b = NUM_OF_BUCKETS - 1; b >= 0; b--) {
+                if(counts.get(b) != 0) return highestValueOf(b);
+            }
+            return 0;
+        }
+
+        void reset() {
+            for(int b = 0; b < NUM_OF_BUCKETS; b++) counts.set(b, 0);
+            sum.reset();
+        }
+
+        @Override
+        public String toString() {
+            return "LatencyHistogram{count=" + getCount() + ", median=" + getValueAtPercentile(50) +
+                    "ns, 99th=" + getValueAtPercentile(99) + "ns, max=" + getMaxValue() + "ns}";
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.aspectsense.greektools;
+
+import java.util.Map;
+
+/**
+ * The JMX view of {@link GreeklishMetrics}, registered with {@link GreeklishMetrics#registerMBean()}. The maps are by
+ * the names of the {@link GreeklishListener.Operation}s or of the {@link GreeklishListener.RuleFamily}s.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public interface GreeklishMetricsMXBean {
+
+    Map<String, Long> getCalls();
+
+    Map<String, Long> getInputCharacters();
+
+    Map<String, Long> getOutputCharacters();
+
+    Map<String, Long> getWords();
+
+    Map<String, Long> getRuleCounts();
+
+    Map<String, Long> getLatencyMedianNanos();
+
+    Map<String, Long> getLatency99thPercentileNanos();
+
+    Map<String, Long> getLatencyMaxNanos();
+
+    void reset();
+}
@@ -0,0 +1,129 @@
+package com.aspectsense.greektools;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * A reader which converts the Greek text read from the underlying reader into Greeklish. It works in bounded memory,
+ * so it can be used to convert inputs of any size.
+ *
+ * Words are separated by whitespace or punctuation (see {@link WordTokenizer}), which is read unchanged. Words
+ * spanning the boundary of two reads from the underlying reader are converted as a whole.
+ *
+ * @see GreeklishWriter
+ * @see Greeklish#toGreeklish(Reader, java.io.Writer, boolean)
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public class GreeklishReader extends FilterReader {
+
+    private final StreamingTransliterator transliterator;
+    private final char [] inputBuffer;
+    private final StringBuilder pending = new StringBuilder();
+    private int pendingOffset = 0;
+    private boolean endOfInput = false;
+
+    /**
+     * Creates a reader which converts Greek text into Greeklish, ignoring accents.
+     *
+     * @param in the reader providing the original text
+     */
+    public GreeklishReader(final Reader in) {
+        this(in, false);
+    }
+
+    /**
+     * Creates a reader which converts Greek text into Greeklish.
+     *
+     * @param in the reader providing the original text
+     * @param withAccents indicates whether the resulting text will have accents
+     */
+    public GreeklishReader(final Reader in, final boolean withAccents) {
+        this(in, withAccents, StreamingTransliterator.DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a reader which converts Greek text into Greeklish.
+     *
+     * @param in the reader providing the original text
+     * @param withAccents indicates whether the resulting text will have accents
+     * @param bufferSize the size of the internal buffers, which is also the longest word converted as a whole
+     */
+    public GreeklishReader(final Reader in, final boolean withAccents, final int bufferSize) {
+        super(in);
+        this.transliterator = new StreamingTransliterator(Greeklish.getEngine(withAccents), bufferSize);
+        this.inputBuffer = new char[bufferSize];
+    }
+
+    @Override
+    public int read() throws IOException {
+        if(!fill()) return -1;
+        return pending.charAt(pendingOffset++);
+    }
+
+    @Override
+    public int read(final char [] cbuf, final int off, final int len) throws IOException {
+        if(off < 0 || len < 0 || off + len > cbuf.length) throw new IndexOutOfBoundsException();
+        if(len == 0) return 0;
+        if(!fill()) return -1;
+        final int count = Math.min(len, pending.length() - pendingOffset);
+        pending.getChars(pendingOffset, pendingOffset + count, cbuf, off);
+        pendingOffset += count;
+        return count;
+    }
+
+    @Override
+    public long skip(final long n) throws IOException {
+        if(n < 0) throw new IllegalArgumentException("Skip value is negative");
+        long skipped = 0;
+        while(skipped < n && fill()) {
+            final int count = (int) Math.min(n - skipped, pending.length() - pendingOffset);
+            pendingOffset += count;
+            skipped += count;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean ready() throws IOException {
+        return pendingOffset < pending.length() || in.ready();
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void mark(final int readAheadLimit) throws IOException {
+        throw new IOException("mark() not supported");
+    }
+
+    @Override
+    public void reset() throws IOException {
+        throw new IOException("reset() not supported");
+    }
+
+    /**
+     * Makes sure there are converted characters pending, reading from the underlying reader as needed.
+     *
+     * @return false if and only if the end of the input was reached and all converted characters were read
+     */
+    private boolean fill() throws IOException {
+        while(pendingOffset == pending.length()) {
+            if(endOfInput) return false;
+            pending.setLength(0);
+            pendingOffset = 0;
+            final int count = in.read(inputBuffer, 0, inputBuffer.length);
+            if(count == -1) {
+                endOfInput = true;
+                transliterator.finish(pending);
+            } else {
+                transliterator.write(inputBuffer, 0, count, pending);
+            }
+        }
+        return true;
+    }
+}
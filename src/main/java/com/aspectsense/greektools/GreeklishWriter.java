@@ -0,0 +1,123 @@
+package com.aspectsense.greektools;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A writer which converts Greek text into Greeklish before passing it to the underlying writer. It works in bounded
+ * memory, so it can be used to convert inputs of any size, e.g. by copying a file through it.
+ *
+ * Words are separated by whitespace or punctuation (see {@link WordTokenizer}), which is written out unchanged. As a
+ * word is only converted once it is complete, i.e. when the next whitespace or punctuation is written or when the
+ * writer is closed, {@link #flush()} does not write out a partially written word. Closing the writer is therefore
+ * required to write out the last word.
+ *
+ * @see GreeklishReader
+ * @see Greeklish#toGreeklish(java.io.Reader, Writer, boolean)
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public class GreeklishWriter extends FilterWriter {
+
+    private final StreamingTransliterator transliterator;
+    private final StringBuilder pending = new StringBuilder();
+    private final char [] inputBuffer;
+    private final char [] outputBuffer;
+    private final char [] singleChar = new char[1];
+    private boolean closed = false;
+
+    /**
+     * Creates a writer which converts Greek text into Greeklish, ignoring accents.
+     *
+     * @param out the writer receiving the converted text
+     */
+    public GreeklishWriter(final Writer out) {
+        this(out, false);
+    }
+
+    /**
+     * Creates a writer which converts Greek text into Greeklish.
+     *
+     * @param out the writer receiving the converted text
+     * @param withAccents indicates whether the resulting text will have accents
+     */
+    public GreeklishWriter(final Writer out, final boolean withAccents) {
+        this(out, withAccents, StreamingTransliterator.DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a writer which converts Greek text into Greeklish.
+     *
+     * @param out the writer receiving the converted text
+     * @param withAccents indicates whether the resulting text will have accents
+     * @param bufferSize the size of the internal buffers, which is also the longest word converted as a whole
+     */
+    public GreeklishWriter(final Writer out, final boolean withAccents, final int bufferSize) {
+        super(out);
+        this.transliterator = new StreamingTransliterator(Greeklish.getEngine(withAccents), bufferSize);
+        this.inputBuffer = new char[bufferSize];
+        this.outputBuffer = new char[bufferSize];
+    }
+
+    @Override
+    public void write(final int c) throws IOException {
+        singleChar[0] = (char) c;
+        write(singleChar, 0, 1);
+    }
+
+    @Override
+    public void write(final char [] cbuf, final int off, final int len) throws IOException {
+        ensureOpen();
+        if(off < 0 || len < 0 || off + len > cbuf.length) throw new IndexOutOfBoundsException();
+        transliterator.write(cbuf, off, len, pending);
+        drain();
+    }
+
+    @Override
+    public void write(final String str, final int off, final int len) throws IOException {
+        ensureOpen();
+        int position = off;
+        final int end = off + len;
+        while(position < end) {
+            final int chunk = Math.min(inputBuffer.length, end - position);
+            str.getChars(position, position + chunk, inputBuffer, 0);
+            transliterator.write(inputBuffer, 0, chunk, pending);
+            drain();
+            position += chunk;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if(closed) return;
+        try {
+            transliterator.finish(pending);
+            drain();
+        } finally {
+            closed = true;
+            out.close();
+        }
+    }
+
+    private void drain() throws IOException {
+        final int length = pending.length();
+        for(int position = 0; position < length; position += outputBuffer.length) {
+            final int chunk = Math.min(outputBuffer.length, length - position);
+            pending.getChars(position, position + chunk, outputBuffer, 0);
+            out.write(outputBuffer, 0, chunk);
+        }
+        pending.setLength(0);
+    }
+
+    private void ensureOpen() throws IOException {
+        if(closed) throw new IOException("Writer closed");
+    }
+}
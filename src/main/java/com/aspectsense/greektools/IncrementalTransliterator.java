@@ -0,0 +1,262 @@
+package com.aspectsense.greektools;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Keeps the transliteration of a text up to date while the text is edited, e.g. for a live Greeklish preview next to
+ * a Greek text editor. Each edit reconverts only the words it touches, together with the words right before and
+ * after it, which may be joined to it or split from it, rather than the whole text. The output is always the same as
+ * {@link Transliterator#transliterate(String)} of the whole text.
+ *
+ * The text and its output are kept in gap buffers, and the text is split in tokens (words and runs of characters
+ * between words) which record their lengths in the text and in the output. All of them are edited at a cursor which
+ * follows the edits, so an edit costs the length of the words it touches plus the distance from the previous edit,
+ * which for typing is a few characters. After an edit, {@link #getChangeStart()}, {@link #getChangeRemovedLength()}
+ * and {@link #getChangeInsertedLength()} tell which part of the output changed, so that a preview can be updated in
+ * place as well.
+ *
+ * For example:
+ * <pre>{@code
+ * final IncrementalTransliterator preview = new IncrementalTransliterator(TransliterationProfile.ISO_843.transliterator());
+ * preview.insert(0, "Καλή μέρα");
+ * preview.insert(9, " κόσμε"); // only " κόσμε" and "μέρα" are converted
+ * preview.getOutput(); // "Kali mera kosme"
+ * }</pre>
+ *
+ * Instances are not thread-safe.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public final class IncrementalTransliterator {
+
+    private final TransliterationEngine engine;
+    private final GapBuffer source = new GapBuffer(256);
+    private final GapBuffer output = new GapBuffer(256);
+    private final StringBuilder converted = new StringBuilder();
+
+    // the lengths of the tokens in the source and in the output, kept with a gap at the cursor
+    private int [] sourceLengths = new int[64];
+    private int [] outputLengths = new int[64];
+    private int gapStart = 0;
+    private int gapEnd = 64;
+    // the offsets of the cursor, i.e. of the start of the token after the gap, in the source and in the output
+    private int cursorSource = 0;
+    private int cursorOutput = 0;
+
+    private int changeStart = 0;
+    private int changeRemovedLength = 0;
+    private int changeInsertedLength = 0;
+
+    /**
+     * Creates an incremental transliterator of an empty text.
+     *
+     * @param transliterator the transliterator used, e.g. {@code TransliterationProfile.ISO_843.transliterator()}
+     */
+    public IncrementalTransliterator(final Transliterator transliterator) {
+        this.engine = transliterator.getEngine();
+    }
+
+    /**
+     * Creates an incremental transliterator of the given text.
+     *
+     * @param transliterator the transliterator used, e.g. {@code TransliterationProfile.ISO_843.transliterator()}
+     * @param text the initial text
+     */
+    public IncrementalTransliterator(final Transliterator transliterator, final CharSequence text) {
+        this(transliterator);
+        insert(0, text);
+    }
+
+    /**
+     * Inserts the given text at the given offset of the text.
+     *
+     * @param offset the offset in the text, from 0 to its length
+     * @param text the text to insert
+     */
+    public void insert(final int offset, final CharSequence text) {
+        replace(offset, offset, text);
+    }
+
+    /**
+     * Deletes the given number of characters at the given offset of the text.
+     *
+     * @param offset the offset in the text
+     * @param length the number of characters to delete
+     */
+    public void delete(final int offset, final int length) {
+        replace(offset, offset + length, "");
+    }
+
+    /**
+     * Replaces the characters of the text between start (inclusive) and end (exclusive) with the given text, and
+     * updates the output.
+     *
+     * @param start the offset of the first character to replace
+     * @param end the offset after the last character to replace
+     * @param text the replacement
+     */
+    public void replace(final int start, final int end, final CharSequence text) {
+        if(start < 0 || end > source.length() || start > end) {
+            throw new IndexOutOfBoundsException("Range [" + start + ", " + end + ") not in [0, " + source.length() + "]");
+        }
+        // remove the tokens from the one before the edit (or at its start) to the one after it (or at its end), as
+        // the edit may join them with the edited text or split them
+        if(start > 0) moveCursorTo(start - 1);
+        else moveCursorTo(0);
+        final int regionStart = cursorSource;
+        final int outputStart = cursorOutput;
+        int regionEnd = regionStart;
+        int outputEnd = outputStart;
+        while(gapEnd < sourceLengths.length && regionEnd <= end) {
+            regionEnd += sourceLengths[gapEnd];
+            outputEnd += outputLengths[gapEnd];
+            gapEnd++;
+        }
+
+        source.replace(start, end, text, 0, text.length());
+        regionEnd += text.length() - (end - start);
+
+        // convert the region again, in tokens, appending them before the gap
+        converted.setLength(0);
+        int i = regionStart;
+        while(i < regionEnd) {
+            final int tokenEnd;
+            final int convertedStart = converted.length();
+            if(WordTokenizer.isWordCharacter(source.charAt(i))) {
+                tokenEnd = WordTokenizer.nextBoundary(source, i + 1, regionEnd);
+                engine.transliterateWord(source, i, tokenEnd, converted);
+            } else {
+                int j = i;
+                try {
+                    do {
+                        engine.transliterateSeparator(source.charAt(j++), converted);
+                    } while(j < regionEnd && !WordTokenizer.isWordCharacter(source.charAt(j)));
+                } catch (IOException ioe) {
+                    throw new AssertionError("StringBuilder does not throw IOException", ioe);
+                }
+                tokenEnd = j;
+            }
+            addToken(tokenEnd - i, converted.length() - convertedStart);
+            i = tokenEnd;
+        }
+        output.replace(outputStart, outputEnd, converted, 0, converted.length());
+
+        changeStart = outputStart;
+        changeRemovedLength = outputEnd - outputStart;
+        changeInsertedLength = converted.length();
+        if(converted.capacity() > 4096 && converted.length() < 1024) {
+            converted.setLength(0);
+            converted.trimToSize(); // do not keep the memory of a large paste
+        }
+    }
+
+    /**
+     * Replaces the whole text with the given one.
+     *
+     * @param text the new text
+     */
+    public void setText(final CharSequence text) {
+        replace(0, source.length(), text);
+    }
+
+    /**
+     * Moves the cursor to the start of the token containing the given offset of the source, or to the end if the
+     * offset is the length of the source.
+     */
+    private void moveCursorTo(final int offset) {
+        while(gapStart > 0 && cursorSource > offset) {
+            gapStart--;
+            gapEnd--;
+            sourceLengths[gapEnd] = sourceLengths[gapStart];
+            outputLengths[gapEnd] = outputLengths[gapStart];
+            cursorSource -= sourceLengths[gapEnd];
+            cursorOutput -= outputLengths[gapEnd];
+        }
+        while(gapEnd < sourceLengths.length && cursorSource + sourceLengths[gapEnd] <= offset) {
+            cursorSource += sourceLengths[gapEnd];
+            cursorOutput += outputLengths[gapEnd];
+            sourceLengths[gapStart] = sourceLengths[gapEnd];
+            outputLengths[gapStart] = outputLengths[gapEnd];
+            gapStart++;
+            gapEnd++;
+        }
+    }
+
+    private void addToken(final int sourceLength, final int outputLength) {
+        if(gapStart == gapEnd) {
+            final int after = sourceLengths.length - gapEnd;
+            final int capacity = sourceLengths.length * 2;
+            final int [] grownSource = Arrays.copyOf(sourceLengths, capacity);
+            final int [] grownOutput = Arrays.copyOf(outputLengths, capacity);
+            System.arraycopy(sourceLengths, gapEnd, grownSource, capacity - after, after);
+            System.arraycopy(outputLengths, gapEnd, grownOutput, capacity - after, after);
+            sourceLengths = grownSource;
+            outputLengths = grownOutput;
+            gapEnd = capacity - after;
+        }
+        sourceLengths[gapStart] = sourceLength;
+        outputLengths[gapStart] = outputLength;
+        gapStart++;
+        cursorSource += sourceLength;
+        cursorOutput += outputLength;
+    }
+
+    /**
+     * @return the text, as a view which changes with the edits
+     */
+    public CharSequence getText() {
+        return source;
+    }
+
+    /**
+     * @return the transliterated text, as a view which changes with the edits; use {@link #getOutputString()} for a
+     * copy
+     */
+    public CharSequence getOutput() {
+        return output;
+    }
+
+    /**
+     * @return a copy of the transliterated text
+     */
+    public String getOutputString() {
+        return output.toString();
+    }
+
+    /**
+     * @return the offset in the output where the last edit changed it
+     */
+    public int getChangeStart() {
+        return changeStart;
+    }
+
+    /**
+     * @return the number of characters of the output replaced by the last edit, from {@link #getChangeStart()}
+     */
+    public int getChangeRemovedLength() {
+        return changeRemovedLength;
+    }
+
+    /**
+     * @return the number of characters of the output which replaced them, from {@link #getChangeStart()}
+     */
+    public int getChangeInsertedLength() {
+        return changeInsertedLength;
+    }
+
+    /**
+     * @return the number of tokens, i.e. words and runs of characters between words, which is a measure of the
+     * memory used
+     */
+    int getNumOfTokens() {
+        return gapStart + sourceLengths.length - gapEnd;
+    }
+
+    @Override
+    public String toString() {
+        return "IncrementalTransliterator{length=" + source.length() + ", outputLength=" + output.length() +
+                ", tokens=" + getNumOfTokens() + '}';
+    }
+}
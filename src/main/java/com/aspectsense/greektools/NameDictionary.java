@@ -0,0 +1,331 @@
+package com.aspectsense.greektools;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * A dictionary of whole words with their official spellings, e.g. "Γιώργος" to "Yiorgos", which is checked before the
+ * transliteration rules, see {@link Greeklish#setNameDictionary(NameDictionary)}. Like the exceptions of the rule
+ * tables, it matches whole words exactly, so every form needed (e.g. "Γιώργος", "Γιώργου" and "ΓΙΩΡΓΟΣ") is listed.
+ *
+ * The dictionary is a file, which is memory-mapped rather than loaded, so opening it is nearly instant and millions of
+ * entries take no heap. The words are sorted and grouped in blocks of {@value #BLOCK_SIZE}; the first word of a block
+ * is stored in full, and each of the others as the number of characters shared with the previous word followed by
+ * the rest of it. A lookup finds the block with a binary search over the first words, and then scans the block,
+ * comparing the characters of the file directly to the given word, so it allocates nothing.
+ *
+ * The file starts with a header of six ints (the magic number, the version, the number of words, the block size, the
+ * number of blocks, and the offset of the index), followed by the blocks and by the index, which holds the offset of
+ * each block. Each entry is a varint number of shared characters, a varint number of remaining characters, those
+ * characters in UTF-16 (two bytes per Greek letter, the same as UTF-8), a varint number of bytes of the spelling,
+ * and the spelling in UTF-8. Files are limited to 2GB.
+ *
+ * Dictionaries are immutable and thread-safe. They are created with {@link #write(Map, Path)} or
+ * {@link #compile(Path, Path)}, and opened with {@link #open(Path)}.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public final class NameDictionary {
+
+    /** The number of words in each block of the file. */
+    public static final int BLOCK_SIZE = 16;
+
+    private static final int MAGIC = 0x47544E44; // "GTND"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 24;
+
+    private final ByteBuffer buffer;
+    private final int size;
+    private final int numOfBlocks;
+    private final int indexOffset;
+
+    private NameDictionary(final ByteBuffer buffer) throws IOException {
+        this.buffer = buffer.order(ByteOrder.BIG_ENDIAN);
+        if(buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) throw new IOException("Not a name dictionary");
+        if(buffer.getInt(4) != VERSION) throw new IOException("Unsupported name dictionary version: " + buffer.getInt(4));
+        this.size = buffer.getInt(8);
+        final int blockSize = buffer.getInt(12);
+        this.numOfBlocks = buffer.getInt(16);
+        this.indexOffset = buffer.getInt(20);
+        if(blockSize != BLOCK_SIZE || indexOffset < HEADER_SIZE || (long) indexOffset + 4L * numOfBlocks > buffer.capacity()) {
+            throw new IOException("Corrupt name dictionary");
+        }
+    }
+
+    /**
+     * Memory-maps the given dictionary file. The file must not be modified while the dictionary is in use.
+     *
+     * @param file a file written by {@link #write(Map, Path)} or {@link #compile(Path, Path)}
+     * @return the dictionary
+     * @throws IOException if the file cannot be read or is not a dictionary
+     */
+    public static NameDictionary open(final Path file) throws IOException {
+        try(final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if(channel.size() > Integer.MAX_VALUE) throw new IOException("Name dictionaries are limited to 2GB");
+            // the mapping stays valid after the channel is closed
+            return new NameDictionary(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * @return the number of words in this dictionary
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param word a whole word, e.g. "Γιώργος"
+     * @return the spelling of the given word, or null if it is not in this dictionary
+     */
+    public String get(final String word) {
+        final StringBuilder stringBuilder = new StringBuilder();
+        try {
+            return lookup(word, 0, word.length(), stringBuilder) < 0 ? null : stringBuilder.toString();
+        } catch (IOException ioe) {
+            throw new AssertionError("StringBuilder does not throw IOException", ioe);
+        }
+    }
+
+    /**
+     * Looks up the word found in text between start (inclusive) and end (exclusive), and appends its spelling to the
+     * given appendable if it is found, without allocating any objects.
+     *
+     * @return the number of characters appended, or -1 if the word is not in this dictionary
+     * @throws IOException if appending to out fails
+     */
+    int lookup(final CharSequence text, final int start, final int end, final Appendable out) throws IOException {
+        if(numOfBlocks == 0) return -1;
+        // find the last block whose first word is not greater than the given one
+        int low = 0;
+        int high = numOfBlocks - 1;
+        while(low < high) {
+            final int middle = (low + high + 1) >>> 1;
+            if(compareFirstWord(blockOffset(middle), text, start, end) <= 0) low = middle;
+            else high = middle - 1;
+        }
+        final int blockEnd = low + 1 < numOfBlocks ? blockOffset(low + 1) : indexOffset;
+        int p = blockOffset(low);
+        // the number of characters of the given word matching the previous word of the block
+        int matched = 0;
+        while(p < blockEnd) {
+            final int shared = readVarint(p);
+            p += varintLength(shared);
+            final int suffixLength = readVarint(p);
+            p += varintLength(suffixLength);
+            final int suffixStart = p;
+            p += 2 * suffixLength;
+            final int valueLength = readVarint(p);
+            p += varintLength(valueLength);
+            final int valueStart = p;
+            p += valueLength;
+            if(shared > matched) {
+                // this word differs from the given one at the same place and in the same way as the previous one,
+                // i.e. it is still smaller
+                continue;
+            }
+            if(shared < matched) {
+                // this word differs from the previous one at a character which matches the given word, so it is
+                // greater than the given one, and so are the rest
+                return -1;
+            }
+            // compare the rest of this word with the rest of the given word
+            final int length = end - start;
+            int i = 0;
+            while(i < suffixLength && matched + i < length) {
+                final char c = buffer.getChar(suffixStart + 2 * i);
+                final char t = text.charAt(start + matched + i);
+                if(c != t) {
+                    if(c > t) return -1;
+                    break;
+                }
+                i++;
+            }
+            if(matched + i == length) {
+                // either this is the given word, or the given word is a prefix of this one, which comes after it
+                return i == suffixLength ? decodeUtf8(valueStart, valueLength, out) : -1;
+            }
+            // this word is still smaller: it has a smaller character, or it is a prefix of the given word
+            matched += i;
+        }
+        return -1;
+    }
+
+    private int blockOffset(final int block) {
+        return buffer.getInt(indexOffset + 4 * block);
+    }
+
+    /**
+     * Compares the first word of the block at the given offset with the word in text between start and end.
+     */
+    private int compareFirstWord(int p, final CharSequence text, final int start, final int end) {
+        p += varintLength(0); // the first word shares nothing with a previous one
+        final int length = readVarint(p);
+        p += varintLength(length);
+        final int n = Math.min(length, end - start);
+        for(int i = 0; i < n; i++) {
+            final char c = buffer.getChar(p + 2 * i);
+            final char t = text.charAt(start + i);
+            if(c != t) return c < t ? -1 : 1;
+        }
+        return Integer.compare(length, end - start);
+    }
+
+    private int readVarint(int p) {
+        int value = 0;
+        int shift = 0;
+        while(true) {
+            final byte b = buffer.get(p++);
+            value |= (b & 0x7F) << shift;
+            if(b >= 0) return value;
+            shift += 7;
+        }
+    }
+
+    private static int varintLength(final int value) {
+        int length = 1;
+        for(int v = value >>> 7; v != 0; v >>>= 7) length++;
+        return length;
+    }
+
+    /**
+     * Appends the UTF-8 bytes at the given offset as characters, and returns the number of characters appended.
+     */
+    private int decodeUtf8(final int offset, final int length, final Appendable out) throws IOException {
+        int count = 0;
+        int p = offset;
+        final int end = offset + length;
+        while(p < end) {
+            final int b = buffer.get(p++) & 0xFF;
+            final int codePoint;
+            if(b < 0x80) {
+                codePoint = b;
+            } else if(b < 0xE0) {
+                codePoint = (b & 0x1F) << 6 | (buffer.get(p++) & 0x3F);
+            } else if(b < 0xF0) {
+                codePoint = (b & 0x0F) << 12 | (buffer.get(p++) & 0x3F) << 6 | (buffer.get(p++) & 0x3F);
+            } else {
+                codePoint = (b & 0x07) << 18 | (buffer.get(p++) & 0x3F) << 12 | (buffer.get(p++) & 0x3F) << 6 | (buffer.get(p++) & 0x3F);
+            }
+            if(Character.isBmpCodePoint(codePoint)) {
+                out.append((char) codePoint);
+                count++;
+            } else {
+                out.append(Character.highSurrogate(codePoint)).append(Character.lowSurrogate(codePoint));
+                count += 2;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Writes a dictionary file with the given words and spellings.
+     *
+     * @param entries the words, e.g. "Γιώργος", mapped to their spellings, e.g. "Yiorgos"
+     * @param file the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(final Map<String, String> entries, final Path file) throws IOException {
+        // the words are sorted by their chars, which is the order compared by lookup()
+        final SortedMap<String, String> sorted = entries instanceof SortedMap && ((SortedMap<String, String>) entries).comparator() == null ?
+                (SortedMap<String, String>) entries : new TreeMap<>(entries);
+        final int numOfBlocks = (sorted.size() + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        final int [] blockOffsets = new int[numOfBlocks];
+        final ByteArrayOutputStream entry = new ByteArrayOutputStream();
+        long offset = HEADER_SIZE;
+        try(final OutputStream outputStream = Files.newOutputStream(file);
+            final DataOutputStream dataOutputStream = new DataOutputStream(new BufferedOutputStream(outputStream, 1 << 16))) {
+            dataOutputStream.writeInt(MAGIC);
+            dataOutputStream.writeInt(VERSION);
+            dataOutputStream.writeInt(sorted.size());
+            dataOutputStream.writeInt(BLOCK_SIZE);
+            dataOutputStream.writeInt(numOfBlocks);
+            dataOutputStream.writeInt(0); // the offset of the index, filled in at the end
+            String previous = "";
+            int count = 0;
+            for(final Map.Entry<String, String> mapEntry : sorted.entrySet()) {
+                final String word = mapEntry.getKey();
+                if(word.isEmpty()) throw new IllegalArgumentException("Empty words are not allowed");
+                final byte [] value = mapEntry.getValue().getBytes(StandardCharsets.UTF_8);
+                int shared = 0;
+                if(count % BLOCK_SIZE == 0) {
+                    blockOffsets[count / BLOCK_SIZE] = (int) offset;
+                } else {
+                    final int n = Math.min(previous.length(), word.length());
+                    while(shared < n && previous.charAt(shared) == word.charAt(shared)) shared++;
+                }
+                entry.reset();
+                writeVarint(entry, shared);
+                writeVarint(entry, word.length() - shared);
+                for(int i = shared; i < word.length(); i++) {
+                    entry.write(word.charAt(i) >> 8);
+                    entry.write(word.charAt(i));
+                }
+                writeVarint(entry, value.length);
+                entry.write(value, 0, value.length);
+                entry.writeTo(dataOutputStream);
+                offset += entry.size();
+                if(offset > Integer.MAX_VALUE) throw new IOException("Name dictionaries are limited to 2GB");
+                previous = word;
+                count++;
+            }
+            for(final int blockOffset : blockOffsets) dataOutputStream.writeInt(blockOffset);
+            if(offset + 4L * numOfBlocks > Integer.MAX_VALUE) throw new IOException("Name dictionaries are limited to 2GB");
+        }
+        try(final FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).putInt(0, (int) offset), 20);
+        }
+    }
+
+    private static void writeVarint(final ByteArrayOutputStream out, int value) {
+        while((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    /**
+     * Writes a dictionary file from a UTF-8 text file with a word and its spelling per line, separated by a tab, e.g.
+     * "Γιώργος\tYiorgos". Empty lines and lines starting with '#' are skipped.
+     *
+     * @param tsv the text file to read
+     * @param file the dictionary file to write
+     * @throws IOException if a file cannot be read or written, or a line has no tab
+     */
+    public static void compile(final Path tsv, final Path file) throws IOException {
+        final SortedMap<String, String> entries = new TreeMap<>();
+        try(final BufferedReader reader = Files.newBufferedReader(tsv, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while((line = reader.readLine()) != null) {
+                lineNumber++;
+                if(line.isEmpty() || line.startsWith("#")) continue;
+                final int tab = line.indexOf('\t');
+                if(tab <= 0) throw new IOException("Expected a word and its spelling separated by a tab at line " + lineNumber);
+                entries.put(line.substring(0, tab), line.substring(tab + 1));
+            }
+        }
+        write(entries, file);
+    }
+
+    @Override
+    public String toString() {
+        return "NameDictionary{size=" + size + ", blocks=" + numOfBlocks + '}';
+    }
+}
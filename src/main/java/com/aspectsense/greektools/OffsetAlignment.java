@@ -0,0 +1,199 @@
+package com.aspectsense.greektools;
+
+import java.util.Arrays;
+
+/**
+ * Maps the offsets of a transliterated text to the offsets of the original text and back, e.g. to highlight in the
+ * original Greek text a match found in its Greeklish version. It is filled in during the transliteration, see
+ * {@link Transliterator#transliterate(CharSequence, StringBuilder, OffsetAlignment)}.
+ *
+ * The alignment is stored as segments in two primitive arrays, each segment being the offsets where it starts in the
+ * output and in the source. Consecutive characters converted one to one (e.g. "κόσμος" to "kosmos", as well as any
+ * copied characters) share a single segment, in which the offsets move together. A conversion changing the length
+ * (e.g. "θ" to "th", "μπ" to "b" or "γχ" to "nch") is a segment of its own, and all its characters map to its start, so
+ * that the "h" of "th" maps to the "θ".
+ *
+ * Instances are reused with {@link #clear()}, and they must not be shared between threads while being filled in.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public final class OffsetAlignment {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int [] outputStarts = new int[INITIAL_CAPACITY];
+    private int [] sourceStarts = new int[INITIAL_CAPACITY];
+    private int size = 0;
+    private int sourceStart = 0;
+    private int sourceEnd = 0;
+    private int outputEnd = 0;
+    // whether the last segment maps its characters one to one, so it can be extended
+    private boolean lastIsLinear = false;
+
+    /**
+     * Removes all the segments, so that this alignment can be filled in again.
+     */
+    public void clear() {
+        size = 0;
+        sourceStart = 0;
+        sourceEnd = 0;
+        outputEnd = 0;
+        lastIsLinear = false;
+    }
+
+    /**
+     * Records that the source characters between sourceStart and sourceEnd were converted to the next outputLength
+     * characters of the output. The source ranges must follow each other.
+     */
+    void add(final int sourceStart, final int sourceEnd, final int outputLength) {
+        final boolean linear = sourceEnd - sourceStart == outputLength;
+        if(size == 0) {
+            this.sourceStart = sourceStart;
+        } else if(sourceStart != this.sourceEnd) {
+            throw new IllegalArgumentException("Expected source offset " + this.sourceEnd + ", found " + sourceStart);
+        }
+        if(!(linear && lastIsLinear)) {
+            if(size == outputStarts.length) {
+                outputStarts = Arrays.copyOf(outputStarts, size * 2);
+                sourceStarts = Arrays.copyOf(sourceStarts, size * 2);
+            }
+            outputStarts[size] = outputEnd;
+            sourceStarts[size] = sourceStart;
+            size++;
+        }
+        lastIsLinear = linear;
+        this.sourceEnd = sourceEnd;
+        this.outputEnd += outputLength;
+    }
+
+    /**
+     * @return the number of segments, which is a measure of the memory used
+     */
+    public int getNumOfSegments() {
+        return size;
+    }
+
+    /**
+     * @return the length of the output covered by this alignment
+     */
+    public int getOutputLength() {
+        return outputEnd;
+    }
+
+    /**
+     * @return the offset in the source where this alignment starts
+     */
+    public int getSourceStart() {
+        return sourceStart;
+    }
+
+    /**
+     * @return the offset in the source where this alignment ends
+     */
+    public int getSourceEnd() {
+        return sourceEnd;
+    }
+
+    private int outputStart(final int segment) {
+        return outputStarts[segment];
+    }
+
+    private int outputEnd(final int segment) {
+        return segment + 1 < size ? outputStarts[segment + 1] : outputEnd;
+    }
+
+    private int sourceStart(final int segment) {
+        return sourceStarts[segment];
+    }
+
+    private int sourceEnd(final int segment) {
+        return segment + 1 < size ? sourceStarts[segment + 1] : sourceEnd;
+    }
+
+    private boolean isLinear(final int segment) {
+        return outputEnd(segment) - outputStart(segment) == sourceEnd(segment) - sourceStart(segment);
+    }
+
+    /**
+     * @return the last segment starting at or before the given offset in the given starts
+     */
+    private int segment(final int [] starts, final int offset) {
+        int index = Arrays.binarySearch(starts, 0, size, offset);
+        if(index < 0) return -index - 2;
+        // segments converted to nothing share their start with the next one
+        while(index + 1 < size && starts[index + 1] == offset) index++;
+        return index;
+    }
+
+    /**
+     * @param outputOffset an offset in the output, from 0 to its length
+     * @return the offset of the source character converted into the output character at the given offset, or the end
+     * of the source for the end of the output
+     */
+    public int toSource(final int outputOffset) {
+        checkOffset(outputOffset, 0, outputEnd);
+        if(outputOffset == outputEnd) return sourceEnd;
+        final int segment = segment(outputStarts, outputOffset);
+        return isLinear(segment) ? sourceStart(segment) + outputOffset - outputStart(segment) : sourceStart(segment);
+    }
+
+    /**
+     * @param outputEnd the end of a range in the output (exclusive), from 0 to its length
+     * @return the end (exclusive) of the source characters converted into the output range ending at the given offset,
+     * e.g. for the range "th" or just "t" of the output "th" it is the end of the source "θ"
+     */
+    public int toSourceEnd(final int outputEnd) {
+        checkOffset(outputEnd, 0, this.outputEnd);
+        if(outputEnd == 0) return sourceStart;
+        final int segment = segment(outputStarts, outputEnd - 1);
+        return isLinear(segment) ? sourceStart(segment) + outputEnd - outputStart(segment) : sourceEnd(segment);
+    }
+
+    /**
+     * @param sourceOffset an offset in the source, from its start to its end
+     * @return the offset of the output converted from the source character at the given offset
+     */
+    public int toOutput(final int sourceOffset) {
+        checkOffset(sourceOffset, sourceStart, sourceEnd);
+        if(sourceOffset == sourceEnd) return outputEnd;
+        final int segment = segment(sourceStarts, sourceOffset);
+        return isLinear(segment) ? outputStart(segment) + sourceOffset - sourceStart(segment) : outputStart(segment);
+    }
+
+    /**
+     * @param sourceEnd the end of a range in the source (exclusive), from its start to its end
+     * @return the end (exclusive) of the output converted from the source range ending at the given offset
+     */
+    public int toOutputEnd(final int sourceEnd) {
+        checkOffset(sourceEnd, sourceStart, this.sourceEnd);
+        if(sourceEnd == sourceStart) return 0;
+        final int segment = segment(sourceStarts, sourceEnd - 1);
+        return isLinear(segment) ? outputStart(segment) + sourceEnd - sourceStart(segment) : outputEnd(segment);
+    }
+
+    /**
+     * @return the offset in the source of each character of the output, as with {@link #toSource(int)}, followed by
+     * the end of the source
+     */
+    public int [] toSourceOffsets() {
+        final int [] offsets = new int[outputEnd + 1];
+        for(int segment = 0; segment < size; segment++) {
+            final boolean linear = isLinear(segment);
+            for(int o = outputStart(segment); o < outputEnd(segment); o++) {
+                offsets[o] = linear ? sourceStart(segment) + o - outputStart(segment) : sourceStart(segment);
+            }
+        }
+        offsets[outputEnd] = sourceEnd;
+        return offsets;
+    }
+
+    private static void checkOffset(final int offset, final int min, final int max) {
+        if(offset < min || offset > max) throw new IndexOutOfBoundsException("Offset " + offset + " not in [" + min + ", " + max + "]");
+    }
+
+    @Override
+    public String toString() {
+        return "OffsetAlignment{source=[" + sourceStart + ", " + sourceEnd + "), output=[0, " + outputEnd + "), segments=" + size + '}';
+    }
+}
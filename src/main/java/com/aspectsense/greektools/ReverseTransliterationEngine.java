@@ -0,0 +1,263 @@
+package com.aspectsense.greektools;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * The inverse of a {@link TransliterationEngine}, converting Greeklish back to Greek. The rule tables of
+ * {@link Greeklish} are inverted and compiled once into a longest-match trie over the Latin keys, e.g. "nch" to "γχ",
+ * "th" to "θ" and "ou" to "ου", which then converts each word in a single left-to-right pass.
+ *
+ * Some keys only apply in context, and otherwise a shorter key is matched:
+ * <ul>
+ *     <li>"av"/"ev" become "αυ"/"ευ" before voiced consonants (or as a word of their own), and "af"/"ef" become
+ *     "αυ"/"ευ" before voiceless consonants and at the end of the word; before vowels they stay "αβ"/"εβ" and
+ *     "αφ"/"εφ", which are by far the most frequent there (e.g. "taverna", "afou")</li>
+ *     <li>"s" becomes the final sigma "ς" at the end of the word, i.e. when it is not followed by a letter</li>
+ *     <li>"B" becomes "ΜΠ" in a word in all caps, and "Μπ" otherwise</li>
+ * </ul>
+ *
+ * Where more than one Greek letter has the same transliteration, the one without accents is preferred, and where the
+ * transliteration with accents tells them apart (e.g. "i" for "ι" and "ī" for "η") the letter which has no accents in
+ * that transliteration wins, so text transliterated with accents is converted back exactly.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+final class ReverseTransliterationEngine implements WordTransliterator {
+
+    /** Characters below this bound are looked up directly at the root, covering ASCII, Latin-1 and Latin Extended-A. */
+    private static final int ROOT_TABLE_SIZE = 0x0180;
+
+    // the contexts in which a rule applies
+    private static final int ANY = 0;
+    private static final int BEFORE_VOICED = 1;
+    private static final int BEFORE_VOICELESS_OR_AT_END = 2;
+    private static final int AT_END = 3;
+
+    // tri-state used to compute lazily whether the current word is in all caps
+    private static final int UNKNOWN = 0;
+    private static final int TRUE = 1;
+    private static final int FALSE = 2;
+
+    private final Node [] rootTable = new Node[ROOT_TABLE_SIZE];
+    private final Node root = new Node();
+    // the ASCII letters which start the transliteration of voiced and voiceless consonants respectively
+    private final boolean [] voiced = new boolean[128];
+    private final boolean [] voiceless = new boolean[128];
+
+    /**
+     * Inverts and compiles the given tables, which are the ones used for the transliteration to Greeklish with accents
+     * (so that, for example, "η" maps to "ī" rather than "i"). Each table lists its keys and values one after the
+     * other, as in {@link TransliterationEngine}, and no key may appear twice in the same table.
+     *
+     * @param wordInitial keys that are only matched at the beginning of a word, e.g. "μπ" to "b"
+     * @param notes_1_2 keys with two values, e.g. "αυ" to "av" and "af"
+     * @param exceptions digraphs, e.g. "ου" to "ou"
+     * @param allCaps alternative mappings used when the whole word is in capitals, e.g. "Θ" to "TH"
+     * @param mapping the single letter mappings
+     */
+    ReverseTransliterationEngine(final String [] wordInitial,
+                                 final String [] notes_1_2,
+                                 final String [] exceptions,
+                                 final String [] allCaps,
+                                 final String [] mapping) {
+        String finalSigma = null;
+        for(int i = 0; i < mapping.length; i += 2) {
+            final String greek = mapping[i];
+            final char c = greek.charAt(0);
+            if(greek.length() == 1 && (GreekCharClass.isNote1(c) || GreekCharClass.isNote2(c)) && !GreekCharClass.isVowel(c)) {
+                final char first = Character.toLowerCase(mapping[i + 1].charAt(0));
+                if(first < 128) (GreekCharClass.isNote1(c) ? voiced : voiceless)[first] = true;
+            }
+            if(c == 'ς') {
+                finalSigma = mapping[i + 1]; // added below, as the final form of "σ"
+                continue;
+            }
+            add(mapping[i + 1], greek, ANY);
+        }
+        if(finalSigma != null) add(finalSigma, "ς", AT_END);
+        for(int i = 0; i < allCaps.length; i += 2) {
+            add(allCaps[i + 1], allCaps[i], ANY);
+        }
+        for(int i = 0; i < exceptions.length; i += 2) {
+            add(exceptions[i + 1], exceptions[i], ANY);
+        }
+        for(int i = 0; i < notes_1_2.length; i += 3) {
+            add(notes_1_2[i + 1], notes_1_2[i], BEFORE_VOICED);
+            add(notes_1_2[i + 2], notes_1_2[i], BEFORE_VOICELESS_OR_AT_END);
+        }
+        // the word-initial keys apply everywhere, as e.g. "b" cannot stand for anything else
+        for(int i = 0; i < wordInitial.length; i += 2) {
+            add(wordInitial[i + 1], wordInitial[i], ANY);
+            final char first = Character.toLowerCase(wordInitial[i + 1].charAt(0));
+            if(first < 128 && GreekCharClass.isNote1(wordInitial[i].charAt(0))) voiced[first] = true;
+        }
+        for(int c = 0; c < ROOT_TABLE_SIZE; c++) {
+            rootTable[c] = root.child((char) c);
+        }
+    }
+
+    /**
+     * Adds a rule converting the given Latin key to the given Greek text. Keys which differ only in the case of the
+     * Greek text (e.g. "B" for "ΜΠ" and "Μπ") keep the variant in all caps for words in all caps.
+     */
+    private void add(final String latin, final String greek, final int context) {
+        if(latin.isEmpty()) throw new IllegalArgumentException("Empty keys are not allowed");
+        Node node = root;
+        for(int i = 0; i < latin.length(); i++) {
+            node = node.childOrCreate(latin.charAt(i));
+        }
+        for(int r = 0; r < node.rules.length; r++) {
+            final Rule rule = node.rules[r];
+            if(rule.context != context) continue;
+            if(rule.output.equals(greek)) return;
+            if(rule.outputAllCaps == null && rule.output.equalsIgnoreCase(greek)) {
+                node.rules[r] = isAllCaps(greek) ? new Rule(rule.output, greek, context) : new Rule(greek, rule.output, context);
+                return;
+            }
+            throw new IllegalArgumentException("Ambiguous key '" + latin + "': '" + rule.output + "' or '" + greek + "'");
+        }
+        // the rules with a context are checked before the rules which apply anywhere
+        final Rule [] rules = Arrays.copyOf(node.rules, node.rules.length + 1);
+        if(context == ANY) {
+            rules[rules.length - 1] = new Rule(greek, null, context);
+        } else {
+            System.arraycopy(rules, 0, rules, 1, rules.length - 1);
+            rules[0] = new Rule(greek, null, context);
+        }
+        node.rules = rules;
+    }
+
+    private static boolean isAllCaps(final String text) {
+        return text.equals(text.toUpperCase());
+    }
+
+    @Override
+    public void transliterateWord(final CharSequence text, final int start, final int end, final Appendable out) throws IOException {
+        int allCaps = UNKNOWN;
+        int i = start;
+        while(i < end) {
+            final char c = text.charAt(i);
+            Node node = c < ROOT_TABLE_SIZE ? rootTable[c] : root.child(c);
+            // walk the trie, keeping the longest key with a rule which applies in this context
+            Rule match = null;
+            int matchEnd = i;
+            int j = i;
+            while(node != null) {
+                j++;
+                final Rule rule = applicable(node.rules, text, start, i, j, end);
+                if(rule != null) {
+                    match = rule;
+                    matchEnd = j;
+                }
+                if(j >= end) break;
+                node = node.child(text.charAt(j));
+            }
+            if(match == null) {
+                out.append(c);
+                i++;
+                continue;
+            }
+            if(match.outputAllCaps != null) {
+                if(allCaps == UNKNOWN) {
+                    allCaps = isLatinWordInAllCaps(text, start, end) ? TRUE : FALSE;
+                }
+                out.append(allCaps == TRUE ? match.outputAllCaps : match.output);
+            } else {
+                out.append(match.output);
+            }
+            i = matchEnd;
+        }
+    }
+
+    @Override
+    public void transliterateSeparator(final char c, final Appendable out) throws IOException {
+        final Node node = c < ROOT_TABLE_SIZE ? rootTable[c] : root.child(c);
+        if(node != null) {
+            for(final Rule rule : node.rules) {
+                if(rule.context == ANY) {
+                    out.append(rule.output);
+                    return;
+                }
+            }
+        }
+        out.append(c);
+    }
+
+    /**
+     * @return the first of the given rules which applies to the key found between matchStart and matchEnd, or null
+     */
+    private Rule applicable(final Rule [] rules, final CharSequence text, final int start, final int matchStart,
+                            final int matchEnd, final int end) {
+        for(final Rule rule : rules) {
+            if(rule.context == ANY) return rule;
+            final boolean atEnd = matchEnd == end || !Character.isLetter(text.charAt(matchEnd));
+            final char next = atEnd ? 0 : Character.toLowerCase(text.charAt(matchEnd));
+            switch (rule.context) {
+                case BEFORE_VOICED:
+                    // a word which consists only of the digraph (e.g. "av") stands for the digraph (see issue #1)
+                    if((matchStart == start && matchEnd == end) || (next < 128 && voiced[next])) return rule;
+                    break;
+                case BEFORE_VOICELESS_OR_AT_END:
+                    if(atEnd || (next < 128 && voiceless[next])) return rule;
+                    break;
+                case AT_END:
+                    if(atEnd) return rule;
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown context: " + rule.context);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isLatinWordInAllCaps(final CharSequence text, final int start, final int end) {
+        for(int i = start; i < end; i++) {
+            if(Character.isLowerCase(text.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    private static final class Rule {
+        private final String output;
+        private final String outputAllCaps;
+        private final int context;
+
+        private Rule(final String output, final String outputAllCaps, final int context) {
+            this.output = output;
+            this.outputAllCaps = outputAllCaps;
+            this.context = context;
+        }
+    }
+
+    private static final class Node {
+        private static final Rule [] NO_RULES = new Rule[0];
+
+        private char [] labels = new char[0];
+        private Node [] children = new Node[0];
+        private Rule [] rules = NO_RULES;
+
+        private Node child(final char c) {
+            final int index = Arrays.binarySearch(labels, c);
+            return index < 0 ? null : children[index];
+        }
+
+        private Node childOrCreate(final char c) {
+            int index = Arrays.binarySearch(labels, c);
+            if(index >= 0) return children[index];
+            index = -index - 1;
+            final char [] newLabels = new char[labels.length + 1];
+            final Node [] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(labels, index, newLabels, index + 1, labels.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            newLabels[index] = c;
+            newChildren[index] = new Node();
+            labels = newLabels;
+            children = newChildren;
+            return children[index];
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.aspectsense.greektools;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+
+/**
+ * Splits a stream of characters into words and transliterates each word as soon as it is complete, i.e. when the
+ * next character which is not part of a word is seen (see {@link WordTokenizer}). Only the current word is kept in
+ * memory, in a buffer of fixed size, so words spanning the boundary of two consecutive chunks of input are converted
+ * as a whole. The whitespace and punctuation between words are copied to the output as they are.
+ *
+ * Words longer than the buffer (which do not occur in natural text) are converted in pieces of the buffer size.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+final class StreamingTransliterator {
+
+    static final int DEFAULT_BUFFER_SIZE = 8192;
+    static final int MIN_BUFFER_SIZE = 16;
+
+    private final TransliterationEngine engine;
+    private final char [] word;
+    private final CharBuffer wordView;
+    private int wordLength = 0;
+
+    StreamingTransliterator(final TransliterationEngine engine, final int bufferSize) {
+        if(bufferSize < MIN_BUFFER_SIZE) throw new IllegalArgumentException("Buffer size must be at least " + MIN_BUFFER_SIZE);
+        this.engine = engine;
+        this.word = new char[bufferSize];
+        this.wordView = CharBuffer.wrap(word);
+    }
+
+    /**
+     * Consumes the given characters, appending to out the transliteration of every word completed so far.
+     */
+    void write(final char [] input, final int offset, final int length, final StringBuilder out) {
+        final int end = offset + length;
+        for(int i = offset; i < end; i++) {
+            final char c = input[i];
+            if(!WordTokenizer.isWordCharacter(c)) {
+                flushWord(out);
+                try {
+                    engine.transliterateSeparator(c, out);
+                } catch (IOException ioe) {
+                    throw new AssertionError("StringBuilder does not throw IOException", ioe);
+                }
+            } else {
+                if(wordLength == word.length) flushWord(out);
+                word[wordLength++] = c;
+            }
+        }
+    }
+
+    /**
+     * Signals the end of the input, appending to out the transliteration of the last word, if any.
+     */
+    void finish(final StringBuilder out) {
+        flushWord(out);
+    }
+
+    private void flushWord(final StringBuilder out) {
+        if(wordLength > 0) {
+            engine.transliterateWord(wordView, 0, wordLength, out);
+            wordLength = 0;
+        }
+    }
+}
@@ -0,0 +1,415 @@
+package com.aspectsense.greektools;
+
+import com.aspectsense.greektools.GreeklishListener.RuleFamily;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A transliteration table compiled into a longest-match trie. The rule tables of {@link Greeklish} are compiled once
+ * into an engine, which then converts each word in a single left-to-right pass, without regular expressions or
+ * intermediate strings.
+ *
+ * At every position the longest matching key wins. Keys coming from the exceptions tables (e.g. "ου", "γγ", "αυ") are
+ * two characters long, so they always take precedence over the single letter mappings, which is the same priority the
+ * tables had when they were applied one after the other.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+final class TransliterationEngine implements WordTransliterator {
+
+    /** Characters below this bound are looked up directly at the root, covering ASCII and the Greek and Coptic block. */
+    private static final int ROOT_TABLE_SIZE = 0x0400;
+
+    // tri-state used to compute lazily whether the current word is in all caps
+    private static final int UNKNOWN = 0;
+    private static final int TRUE = 1;
+    private static final int FALSE = 2;
+
+    // the rough breathing at the start of a word, which ISO 843 converts to "h" before a vowel and after a rho
+    private static final int NO_BREATHING = 0;
+    private static final int VOWEL_BREATHING = 1;
+    private static final int RHO_BREATHING = 2;
+
+    private final Node [] rootTable = new Node[ROOT_TABLE_SIZE];
+    private final Node root = new Node(0);
+    private final Node wordInitialRoot = new Node(0);
+    private volatile WordCache wordCache = null;
+    private volatile NameDictionary nameDictionary = null;
+    private volatile GreeklishListener listener = null;
+
+    /**
+     * Compiles the given tables, where each table lists its keys and values one after the other, e.g.
+     * {@code {"ου", "ou", "γγ", "ng"}}. Where the same key appears in more than one table, the more specific table
+     * wins, i.e. notes 1/2 over exceptions, and exceptions over plain mappings.
+     *
+     * @param wordInitial keys that are only matched at the beginning of a word, e.g. "μπ" to "b"
+     * @param notes_1_2 keys with two values, the first used before vowels and voiced consonants (note 1), the second
+     *                  used before voiceless consonants and at the end of the word (note 2)
+     * @param exceptions digraphs, e.g. "ου" to "ou"
+     * @param allCaps alternative mappings used when the whole word is in capitals, e.g. "Θ" to "TH"
+     * @param mapping the single letter mappings
+     */
+    TransliterationEngine(final String [] wordInitial,
+                          final String [] notes_1_2,
+                          final String [] exceptions,
+                          final String [] allCaps,
+                          final String [] mapping) {
+        for(int i = 0; i < wordInitial.length; i += 2) {
+            insert(wordInitialRoot, wordInitial[i]).rule = new Rule(wordInitial[i + 1], null, null, RuleFamily.WORD_INITIAL);
+        }
+        for(int i = 0; i < mapping.length; i += 2) {
+            insert(root, mapping[i]).rule = new Rule(mapping[i + 1], null, null, null);
+        }
+        for(int i = 0; i < allCaps.length; i += 2) {
+            final Node node = insert(root, allCaps[i]);
+            final String output = node.rule == null ? allCaps[i + 1] : node.rule.output;
+            node.rule = new Rule(output, allCaps[i + 1], null, RuleFamily.ALL_CAPS);
+        }
+        for(int i = 0; i < exceptions.length; i += 2) {
+            insert(root, exceptions[i]).rule = new Rule(exceptions[i + 1], null, null, RuleFamily.EXCEPTIONS);
+        }
+        for(int i = 0; i < notes_1_2.length; i += 3) {
+            insert(root, notes_1_2[i]).rule = new Rule(notes_1_2[i + 1], null, notes_1_2[i + 2], RuleFamily.NOTES_1_2);
+        }
+        for(int c = 0; c < ROOT_TABLE_SIZE; c++) {
+            rootTable[c] = root.child((char) c);
+        }
+    }
+
+    /**
+     * Sets the cache used in front of this engine, or null to disable caching.
+     */
+    void setWordCache(final WordCache wordCache) {
+        this.wordCache = wordCache;
+    }
+
+    /**
+     * Sets the dictionary of whole words checked before the rules, or null to use the rules only.
+     */
+    void setNameDictionary(final NameDictionary nameDictionary) {
+        this.nameDictionary = nameDictionary;
+    }
+
+    /**
+     * Sets the listener notified of the rules applied, or null to notify none.
+     */
+    void setListener(final GreeklishListener listener) {
+        this.listener = listener;
+    }
+
+    private static Node insert(final Node root, final String key) {
+        if(key.isEmpty()) throw new IllegalArgumentException("Empty keys are not allowed");
+        Node node = root;
+        for(int i = 0; i < key.length(); i++) {
+            node = node.childOrCreate(key.charAt(i));
+        }
+        return node;
+    }
+
+    /**
+     * Transliterates the word found in text between start (inclusive) and end (exclusive), appending the result to
+     * the given builder.
+     *
+     * @param text the text containing the word
+     * @param start the index of the first character of the word
+     * @param end the index after the last character of the word
+     * @param out the builder where the transliterated word is appended
+     */
+    void transliterateWord(final CharSequence text, final int start, final int end, final StringBuilder out) {
+        try {
+            transliterateWord(text, start, end, (Appendable) out);
+        } catch (IOException ioe) {
+            throw new AssertionError("StringBuilder does not throw IOException", ioe);
+        }
+    }
+
+    /**
+     * Transliterates the word found in text between start (inclusive) and end (exclusive), appending the result to
+     * the given appendable.
+     *
+     * @param text the text containing the word
+     * @param start the index of the first character of the word
+     * @param end the index after the last character of the word
+     * @param out where the transliterated word is appended
+     * @throws IOException if appending to out fails
+     */
+    @Override
+    public void transliterateWord(final CharSequence text, final int start, final int end, final Appendable out) throws IOException {
+        if(start >= end) return;
+        // the dictionary comes before the cache, so that the cache never holds words converted by the rules instead
+        final NameDictionary dictionary = nameDictionary;
+        if(dictionary != null && dictionary.lookup(text, start, end, out) >= 0) return;
+        final WordCache cache = wordCache;
+        if(cache == null) {
+            convert(text, start, end, out);
+        } else {
+            String converted = cache.get(this, text, start, end);
+            if(converted == null) {
+                final StringBuilder stringBuilder = new StringBuilder(end - start + 8);
+                convert(text, start, end, stringBuilder);
+                converted = stringBuilder.toString();
+                cache.put(this, text.subSequence(start, end).toString(), converted);
+            }
+            out.append(converted);
+        }
+    }
+
+    @Override
+    public void transliterateSeparator(final char c, final Appendable out) throws IOException {
+        final String output = separator(c);
+        if(output == null) out.append(c);
+        else out.append(output);
+    }
+
+    /**
+     * @return the output of the rule for the given single character, or null if there is none
+     */
+    private String separator(final char c) {
+        final Node node = c < ROOT_TABLE_SIZE ? rootTable[c] : root.child(c);
+        return node == null || node.rule == null ? null : node.rule.output;
+    }
+
+    /**
+     * Transliterates the text between start (inclusive) and end (exclusive), as with
+     * {@link Greeklish#transliterate(WordTransliterator, CharSequence, int, int, Appendable)}, recording in the given
+     * alignment the source offsets of the output. The word cache is bypassed, as it does not keep the alignment.
+     *
+     * @param text the text to be transliterated
+     * @param start the index of the first character
+     * @param end the index after the last character
+     * @param out where the transliterated text is appended
+     * @param alignment where the offsets are recorded
+     * @throws IOException if appending to out fails
+     */
+    void transliterate(final CharSequence text, final int start, final int end, final Appendable out,
+                       final OffsetAlignment alignment) throws IOException {
+        int i = start;
+        while(i < end) {
+            final char c = text.charAt(i);
+            if(!WordTokenizer.isWordCharacter(c)) {
+                final String output = separator(c);
+                if(output == null) {
+                    out.append(c);
+                    alignment.add(i, i + 1, 1);
+                } else {
+                    out.append(output);
+                    alignment.add(i, i + 1, output.length());
+                }
+                i++;
+                continue;
+            }
+            final int wordEnd = WordTokenizer.nextBoundary(text, i + 1, end);
+            final NameDictionary dictionary = nameDictionary;
+            final int length = dictionary == null ? -1 : dictionary.lookup(text, i, wordEnd, out);
+            if(length >= 0) alignment.add(i, wordEnd, length);
+            else convert(text, i, wordEnd, out, alignment);
+            i = wordEnd;
+        }
+    }
+
+    private void convert(final CharSequence text, final int start, final int end, final Appendable out) throws IOException {
+        convert(text, start, end, out, null);
+    }
+
+    private void convert(final CharSequence text, final int start, final int end, final Appendable out,
+                         final OffsetAlignment alignment) throws IOException {
+        int allCaps = UNKNOWN;
+        int i = start;
+        final GreeklishListener listener = this.listener;
+        // only words with polytonic letters or combining marks need folding, which is checked once for the whole word
+        final boolean folding = needsFolding(text, start, end);
+        final int breathing = folding ? initialBreathing(text, start, end) : NO_BREATHING;
+        // handle the word-initial rules, e.g. words starting with ΜΠ, Μπ, μπ
+        {
+            final int next = folding ? GreekCharClass.endOfCombiningMarks(text, i, end) : i + 1;
+            final char c = folding ? matchedChar(text, i, next) : text.charAt(i);
+            final Node match = match(wordInitialRoot.child(c), text, next, end, folding);
+            if(match != null) {
+                final int matchEnd = folding ? skip(text, next, end, match.depth - 1) : i + match.depth;
+                out.append(match.rule.output);
+                if(alignment != null) alignment.add(i, matchEnd, match.rule.output.length());
+                if(listener != null) listener.ruleApplied(RuleFamily.WORD_INITIAL);
+                i = matchEnd;
+            }
+        }
+        while(i < end) {
+            final int next = folding ? GreekCharClass.endOfCombiningMarks(text, i, end) : i + 1;
+            final char c = folding ? matchedChar(text, i, next) : text.charAt(i);
+            final Node match = match(c < ROOT_TABLE_SIZE ? rootTable[c] : root.child(c), text, next, end, folding);
+            if(match == null) {
+                // copied as it is, together with any combining marks
+                if(next == i + 1) out.append(text.charAt(i));
+                else out.append(text, i, next);
+                if(alignment != null) alignment.add(i, next, next - i);
+                i = next;
+                continue;
+            }
+            final Rule rule = match.rule;
+            final int matchEnd = folding ? skip(text, next, end, match.depth - 1) : i + match.depth;
+            String output;
+            if(rule.outputNote2 != null) {
+                // a word which consists only of the digraph (e.g. "αυ") keeps the note 1 form (see issue #1)
+                final boolean wholeWord = i == start && matchEnd == end;
+                final boolean note1 = wholeWord || (matchEnd < end && Greeklish.checkNote1(text.charAt(matchEnd)));
+                output = note1 ? rule.output : rule.outputNote2;
+            } else if(rule.outputAllCaps != null) {
+                if(allCaps == UNKNOWN) {
+                    allCaps = Greeklish.isGreekWordInAllCaps(text, start, end) ? TRUE : FALSE;
+                }
+                output = allCaps == TRUE ? rule.outputAllCaps : rule.output;
+            } else {
+                output = rule.output;
+            }
+            if(breathing != NO_BREATHING && i == start) output = withBreathing(output, breathing, text, start, end);
+            out.append(output);
+            if(alignment != null) alignment.add(i, matchEnd, output.length());
+            // the mappings of words in all caps only count when they are used
+            if(listener != null && rule.family != null && (rule.outputAllCaps == null || allCaps == TRUE)) {
+                listener.ruleApplied(rule.family);
+            }
+            i = matchEnd;
+        }
+    }
+
+    /**
+     * Walks the trie from the given node, which already consumed the characters before index j.
+     *
+     * @return the node of the longest key matching, or null if there is none
+     */
+    private static Node match(Node node, final CharSequence text, int j, final int end, final boolean folding) {
+        Node match = null;
+        while(node != null) {
+            if(node.rule != null) match = node;
+            if(j >= end) break;
+            if(folding) {
+                final int next = GreekCharClass.endOfCombiningMarks(text, j, end);
+                node = node.child(matchedChar(text, j, next));
+                j = next;
+            } else {
+                node = node.child(text.charAt(j++));
+            }
+        }
+        return match;
+    }
+
+    /**
+     * @return true if the word between start and end has polytonic letters or combining marks
+     */
+    private static boolean needsFolding(final CharSequence text, final int start, final int end) {
+        for(int i = start; i < end; i++) {
+            final char c = text.charAt(i);
+            if(c >= GreekCharClass.COMBINING_MARKS_START && (c < GreekCharClass.COMBINING_MARKS_END || c >= GreekCharClass.GREEK_EXTENDED_START)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the rough breathing at the start of a word, which is on its first letter, or on the second letter of an
+     * initial diphthong (e.g. "οἱ"), either precomposed or as a combining mark.
+     *
+     * @return {@link #VOWEL_BREATHING} for a vowel, {@link #RHO_BREATHING} for an initial rho, or else
+     * {@link #NO_BREATHING}
+     */
+    private static int initialBreathing(final CharSequence text, final int start, final int end) {
+        int i = start;
+        for(int n = 0; n < 2 && i < end; n++) {
+            final char c = text.charAt(i);
+            final int next = GreekCharClass.endOfCombiningMarks(text, i, end);
+            final boolean vowel = GreekCharClass.isVowel(c);
+            if(GreekCharClass.hasRoughBreathing(c) || GreekCharClass.hasRoughBreathing(text, i + 1, next)) {
+                if(vowel) return VOWEL_BREATHING;
+                return n == 0 && Character.toLowerCase(GreekCharClass.stripAccent(c)) == 'ρ' ? RHO_BREATHING : NO_BREATHING;
+            }
+            if(!vowel) break;
+            i = next;
+        }
+        return NO_BREATHING;
+    }
+
+    /**
+     * Adds the "h" of a rough breathing to the output of the first letters of a word, i.e. "ὁ" is converted to "ho",
+     * "Οἱ" to "Hoi" and "Ῥόδος" to "Rhodos". The "h" is in upper case in words in all caps, as are the letters after
+     * the first one.
+     */
+    private static String withBreathing(final String output, final int breathing, final CharSequence text,
+                                        final int start, final int end) {
+        if(output.isEmpty()) return output;
+        final char first = output.charAt(0);
+        final int second = GreekCharClass.endOfCombiningMarks(text, start, end);
+        final boolean allCaps = Character.isUpperCase(first) && second < end && GreekCharClass.isUpper(text.charAt(second));
+        if(breathing == RHO_BREATHING) return first + (allCaps ? "H" : "h") + output.substring(1);
+        if(allCaps) return "H" + output;
+        if(Character.isUpperCase(first)) return "H" + Character.toLowerCase(first) + output.substring(1);
+        return "h" + output;
+    }
+
+    /**
+     * Returns the character at index i as it is matched against the rules, so that polytonic and decomposed (NFD)
+     * text is converted in the same pass as monotonic text: a polytonic letter is replaced by its monotonic version,
+     * and the combining marks after a letter, up to next, are composed onto it, e.g. "ἄ" and "α" followed by the
+     * combining acute accent are both matched as "ά".
+     */
+    private static char matchedChar(final CharSequence text, final int i, final int next) {
+        final char c = GreekCharClass.toMonotonic(text.charAt(i));
+        return next == i + 1 ? c : GreekCharClass.withCombiningMarks(c, text, i + 1, next);
+    }
+
+    /**
+     * @return the index after the given number of characters from index i, each with its combining marks
+     */
+    private static int skip(final CharSequence text, int i, final int end, final int count) {
+        for(int n = 0; n < count; n++) i = GreekCharClass.endOfCombiningMarks(text, i, end);
+        return i;
+    }
+
+    private static final class Rule {
+        private final String output;
+        private final String outputAllCaps;
+        private final String outputNote2;
+        private final RuleFamily family; // null for the single letter mappings
+
+        private Rule(final String output, final String outputAllCaps, final String outputNote2, final RuleFamily family) {
+            this.output = output;
+            this.outputAllCaps = outputAllCaps;
+            this.outputNote2 = outputNote2;
+            this.family = family;
+        }
+    }
+
+    private static final class Node {
+        private final int depth;
+        private char [] labels = new char[0];
+        private Node [] children = new Node[0];
+        private Rule rule;
+
+        private Node(final int depth) {
+            this.depth = depth;
+        }
+
+        private Node child(final char c) {
+            final int index = Arrays.binarySearch(labels, c);
+            return index < 0 ? null : children[index];
+        }
+
+        private Node childOrCreate(final char c) {
+            int index = Arrays.binarySearch(labels, c);
+            if(index >= 0) return children[index];
+            index = -index - 1;
+            final char [] newLabels = new char[labels.length + 1];
+            final Node [] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(labels, index, newLabels, index + 1, labels.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            newLabels[index] = c;
+            newChildren[index] = new Node(depth + 1);
+            labels = newLabels;
+            children = newChildren;
+            return children[index];
+        }
+    }
+}
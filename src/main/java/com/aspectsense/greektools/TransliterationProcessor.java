@@ -0,0 +1,365 @@
+package com.aspectsense.greektools;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A {@link Flow.Processor} which applies a text operation, e.g. {@link Greeklish#toGreeklish(String)}, to every item
+ * of a stream, with backpressure. Items are converted in batches on an {@link Executor}, with several batches in
+ * flight at a time, and they are delivered downstream in the order they were received.
+ *
+ * The processor never holds more than {@link Builder#bufferSize(int)} items: it requests that many items from
+ * upstream at first, and then requests one more item for each item delivered downstream, so a slow subscriber slows
+ * down the publisher instead of filling up a queue. Items waiting to be converted are grouped in batches of up to
+ * {@link Builder#batchSize(int)} items, which amortizes the cost of handing work to the executor; when the executor
+ * is idle, even a single item is converted at once, so batching adds no latency to a slow stream.
+ *
+ * If the operation fails for an item, the items before it are delivered, followed by the error, and the upstream
+ * subscription is cancelled. Errors from upstream are passed on at once. Only one subscriber is supported.
+ *
+ * For example:
+ * <pre>{@code
+ * final TransliterationProcessor processor = TransliterationProcessor.builder(Greeklish::toGreeklish)
+ *         .parallelism(4)
+ *         .build();
+ * publisher.subscribe(processor);
+ * processor.subscribe(subscriber);
+ * }</pre>
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public final class TransliterationProcessor implements Flow.Processor<String, String> {
+
+    public static final int DEFAULT_BATCH_SIZE = 64;
+    public static final int DEFAULT_BUFFER_SIZE = 1024;
+
+    private final Function<? super String, String> operation;
+    private final Executor executor;
+    private final int parallelism;
+    private final int batchSize;
+
+    // the items received from upstream, in a ring indexed by their sequence number
+    private final String [] inputs;
+    private volatile long received = 0; // written only by the upstream publisher
+
+    // the rest of the state is only accessed in drain(), apart from the volatile and atomic fields
+    private final ArrayDeque<Batch> batches = new ArrayDeque<>();
+    private long dispatched = 0;
+    private int emittedFromHead = 0;
+    private int toRequest = 0;
+    private boolean terminated = false;
+
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicLong requested = new AtomicLong();
+    private final Object subscriberLock = new Object();
+    private volatile Flow.Subscription upstream = null;
+    private volatile Flow.Subscriber<? super String> downstream = null;
+    private volatile boolean upstreamDone = false;
+    private volatile Throwable error = null;
+    private volatile boolean cancelled = false;
+
+    private TransliterationProcessor(final Builder builder) {
+        this.operation = builder.operation;
+        this.executor = builder.executor;
+        this.parallelism = builder.parallelism;
+        this.batchSize = builder.batchSize;
+        this.inputs = new String[builder.bufferSize];
+    }
+
+    /**
+     * @param operation the operation applied to every item, e.g. {@code Greeklish::toGreeklish} or
+     *                  {@code TransliterationProfile.PHONETIC.transliterator()::transliterate}
+     * @return a builder of a processor applying the given operation
+     */
+    public static Builder builder(final Function<? super String, String> operation) {
+        return new Builder(operation);
+    }
+
+    // ------------------------------------------------------------------------------------------------ upstream side
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription);
+        if(upstream != null || cancelled) {
+            subscription.cancel(); // only one upstream is allowed
+            return;
+        }
+        upstream = subscription;
+        subscription.request(inputs.length);
+    }
+
+    @Override
+    public void onNext(final String item) {
+        Objects.requireNonNull(item);
+        // the slot is free, as the publisher never sends more items than requested, see emit()
+        final long sequence = received;
+        inputs[(int) (sequence % inputs.length)] = item;
+        received = sequence + 1;
+        drain();
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+        Objects.requireNonNull(throwable);
+        if(error == null) error = throwable;
+        upstreamDone = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        upstreamDone = true;
+        drain();
+    }
+
+    // ---------------------------------------------------------------------------------------------- downstream side
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super String> subscriber) {
+        Objects.requireNonNull(subscriber);
+        synchronized (subscriberLock) {
+            if(downstream != null) {
+                subscriber.onSubscribe(new Flow.Subscription() {
+                    @Override public void request(final long n) {}
+                    @Override public void cancel() {}
+                });
+                subscriber.onError(new IllegalStateException("Only one subscriber is supported"));
+                return;
+            }
+            subscriber.onSubscribe(new DownstreamSubscription());
+            downstream = subscriber;
+        }
+        drain();
+    }
+
+    private final class DownstreamSubscription implements Flow.Subscription {
+        @Override
+        public void request(final long n) {
+            if(n <= 0) {
+                if(error == null) error = new IllegalArgumentException("Non-positive request: " + n);
+                cancelUpstream();
+            } else {
+                requested.getAndAccumulate(n, (current, add) -> current + add < 0 ? Long.MAX_VALUE : current + add);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            cancelUpstream();
+        }
+    }
+
+    private void cancelUpstream() {
+        final Flow.Subscription subscription = upstream;
+        if(subscription != null) subscription.cancel();
+        upstreamDone = true;
+    }
+
+    // ------------------------------------------------------------------------------------------------------- drain
+
+    /**
+     * Moves the items along: delivers the converted items in order, as far as the demand of the subscriber allows,
+     * hands the received items to the executor in batches, and finally signals completion or errors. Only one thread
+     * at a time runs the loop, and any calls in the meantime make it run once more.
+     */
+    private void drain() {
+        if(wip.getAndIncrement() != 0) return;
+        int missed = 1;
+        do {
+            if(!terminated) {
+                if(cancelled) {
+                    terminated = true;
+                    batches.clear();
+                } else {
+                    final Flow.Subscriber<? super String> subscriber = downstream;
+                    if(subscriber != null) emit(subscriber);
+                    if(!terminated) dispatch();
+                }
+            }
+            missed = wip.addAndGet(-missed);
+        } while(missed != 0);
+    }
+
+    private void emit(final Flow.Subscriber<? super String> subscriber) {
+        final Throwable upstreamError = error;
+        if(upstreamError != null) {
+            terminate(subscriber, upstreamError);
+            return;
+        }
+        long demand = requested.get();
+        long delivered = 0;
+        while(!batches.isEmpty()) {
+            final Batch batch = batches.peekFirst();
+            if(!batch.done) break;
+            while(emittedFromHead < batch.numOfResults && delivered < demand) {
+                final String result = batch.results[emittedFromHead];
+                batch.results[emittedFromHead++] = null;
+                delivered++;
+                subscriber.onNext(result);
+                if(cancelled) return;
+            }
+            if(emittedFromHead < batch.numOfResults) break; // no more demand
+            if(batch.failure != null) {
+                cancelUpstream();
+                terminate(subscriber, batch.failure);
+                return;
+            }
+            batches.pollFirst();
+            emittedFromHead = 0;
+            toRequest += batch.numOfResults;
+        }
+        if(delivered > 0 && demand != Long.MAX_VALUE) requested.addAndGet(-delivered);
+
+        // replenish upstream in chunks, so that it is not asked for every single item
+        final Flow.Subscription subscription = upstream;
+        if(toRequest > 0 && subscription != null && !upstreamDone && (toRequest >= inputs.length / 4 || batches.isEmpty())) {
+            subscription.request(toRequest);
+            toRequest = 0;
+        }
+
+        if(upstreamDone && batches.isEmpty() && dispatched == received) {
+            subscriber.onComplete();
+            terminated = true;
+        }
+    }
+
+    private void terminate(final Flow.Subscriber<? super String> subscriber, final Throwable throwable) {
+        terminated = true;
+        batches.clear();
+        subscriber.onError(throwable);
+    }
+
+    private void dispatch() {
+        long pending = received - dispatched;
+        while(pending > 0 && batches.size() < parallelism) {
+            final int size = (int) Math.min(batchSize, pending);
+            final Batch batch = new Batch(size);
+            for(int i = 0; i < size; i++) {
+                final int index = (int) ((dispatched + i) % inputs.length);
+                batch.inputs[i] = inputs[index];
+                inputs[index] = null;
+            }
+            dispatched += size;
+            pending -= size;
+            batches.addLast(batch);
+            try {
+                executor.execute(batch);
+            } catch (RuntimeException re) { // e.g. the executor was shut down
+                batch.fail(0, re);
+            }
+        }
+    }
+
+    /**
+     * A batch of items, converted by a single task of the executor.
+     */
+    private final class Batch implements Runnable {
+        private final String [] inputs;
+        private final String [] results;
+        private int numOfResults = 0;
+        private Throwable failure = null;
+        private volatile boolean done = false;
+
+        private Batch(final int size) {
+            this.inputs = new String[size];
+            this.results = new String[size];
+        }
+
+        @Override
+        public void run() {
+            int i = 0;
+            try {
+                for(; i < inputs.length && !cancelled; i++) {
+                    results[i] = Objects.requireNonNull(operation.apply(inputs[i]), "The operation returned null");
+                }
+                numOfResults = i;
+            } catch (RuntimeException | Error e) {
+                fail(i, e);
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        private void fail(final int numOfResults, final Throwable failure) {
+            this.numOfResults = numOfResults;
+            this.failure = failure;
+            done = true;
+            drain();
+        }
+    }
+
+    /**
+     * Configures a {@link TransliterationProcessor}.
+     */
+    public static final class Builder {
+
+        private final Function<? super String, String> operation;
+        private Executor executor = ForkJoinPool.commonPool();
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        private int batchSize = DEFAULT_BATCH_SIZE;
+        private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+        private Builder(final Function<? super String, String> operation) {
+            this.operation = Objects.requireNonNull(operation);
+        }
+
+        /**
+         * @param executor the executor converting the batches, by default the common {@link ForkJoinPool}
+         * @return this builder
+         */
+        public Builder executor(final Executor executor) {
+            this.executor = Objects.requireNonNull(executor);
+            return this;
+        }
+
+        /**
+         * @param parallelism the maximum number of batches converted at the same time, by default the number of
+         *                    processors
+         * @return this builder
+         */
+        public Builder parallelism(final int parallelism) {
+            if(parallelism < 1) throw new IllegalArgumentException("Parallelism must be at least 1");
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * @param batchSize the maximum number of items converted by a single task, by default
+         *                  {@link #DEFAULT_BATCH_SIZE}
+         * @return this builder
+         */
+        public Builder batchSize(final int batchSize) {
+            if(batchSize < 1) throw new IllegalArgumentException("Batch size must be at least 1");
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * @param bufferSize the maximum number of items held by the processor, i.e. requested from upstream but not
+         *                   yet delivered downstream, by default {@link #DEFAULT_BUFFER_SIZE}
+         * @return this builder
+         */
+        public Builder bufferSize(final int bufferSize) {
+            if(bufferSize < 1) throw new IllegalArgumentException("Buffer size must be at least 1");
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        /**
+         * @return a new processor, which can be subscribed to a publisher once
+         */
+        public TransliterationProcessor build() {
+            return new TransliterationProcessor(this);
+        }
+    }
+}
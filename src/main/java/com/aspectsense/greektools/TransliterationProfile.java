@@ -0,0 +1,313 @@
+package com.aspectsense.greektools;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An immutable set of rules for the transliteration of Greek text to the Latin alphabet, e.g. ISO 843 or the style
+ * of Greek passports. A profile is defined with a {@link Builder}, usually starting from one of the built-in profiles,
+ * and it is compiled on first use into a {@link Transliterator}, which is then shared by all the users of the profile.
+ *
+ * The rules are grouped in the same tables used by ISO 843:
+ * <ul>
+ *     <li>single letter mappings, e.g. "θ" to "th"</li>
+ *     <li>digraphs, which take precedence over the single letters, e.g. "ου" to "ou"</li>
+ *     <li>digraphs with two alternatives, the first used before vowels and voiced consonants (note 1 of ISO 843) and
+ *     the second used before voiceless consonants and at the end of the word (note 2), e.g. "αυ" to "av" or "af"</li>
+ *     <li>mappings used instead when the whole word is in capitals, e.g. "Θ" to "TH" rather than "Th"</li>
+ *     <li>mappings used only at the beginning of a word, e.g. "μπ" to "b"</li>
+ * </ul>
+ * Each key is matched exactly, so the lower-case, capitalized and upper-case forms, as well as the forms with
+ * accents, need rules of their own. Characters without a rule are copied as they are.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public final class TransliterationProfile {
+
+    // the tables of a profile, each listing its rows one after the other
+    private static final int MAPPING = 0;
+    private static final int DIGRAPHS = 1;
+    private static final int VOICING = 2;
+    private static final int ALL_CAPS = 3;
+    private static final int WORD_INITIAL = 4;
+    private static final int NUM_OF_TABLES = 5;
+    // the number of strings in each row, i.e. the key and its values
+    private static final int [] WIDTHS = {2, 2, 3, 2, 2};
+
+    /** ISO 843 (ΕΛΟΤ 743) without accents, e.g. "Κόσμος" to "Kosmos", as in {@link Greeklish#toGreeklish(String)}. */
+    public static final TransliterationProfile ISO_843 = new TransliterationProfile("ISO 843",
+            GreeklishTables.MAPPING, GreeklishTables.EXCEPTIONS, GreeklishTables.NOTES_1_2,
+            GreeklishTables.ALL_CAPS, GreeklishTables.WORD_INITIAL);
+
+    /** ISO 843 (ΕΛΟΤ 743) with accents, e.g. "Κόσμος" to "Kósmos" and "η" to "ī". */
+    public static final TransliterationProfile ISO_843_WITH_ACCENTS = builder("ISO 843 with accents", ISO_843)
+            .addAll(MAPPING, GreeklishTables.MAPPING_WITH_ACCENTS)
+            .addAll(DIGRAPHS, GreeklishTables.EXCEPTIONS_WITH_ACCENTS)
+            .addAll(VOICING, GreeklishTables.NOTES_1_2_WITH_ACCENTS)
+            .build();
+
+    /**
+     * ΕΛΟΤ 743 as used in Greek passports and identity cards: no accents, "μπ" is always "mp" (e.g. "Μπαμπης" to
+     * "Mpampis"), and "ηυ" is "iv" or "if" like "αυ" and "ευ".
+     */
+    public static final TransliterationProfile ELOT_743_PASSPORT = builder("ELOT 743 passport", ISO_843)
+            .remove("ΜΠ").remove("Μπ").remove("μπ")
+            .voicing("ΗΥ", "IV", "IF").voicing("Ηυ", "Iv", "If").voicing("ηυ", "iv", "if")
+            .voicing("ΗΎ", "IV", "IF").voicing("Ηύ", "Iv", "If").voicing("ηύ", "iv", "if")
+            .build();
+
+    /**
+     * The UN and BGN/PCGN romanization of geographical names, which follows ΕΛΟΤ 743 except that "γκ", "μπ" and "ντ"
+     * are "g", "b" and "d" at the beginning of a word and "ng", "mb" and "nd" elsewhere, e.g. "Ντοματα" to "Domata"
+     * and "Λαμπρος" to "Lambros".
+     */
+    public static final TransliterationProfile UN_BGN = builder("UN/BGN", ELOT_743_PASSPORT)
+            .wordInitial("ΓΚ", "G").wordInitial("Γκ", "G").wordInitial("γκ", "g")
+            .wordInitial("ΜΠ", "B").wordInitial("Μπ", "B").wordInitial("μπ", "b")
+            .wordInitial("ΝΤ", "D").wordInitial("Ντ", "D").wordInitial("ντ", "d")
+            .digraph("ΓΚ", "NG").digraph("Γκ", "Ng").digraph("γκ", "ng")
+            .digraph("ΜΠ", "MB").digraph("Μπ", "Mb").digraph("μπ", "mb")
+            .digraph("ΝΤ", "ND").digraph("Ντ", "Nd").digraph("ντ", "nd")
+            .build();
+
+    /**
+     * Informal, phonetic Greeklish, which spells each sound the same way regardless of the Greek spelling, e.g.
+     * "η", "ι", "υ", "ει" and "οι" are all "i", "ω" is "o", "αι" is "e", "χ" is "h" and "ξ" is "ks". It suits search,
+     * as it matches the way most people type Greek in Latin letters.
+     */
+    public static final TransliterationProfile PHONETIC = phonetic();
+
+    private final String name;
+    private final String [][] tables;
+    private volatile Transliterator transliterator = null;
+
+    private TransliterationProfile(final String name, final String []... tables) {
+        this.name = name;
+        this.tables = tables;
+    }
+
+    /**
+     * @param name the name of the new profile
+     * @return a builder of a profile without any rules
+     */
+    public static Builder builder(final String name) {
+        return new Builder(name, new String[NUM_OF_TABLES][0]);
+    }
+
+    /**
+     * @param name the name of the new profile
+     * @param base the profile whose rules are copied, and then added to or replaced
+     * @return a builder of a profile with the rules of the given profile
+     */
+    public static Builder builder(final String name, final TransliterationProfile base) {
+        return new Builder(name, base.tables);
+    }
+
+    /**
+     * @return the name of this profile, e.g. "ISO 843"
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the transliterator of this profile. The profile is compiled on the first call, and the same
+     * transliterator is returned ever after.
+     *
+     * @return the transliterator of this profile
+     */
+    public Transliterator transliterator() {
+        Transliterator transliterator = this.transliterator;
+        if(transliterator == null) {
+            synchronized (this) {
+                transliterator = this.transliterator;
+                if(transliterator == null) {
+                    transliterator = new Transliterator(this);
+                    this.transliterator = transliterator;
+                }
+            }
+        }
+        return transliterator;
+    }
+
+    String [] mapping() {
+        return tables[MAPPING];
+    }
+
+    String [] digraphs() {
+        return tables[DIGRAPHS];
+    }
+
+    String [] voicing() {
+        return tables[VOICING];
+    }
+
+    String [] allCaps() {
+        return tables[ALL_CAPS];
+    }
+
+    String [] wordInitial() {
+        return tables[WORD_INITIAL];
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    private static TransliterationProfile phonetic() {
+        final Builder builder = builder("Phonetic", ISO_843);
+        // the same sounds spelled in different ways, in lower case, and with the accent on the second letter
+        final String [][] digraphs = {
+                {"ει", "i"}, {"εί", "i"}, {"οι", "i"}, {"οί", "i"}, {"υι", "i"}, {"υί", "i"}, {"αι", "e"}, {"αί", "e"},
+                {"μπ", "b"}, {"ντ", "d"}, {"γκ", "g"}};
+        for(final String [] digraph : digraphs) {
+            final String greek = digraph[0];
+            final String latin = digraph[1];
+            builder.digraph(greek, latin);
+            builder.digraph(greek.substring(0, 1).toUpperCase() + greek.substring(1), capitalize(latin));
+            builder.digraph(greek.toUpperCase(), latin.toUpperCase());
+        }
+        final String [][] letters = {
+                {"η", "i"}, {"ή", "i"}, {"υ", "i"}, {"ύ", "i"}, {"ϋ", "i"}, {"ΰ", "i"}, {"ω", "o"}, {"ώ", "o"},
+                {"ξ", "ks"}, {"χ", "h"}};
+        for(final String [] letter : letters) {
+            builder.map(letter[0], letter[1]);
+            final String upper = letter[0].toUpperCase();
+            if(upper.length() == 1) builder.map(upper, capitalize(letter[1])); // 'ΰ' has no upper-case letter
+        }
+        return builder.allCaps("Ξ", "KS").allCaps("Χ", "H").build();
+    }
+
+    private static String capitalize(final String latin) {
+        return latin.substring(0, 1).toUpperCase() + latin.substring(1);
+    }
+
+    /**
+     * Defines a {@link TransliterationProfile}. Adding a rule with the same key as an existing rule of the same kind
+     * replaces it. A builder is not thread-safe, but the profiles it builds are immutable.
+     */
+    public static final class Builder {
+
+        private final String name;
+        private final List<List<String>> tables = new ArrayList<>(NUM_OF_TABLES);
+
+        private Builder(final String name, final String [][] tables) {
+            if(name == null || name.isEmpty()) throw new IllegalArgumentException("A profile must have a name");
+            this.name = name;
+            for(final String [] table : tables) this.tables.add(new ArrayList<>(Arrays.asList(table)));
+        }
+
+        private Builder put(final int table, final String... row) {
+            for(final String value : row) {
+                if(value == null) throw new IllegalArgumentException("Null keys and values are not allowed");
+            }
+            if(row[0].isEmpty()) throw new IllegalArgumentException("Empty keys are not allowed");
+            final List<String> rows = tables.get(table);
+            final int index = indexOf(rows, WIDTHS[table], row[0]);
+            if(index == -1) {
+                rows.addAll(Arrays.asList(row));
+            } else {
+                for(int i = 0; i < row.length; i++) rows.set(index + i, row[i]);
+            }
+            return this;
+        }
+
+        private Builder addAll(final int table, final String [] rows) {
+            final int width = WIDTHS[table];
+            for(int i = 0; i < rows.length; i += width) put(table, Arrays.copyOfRange(rows, i, i + width));
+            return this;
+        }
+
+        private static int indexOf(final List<String> rows, final int width, final String key) {
+            for(int i = 0; i < rows.size(); i += width) {
+                if(rows.get(i).equals(key)) return i;
+            }
+            return -1;
+        }
+
+        /**
+         * Maps a single letter, e.g. "θ" to "th".
+         *
+         * @param greek the Greek letter, with or without accents
+         * @param latin its transliteration
+         * @return this builder
+         */
+        public Builder map(final String greek, final String latin) {
+            return put(MAPPING, greek, latin);
+        }
+
+        /**
+         * Maps a sequence of letters, which takes precedence over the mappings of its letters, e.g. "ου" to "ou".
+         *
+         * @param greek the Greek letters
+         * @param latin their transliteration
+         * @return this builder
+         */
+        public Builder digraph(final String greek, final String latin) {
+            return put(DIGRAPHS, greek, latin);
+        }
+
+        /**
+         * Maps a sequence of letters which depends on the letter following it, e.g. "αυ" to "av" before vowels and
+         * voiced consonants (note 1 of ISO 843) and to "af" before voiceless consonants and at the end of the word
+         * (note 2). A word consisting only of the sequence takes the first form.
+         *
+         * @param greek the Greek letters
+         * @param beforeVoiced their transliteration before vowels and voiced consonants
+         * @param beforeVoiceless their transliteration before voiceless consonants and at the end of the word
+         * @return this builder
+         */
+        public Builder voicing(final String greek, final String beforeVoiced, final String beforeVoiceless) {
+            return put(VOICING, greek, beforeVoiced, beforeVoiceless);
+        }
+
+        /**
+         * Maps a letter differently when the whole word is in capitals, e.g. "Θ" to "TH" rather than "Th".
+         *
+         * @param greek the Greek letter
+         * @param latin its transliteration in words in all caps
+         * @return this builder
+         */
+        public Builder allCaps(final String greek, final String latin) {
+            return put(ALL_CAPS, greek, latin);
+        }
+
+        /**
+         * Maps a sequence of letters differently at the beginning of a word, e.g. "μπ" to "b".
+         *
+         * @param greek the Greek letters
+         * @param latin their transliteration at the beginning of a word
+         * @return this builder
+         */
+        public Builder wordInitial(final String greek, final String latin) {
+            return put(WORD_INITIAL, greek, latin);
+        }
+
+        /**
+         * Removes the rules of any kind with the given key, e.g. to drop a rule of the base profile.
+         *
+         * @param greek the key of the rules to remove
+         * @return this builder
+         */
+        public Builder remove(final String greek) {
+            for(int table = 0; table < NUM_OF_TABLES; table++) {
+                final List<String> rows = tables.get(table);
+                final int index = indexOf(rows, WIDTHS[table], greek);
+                if(index != -1) rows.subList(index, index + WIDTHS[table]).clear();
+            }
+            return this;
+        }
+
+        /**
+         * @return a new, immutable profile with the rules defined so far
+         */
+        public TransliterationProfile build() {
+            final String [][] built = new String[NUM_OF_TABLES][];
+            for(int table = 0; table < NUM_OF_TABLES; table++) built[table] = tables.get(table).toArray(new String[0]);
+            return new TransliterationProfile(name, built);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.aspectsense.greektools;
+
+import java.io.IOException;
+
+/**
+ * Converts Greek text to the Latin alphabet according to a {@link TransliterationProfile}. The rules of the profile
+ * are compiled once into a lookup engine, so a transliterator is immutable, thread-safe and costs nothing to choose
+ * per call. Transliterators are obtained from their profile, e.g.
+ * {@code TransliterationProfile.ELOT_743_PASSPORT.transliterator().transliterate("Μπάμπης")} gives "Mpampis".
+ *
+ * The static methods of {@link Greeklish} use the transliterators of {@link TransliterationProfile#ISO_843} and
+ * {@link TransliterationProfile#ISO_843_WITH_ACCENTS}.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public final class Transliterator {
+
+    private final TransliterationProfile profile;
+    private final TransliterationEngine engine;
+
+    Transliterator(final TransliterationProfile profile) {
+        this.profile = profile;
+        this.engine = new TransliterationEngine(profile.wordInitial(), profile.voicing(), profile.digraphs(),
+                profile.allCaps(), profile.mapping());
+    }
+
+    /**
+     * @return the profile of this transliterator
+     */
+    public TransliterationProfile getProfile() {
+        return profile;
+    }
+
+    TransliterationEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Converts a text given in Greek into the Latin alphabet. Words are separated by any whitespace or punctuation
+     * (see {@link WordTokenizer}), which is kept as it is, as with {@link Greeklish#toGreeklish(String, boolean)}.
+     *
+     * @param greek the original text, expressed in the Greek character set
+     * @return the converted text, expressed in the Latin character set
+     */
+    public String transliterate(final String greek) {
+        final StringBuilder stringBuilder = new StringBuilder(greek.length() + 16);
+        transliterate(greek, stringBuilder);
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Converts a text given in Greek into the Latin alphabet, appending the result to the given builder, without
+     * allocating any intermediate objects.
+     *
+     * @see #transliterate(String)
+     *
+     * @param greek the original text, expressed in the Greek character set
+     * @param latin the builder where the converted text, expressed in the Latin character set, is appended
+     */
+    public void transliterate(final CharSequence greek, final StringBuilder latin) {
+        try {
+            transliterate(greek, (Appendable) latin);
+        } catch (IOException ioe) {
+            throw new AssertionError("StringBuilder does not throw IOException", ioe);
+        }
+    }
+
+    /**
+     * Converts a text given in Greek into the Latin alphabet, appending the result to the given appendable.
+     *
+     * @see #transliterate(String)
+     *
+     * @param greek the original text, expressed in the Greek character set
+     * @param latin where the converted text, expressed in the Latin character set, is appended
+     * @throws IOException if appending to latin fails
+     */
+    public void transliterate(final CharSequence greek, final Appendable latin) throws IOException {
+        Greeklish.transliterate(engine, greek, 0, greek.length(), latin);
+    }
+
+    /**
+     * Converts a text given in Greek into the Latin alphabet, appending the result to the given builder, and records
+     * in the given alignment where each character of the result comes from, e.g. that "th" in "Kathe" comes from "θ"
+     * in "Κάθε". The alignment is produced in the same pass, and its output offsets count from the start of the
+     * appended text. The alignment is cleared first, so it can be reused.
+     *
+     * @see #transliterate(String)
+     *
+     * @param greek the original text, expressed in the Greek character set
+     * @param latin the builder where the converted text, expressed in the Latin character set, is appended
+     * @param alignment where the offsets of the converted text in the original text are recorded
+     */
+    public void transliterate(final CharSequence greek, final StringBuilder latin, final OffsetAlignment alignment) {
+        alignment.clear();
+        try {
+            engine.transliterate(greek, 0, greek.length(), latin, alignment);
+        } catch (IOException ioe) {
+            throw new AssertionError("StringBuilder does not throw IOException", ioe);
+        }
+    }
+
+    /**
+     * Converts a single word given in Greek into the Latin alphabet.
+     *
+     * @param greekWord the original word, expressed in the Greek character set
+     * @return the converted word, expressed in the Latin character set
+     */
+    public String transliterateWord(final String greekWord) {
+        final StringBuilder stringBuilder = new StringBuilder(greekWord.length() + 8);
+        engine.transliterateWord(greekWord, 0, greekWord.length(), stringBuilder);
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Converts a single word given in Greek into the Latin alphabet, appending the result to the given builder.
+     *
+     * @see #transliterateWord(String)
+     *
+     * @param greekWord the original word, expressed in the Greek character set
+     * @param latinWord the builder where the converted word, expressed in the Latin character set, is appended
+     */
+    public void transliterateWord(final CharSequence greekWord, final StringBuilder latinWord) {
+        engine.transliterateWord(greekWord, 0, greekWord.length(), latinWord);
+    }
+
+    @Override
+    public String toString() {
+        return "Transliterator[" + profile.getName() + "]";
+    }
+}
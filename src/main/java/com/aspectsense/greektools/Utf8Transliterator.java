@@ -0,0 +1,327 @@
+package com.aspectsense.greektools;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+/**
+ * Converts Greek text encoded in UTF-8 into Greeklish, reading from and writing to byte buffers (heap or direct)
+ * without decoding the text into strings. Converted Greek text is plain ASCII (or UTF-8 when accents are kept), while
+ * any other characters are copied as they are.
+ *
+ * Like {@link java.nio.charset.CharsetEncoder}, it is meant to be called repeatedly on a stream of buffers: each call
+ * consumes as many whole words as possible from the input buffer and writes their conversion to the output buffer,
+ * advancing the positions of both. A word which is cut at the end of the input is left in the input buffer, until
+ * more input is available or the end of the input is signalled. Words are separated by any whitespace or punctuation
+ * (see {@link WordTokenizer}), which is copied as it is, and each word is converted as with
+ * {@link Greeklish#toGreeklishWord(String, boolean)}. The input buffer should
+ * therefore be large enough to hold the longest word, e.g. a few KB; a word which fills the whole input buffer (from
+ * position 0 to its capacity) is converted in pieces, so that the conversion never gets stuck. Likewise, a conversion
+ * which does not fit in the output buffer is written in part, and the rest is written first by the next call, so the
+ * output buffer can be of any size. Both buffers must have a capacity of at least {@link #MIN_BUFFER_SIZE} bytes, the
+ * longest encoding of a character.
+ *
+ * Instances keep a small buffer for the current word, so they must not be shared between threads.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public final class Utf8Transliterator {
+
+    /** Words longer than this many characters, which do not occur in natural text, are converted in pieces. */
+    public static final int MAX_WORD_LENGTH = 8192;
+
+    /** The smallest capacity of the input and output buffers, i.e. the longest encoding of a character in UTF-8. */
+    public static final int MIN_BUFFER_SIZE = 4;
+
+    private static final char REPLACEMENT_CHARACTER = '\uFFFD';
+
+    private final TransliterationEngine engine;
+    private final char [] word = new char[MAX_WORD_LENGTH];
+    private final CharBuffer wordView = CharBuffer.wrap(word);
+    private final StringBuilder converted = new StringBuilder();
+    // the part of the last conversion which did not fit in the output buffer
+    private final StringBuilder pending = new StringBuilder();
+
+    // the last decoded code point and the length of its encoding, or -1 if the input ends in the middle of it
+    private int codePoint;
+    private int codePointLength;
+
+    /**
+     * Creates a transliterator which converts Greek text into Greeklish, ignoring accents.
+     */
+    public Utf8Transliterator() {
+        this(false);
+    }
+
+    /**
+     * Creates a transliterator which converts Greek text into Greeklish.
+     *
+     * @param withAccents indicates whether the resulting text will have accents
+     */
+    public Utf8Transliterator(final boolean withAccents) {
+        this.engine = Greeklish.getEngine(withAccents);
+    }
+
+    /**
+     * Converts a complete text encoded in UTF-8 into Greeklish, encoded in UTF-8.
+     *
+     * @param utf8 the original text, expressed in the Greek character set and encoded in UTF-8
+     * @param withAccents indicates whether the resulting text will have accents
+     * @return the converted text, expressed in the Latin character set and encoded in UTF-8
+     */
+    public static byte [] toGreeklish(final byte [] utf8, final boolean withAccents) {
+        final ByteBuffer out = toGreeklish(ByteBuffer.wrap(utf8), withAccents);
+        final byte [] greeklish = new byte[out.remaining()];
+        out.get(greeklish);
+        return greeklish;
+    }
+
+    /**
+     * Converts a complete text encoded in UTF-8, i.e. the remaining bytes of the given buffer, into Greeklish. The
+     * position of the given buffer is advanced to its limit.
+     *
+     * @param utf8 the original text, expressed in the Greek character set and encoded in UTF-8
+     * @param withAccents indicates whether the resulting text will have accents
+     * @return a new buffer, ready to be read, with the converted text expressed in the Latin character set and
+     * encoded in UTF-8
+     */
+    public static ByteBuffer toGreeklish(final ByteBuffer utf8, final boolean withAccents) {
+        final Utf8Transliterator utf8Transliterator = new Utf8Transliterator(withAccents);
+        ByteBuffer out = ByteBuffer.allocate(utf8.remaining() + utf8.remaining() / 8 + 16);
+        while(utf8Transliterator.transliterate(utf8, out, true).isOverflow()) {
+            final ByteBuffer larger = ByteBuffer.allocate(out.capacity() * 2);
+            out.flip();
+            larger.put(out);
+            out = larger;
+        }
+        out.flip();
+        return out;
+    }
+
+    /**
+     * Converts as many words as possible from the input buffer, writing the result to the output buffer. The positions
+     * of both buffers are advanced by the number of bytes consumed and produced respectively.
+     *
+     * @param in the input, encoded in UTF-8
+     * @param out the output, where the converted text is written encoded in UTF-8
+     * @param endOfInput indicates that no more input follows, so the last word is converted even if it is not followed
+     *                   by whitespace or punctuation
+     * @return the outcome of the conversion
+     * @throws IllegalArgumentException if the capacity of either buffer is less than {@link #MIN_BUFFER_SIZE}
+     */
+    public Result transliterate(final ByteBuffer in, final ByteBuffer out, final boolean endOfInput) {
+        if(in.capacity() < MIN_BUFFER_SIZE || out.capacity() < MIN_BUFFER_SIZE) {
+            throw new IllegalArgumentException("The buffers must have a capacity of at least " + MIN_BUFFER_SIZE + " bytes");
+        }
+        final int inStart = in.position();
+        final int outStart = out.position();
+        if(pending.length() > 0 && !write(pending, out)) {
+            return new Result(0, out.position() - outStart, true);
+        }
+        boolean overflow = false;
+        int i = inStart;
+        final int inEnd = in.limit();
+        while(i < inEnd) {
+            decode(in, i, inEnd, endOfInput);
+            if(codePointLength == -1) break; // cut in the middle of a character
+            if(!WordTokenizer.isWordCharacter(codePoint)) {
+                converted.setLength(0);
+                if(Character.isBmpCodePoint(codePoint)) {
+                    try {
+                        engine.transliterateSeparator((char) codePoint, converted);
+                    } catch (IOException ioe) {
+                        throw new AssertionError("StringBuilder does not throw IOException", ioe);
+                    }
+                } else {
+                    converted.appendCodePoint(codePoint);
+                }
+                i += codePointLength;
+                if(!write(converted, out)) {
+                    overflow = true;
+                    break;
+                }
+                continue;
+            }
+            // collect the word
+            int wordEnd = i;
+            int wordLength = 0;
+            boolean complete = false;
+            while(wordEnd < inEnd) {
+                decode(in, wordEnd, inEnd, endOfInput);
+                if(codePointLength == -1 || !WordTokenizer.isWordCharacter(codePoint)) {
+                    complete = codePointLength != -1;
+                    break;
+                }
+                if(wordLength + 2 > word.length) {
+                    complete = true; // convert overly long words in pieces
+                    break;
+                }
+                wordLength += Character.toChars(codePoint, word, wordLength);
+                wordEnd += codePointLength;
+            }
+            // wait for the rest of the word, unless it fills the whole input buffer, which cannot take any more
+            final boolean full = i == 0 && inEnd == in.capacity();
+            if(!complete && !endOfInput && !full) break;
+            if(wordLength == 0) break; // only a character cut in the middle, which cannot fill a valid buffer
+            converted.setLength(0);
+            engine.transliterateWord(wordView, 0, wordLength, converted);
+            i = wordEnd;
+            if(!write(converted, out)) {
+                overflow = true;
+                break;
+            }
+        }
+        in.position(i);
+        return new Result(i - inStart, out.position() - outStart, overflow);
+    }
+
+    /**
+     * Decodes the character starting at index i into codePoint and codePointLength. Malformed input is decoded as the
+     * replacement character, one byte at a time.
+     */
+    private void decode(final ByteBuffer in, final int i, final int end, final boolean endOfInput) {
+        final int b = in.get(i) & 0xFF;
+        final int length;
+        if(b < 0x80) {
+            codePoint = b;
+            codePointLength = 1;
+            return;
+        } else if(b >= 0xC2 && b < 0xE0) {
+            length = 2;
+        } else if(b >= 0xE0 && b < 0xF0) {
+            length = 3;
+        } else if(b >= 0xF0 && b < 0xF5) {
+            length = 4;
+        } else {
+            codePoint = REPLACEMENT_CHARACTER;
+            codePointLength = 1;
+            return;
+        }
+        if(i + length > end) {
+            if(endOfInput) {
+                codePoint = REPLACEMENT_CHARACTER;
+                codePointLength = end - i;
+            } else {
+                codePointLength = -1;
+            }
+            return;
+        }
+        int value = b & (0xFF >> (length + 1));
+        for(int j = 1; j < length; j++) {
+            final int continuation = in.get(i + j) & 0xFF;
+            if((continuation & 0xC0) != 0x80) {
+                codePoint = REPLACEMENT_CHARACTER;
+                codePointLength = j;
+                return;
+            }
+            value = (value << 6) | (continuation & 0x3F);
+        }
+        codePoint = value;
+        codePointLength = length;
+    }
+
+    /**
+     * Writes as much of the given text as fits in the output, a whole character at a time, and keeps the rest in
+     * pending, to be written first by the next call.
+     *
+     * @return true if all of the text was written
+     */
+    private boolean write(final StringBuilder text, final ByteBuffer out) {
+        int i = 0;
+        while(i < text.length()) {
+            final int length = encode(text, i, out);
+            if(length == 0) break;
+            i += length;
+        }
+        if(text == pending) {
+            pending.delete(0, i);
+        } else if(i < text.length()) {
+            pending.append(text, i, text.length());
+        }
+        return i == text.length();
+    }
+
+    /**
+     * Encodes the character of the text at index i, if it fits in the output.
+     *
+     * @return the number of chars encoded, i.e. 2 for a surrogate pair, or 0 if the character does not fit
+     */
+    private static int encode(final CharSequence text, final int i, final ByteBuffer out) {
+        final char c = text.charAt(i);
+        if(c < 0x80) {
+            if(out.remaining() < 1) return 0;
+            out.put((byte) c);
+        } else if(c < 0x800) {
+            if(out.remaining() < 2) return 0;
+            out.put((byte) (0xC0 | (c >> 6)));
+            out.put((byte) (0x80 | (c & 0x3F)));
+        } else if(Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+            if(out.remaining() < 4) return 0;
+            final int codePoint = Character.toCodePoint(c, text.charAt(i + 1));
+            out.put((byte) (0xF0 | (codePoint >> 18)));
+            out.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+            out.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+            out.put((byte) (0x80 | (codePoint & 0x3F)));
+            return 2;
+        } else {
+            if(out.remaining() < 3) return 0;
+            out.put((byte) (0xE0 | (c >> 12)));
+            out.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+            out.put((byte) (0x80 | (c & 0x3F)));
+        }
+        return 1;
+    }
+
+    /**
+     * The outcome of a call to {@link #transliterate(ByteBuffer, ByteBuffer, boolean)}.
+     */
+    public static final class Result {
+        private final int bytesConsumed;
+        private final int bytesProduced;
+        private final boolean overflow;
+
+        private Result(final int bytesConsumed, final int bytesProduced, final boolean overflow) {
+            this.bytesConsumed = bytesConsumed;
+            this.bytesProduced = bytesProduced;
+            this.overflow = overflow;
+        }
+
+        /**
+         * @return the number of bytes read from the input buffer
+         */
+        public int getBytesConsumed() {
+            return bytesConsumed;
+        }
+
+        /**
+         * @return the number of bytes written to the output buffer
+         */
+        public int getBytesProduced() {
+            return bytesProduced;
+        }
+
+        /**
+         * @return true if the conversion stopped because the output buffer is full, in which case it should be called
+         * again after making room in the output buffer; the input consumed may have been converted only in part, and
+         * the rest of its conversion is written by the next call
+         */
+        public boolean isOverflow() {
+            return overflow;
+        }
+
+        /**
+         * @return true if the conversion stopped because it needs more input, in which case it should be called
+         * again with more input (or with endOfInput set); the unconsumed bytes of a partial word, if any, are left
+         * in the input buffer
+         */
+        public boolean isUnderflow() {
+            return !overflow;
+        }
+
+        @Override
+        public String toString() {
+            return (overflow ? "OVERFLOW" : "UNDERFLOW") + "{consumed=" + bytesConsumed + ", produced=" + bytesProduced + '}';
+        }
+    }
+}
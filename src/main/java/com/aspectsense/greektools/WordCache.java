@@ -0,0 +1,191 @@
+package com.aspectsense.greektools;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, thread-safe cache of converted words, which can be installed in front of the transliteration with
+ * {@link Greeklish#setWordCache(WordCache)}. Real text is very repetitive (articles, prepositions and common nouns make
+ * up most of the words), so most words are converted only once.
+ *
+ * Words are keyed by their text and by the accent mode. The cache is organized in sets of {@value #WAYS} entries: a
+ * lookup reads the entries of one set without locking, while inserting takes the lock of the set and, if the set is
+ * full, evicts an entry using the CLOCK (second chance) policy. The counters can be used to size the cache.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public final class WordCache {
+
+    /** The number of entries in each set. */
+    public static final int WAYS = 8;
+
+    private static final int NUM_OF_LOCKS = 64;
+
+    private final AtomicReferenceArray<Entry> entries;
+    private final byte [] clockHands;
+    private final Object [] locks = new Object[NUM_OF_LOCKS];
+    private final int setMask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache holding up to the given number of words, rounded up to a power of two.
+     *
+     * @param capacity the maximum number of words held in the cache
+     */
+    public WordCache(final int capacity) {
+        if(capacity < 1) throw new IllegalArgumentException("Capacity must be positive");
+        int numOfSets = 1;
+        while(numOfSets * WAYS < capacity) numOfSets <<= 1;
+        this.entries = new AtomicReferenceArray<>(numOfSets * WAYS);
+        this.clockHands = new byte[numOfSets];
+        this.setMask = numOfSets - 1;
+        for(int i = 0; i < NUM_OF_LOCKS; i++) locks[i] = new Object();
+    }
+
+    /**
+     * @return the maximum number of words held in the cache
+     */
+    public int getCapacity() {
+        return entries.length();
+    }
+
+    /**
+     * @return the number of words currently held in the cache
+     */
+    public int size() {
+        int size = 0;
+        for(int i = 0; i < entries.length(); i++) {
+            if(entries.get(i) != null) size++;
+        }
+        return size;
+    }
+
+    /**
+     * @return the number of lookups which found the word in the cache
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of lookups which did not find the word in the cache
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of words evicted to make room for new ones
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Removes all words from the cache, and resets the counters. Each set is cleared under its lock, as inserting into
+     * a full set expects all of its entries to be present.
+     */
+    public void clear() {
+        for(int set = 0; set <= setMask; set++) {
+            synchronized (locks[set & (NUM_OF_LOCKS - 1)]) {
+                for(int way = 0; way < WAYS; way++) entries.set(set * WAYS + way, null);
+                clockHands[set] = 0;
+            }
+        }
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "WordCache{capacity=" + getCapacity() + ", hits=" + getHitCount() + ", misses=" + getMissCount() +
+                ", evictions=" + getEvictionCount() + '}';
+    }
+
+    /**
+     * Looks up the word found in text between start and end, converted by the given engine.
+     *
+     * @return the converted word, or null if it is not in the cache
+     */
+    String get(final Object engine, final CharSequence text, final int start, final int end) {
+        final int hash = hash(engine, text, start, end);
+        final int base = (hash & setMask) * WAYS;
+        for(int way = 0; way < WAYS; way++) {
+            final Entry entry = entries.get(base + way);
+            if(entry != null && entry.matches(hash, engine, text, start, end)) {
+                if(!entry.referenced) entry.referenced = true;
+                hits.increment();
+                return entry.converted;
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Adds a word, converted by the given engine, to the cache.
+     */
+    void put(final Object engine, final String word, final String converted) {
+        final int hash = hash(engine, word, 0, word.length());
+        final int set = hash & setMask;
+        final int base = set * WAYS;
+        synchronized (locks[set & (NUM_OF_LOCKS - 1)]) {
+            for(int way = 0; way < WAYS; way++) {
+                final Entry entry = entries.get(base + way);
+                if(entry == null) {
+                    entries.set(base + way, new Entry(hash, engine, word, converted));
+                    return;
+                } else if(entry.matches(hash, engine, word, 0, word.length())) {
+                    return; // added concurrently by another thread
+                }
+            }
+            // the set is full: clear the referenced bits until finding an entry which was not used recently
+            int hand = clockHands[set];
+            Entry victim;
+            while((victim = entries.get(base + hand)).referenced) {
+                victim.referenced = false;
+                hand = (hand + 1) % WAYS;
+            }
+            entries.set(base + hand, new Entry(hash, engine, word, converted));
+            clockHands[set] = (byte) ((hand + 1) % WAYS);
+            evictions.increment();
+        }
+    }
+
+    private static int hash(final Object engine, final CharSequence text, final int start, final int end) {
+        int hash = System.identityHashCode(engine);
+        for(int i = start; i < end; i++) {
+            hash = 31 * hash + text.charAt(i);
+        }
+        // spread the higher bits to the lower ones, which select the set
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Entry {
+        private final int hash;
+        private final Object engine;
+        private final String word;
+        private final String converted;
+        private volatile boolean referenced = false;
+
+        private Entry(final int hash, final Object engine, final String word, final String converted) {
+            this.hash = hash;
+            this.engine = engine;
+            this.word = word;
+            this.converted = converted;
+        }
+
+        private boolean matches(final int hash, final Object engine, final CharSequence text, final int start, final int end) {
+            if(this.hash != hash || this.engine != engine || word.length() != end - start) return false;
+            for(int i = 0; i < word.length(); i++) {
+                if(word.charAt(i) != text.charAt(start + i)) return false;
+            }
+            return true;
+        }
+    }
+}
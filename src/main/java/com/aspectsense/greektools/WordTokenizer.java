@@ -0,0 +1,142 @@
+package com.aspectsense.greektools;
+
+/**
+ * Finds the words of a text in place, as (start, end) offsets into the original {@link CharSequence}, without
+ * allocating any objects per word. A word is a run of letters, digits and combining marks, so any Unicode whitespace,
+ * punctuation or symbol is a boundary, e.g. "Καλή;\tναι" has the words "Καλή" and "ναι". The characters between the
+ * words are not returned, but they are easily found from the offsets of consecutive words.
+ *
+ * A tokenizer is used like an iterator, and it can be reset to scan another text:
+ * <pre>{@code
+ * final WordTokenizer tokenizer = new WordTokenizer(text);
+ * while(tokenizer.next()) {
+ *     process(text, tokenizer.start(), tokenizer.end());
+ * }
+ * }</pre>
+ * All the methods of {@link Greeklish} split the text into words with these rules, and keep the characters between the
+ * words exactly as they are (apart from the Greek question mark ';', which is converted to '?').
+ *
+ * Instances keep the current position, so they must not be shared between threads.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public final class WordTokenizer {
+
+    // the general categories of the characters which are part of words, as a bit set
+    private static final int WORD_CHARACTER_TYPES = 1 << Character.UPPERCASE_LETTER
+            | 1 << Character.LOWERCASE_LETTER
+            | 1 << Character.TITLECASE_LETTER
+            | 1 << Character.MODIFIER_LETTER
+            | 1 << Character.OTHER_LETTER
+            | 1 << Character.NON_SPACING_MARK
+            | 1 << Character.ENCLOSING_MARK
+            | 1 << Character.COMBINING_SPACING_MARK
+            | 1 << Character.DECIMAL_DIGIT_NUMBER
+            | 1 << Character.LETTER_NUMBER
+            | 1 << Character.OTHER_NUMBER;
+
+    private CharSequence text;
+    private int position;
+    private int end;
+    private int wordStart = -1;
+    private int wordEnd = -1;
+
+    /**
+     * Creates a tokenizer over the whole of the given text.
+     *
+     * @param text the text to be split into words
+     */
+    public WordTokenizer(final CharSequence text) {
+        this(text, 0, text.length());
+    }
+
+    /**
+     * Creates a tokenizer over the given range of the given text.
+     *
+     * @param text the text to be split into words
+     * @param start the index where the scan starts
+     * @param end the index where the scan ends (exclusive)
+     */
+    public WordTokenizer(final CharSequence text, final int start, final int end) {
+        reset(text, start, end);
+    }
+
+    /**
+     * Restarts the scan over the given range of the given text, so that a single tokenizer can scan many texts.
+     *
+     * @param text the text to be split into words
+     * @param start the index where the scan starts
+     * @param end the index where the scan ends (exclusive)
+     * @return this tokenizer
+     */
+    public WordTokenizer reset(final CharSequence text, final int start, final int end) {
+        if(start < 0 || start > end || end > text.length()) {
+            throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + text.length());
+        }
+        this.text = text;
+        this.position = start;
+        this.end = end;
+        this.wordStart = -1;
+        this.wordEnd = -1;
+        return this;
+    }
+
+    /**
+     * Advances to the next word.
+     *
+     * @return true if a word was found, or false if the end of the range was reached
+     */
+    public boolean next() {
+        while(position < end && !isWordCharacter(text.charAt(position))) position++;
+        if(position == end) return false;
+        wordStart = position;
+        position++;
+        while(position < end && isWordCharacter(text.charAt(position))) position++;
+        wordEnd = position;
+        return true;
+    }
+
+    /**
+     * @return the index of the first character of the current word
+     * @throws IllegalStateException if {@link #next()} has not found a word
+     */
+    public int start() {
+        if(wordStart == -1) throw new IllegalStateException("No current word");
+        return wordStart;
+    }
+
+    /**
+     * @return the index after the last character of the current word
+     * @throws IllegalStateException if {@link #next()} has not found a word
+     */
+    public int end() {
+        if(wordEnd == -1) throw new IllegalStateException("No current word");
+        return wordEnd;
+    }
+
+    /**
+     * @param c the character to be checked
+     * @return true if and only if the given character is part of words, i.e. a letter, a digit or a combining mark
+     */
+    public static boolean isWordCharacter(final char c) {
+        if(c < 0x80) return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+        return (WORD_CHARACTER_TYPES >> Character.getType(c) & 1) != 0;
+    }
+
+    /**
+     * @param codePoint the code point to be checked
+     * @return true if and only if the given code point is part of words, i.e. a letter, a digit or a combining mark
+     */
+    public static boolean isWordCharacter(final int codePoint) {
+        return (WORD_CHARACTER_TYPES >> Character.getType(codePoint) & 1) != 0;
+    }
+
+    /**
+     * @return the index of the first character at or after the given index which is not part of a word, or end
+     */
+    static int nextBoundary(final CharSequence text, int index, final int end) {
+        while(index < end && isWordCharacter(text.charAt(index))) index++;
+        return index;
+    }
+}
@@ -0,0 +1,36 @@
+package com.aspectsense.greektools;
+
+import java.io.IOException;
+
+/**
+ * Converts one word at a time, e.g. from Greek to Greeklish or back, as well as the characters between the words (see
+ * {@link WordTokenizer}). Implementations are immutable and can be shared between threads.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+interface WordTransliterator {
+
+    /**
+     * Transliterates the word found in text between start (inclusive) and end (exclusive), appending the result to
+     * the given appendable.
+     *
+     * @param text the text containing the word
+     * @param start the index of the first character of the word
+     * @param end the index after the last character of the word
+     * @param out where the transliterated word is appended
+     * @throws IOException if appending to out fails
+     */
+    void transliterateWord(CharSequence text, int start, int end, Appendable out) throws IOException;
+
+    /**
+     * Transliterates a single character found between words, e.g. whitespace or punctuation, appending the result to
+     * the given appendable. Only the rules for single characters apply, e.g. the Greek question mark ';' to '?', and
+     * any other character is appended as it is.
+     *
+     * @param c the character to be transliterated
+     * @param out where the transliterated character is appended
+     * @throws IOException if appending to out fails
+     */
+    void transliterateSeparator(char c, Appendable out) throws IOException;
+}
@@ -0,0 +1,14 @@
+/**
+ * GreekTools: transliteration of Greek text to the Latin alphabet (Greeklish) and back, according to ISO 843, and
+ * related tools. The library has no dependencies other than the JDK, and only needs java.management for the JMX view
+ * of {@link com.aspectsense.greektools.GreeklishMetrics}, which is required transitively, as its methods registering
+ * the view throw {@link javax.management.JMException}.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+module com.aspectsense.greektools {
+    requires transitive java.management;
+
+    exports com.aspectsense.greektools;
+}
@@ -0,0 +1,358 @@
+package com.aspectsense.greektools.server;
+
+import com.aspectsense.greektools.GreekScanner;
+import com.aspectsense.greektools.Greeklish;
+import com.aspectsense.greektools.GreeklishMetrics.LatencyHistogram;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A small HTTP service exposing {@link Greeklish#toGreeklish(String, boolean)}, {@link Greeklish#removeAccents(String)}
+ * and {@link Greeklish#containsGreek(String)} to services which are not on the JVM. It is built on the HTTP server of
+ * the JDK ({@code com.sun.net.httpserver}), so it needs no external services, and it handles each request on its own
+ * virtual thread where available (Java 21 and later), or else on a cached thread pool.
+ *
+ * The endpoints are:
+ * <ul>
+ *     <li>{@code POST /toGreeklish[?accents=true]}, {@code POST /removeAccents} and {@code POST /containsGreek}, which
+ *     convert the body. A {@code text/plain} body is converted as a single text. An {@code application/x-ndjson}
+ *     body is a batch of JSON strings, one per line, and the response has a line per non-blank line of the request,
+ *     in the same order: a JSON string, or true/false for containsGreek, or {@code {"error":"..."}} for a malformed
+ *     line. Blank lines, such as the one after the final newline, are skipped.
+ *     A batch is converted in a single pass, streaming the response as the body is read, and reusing the
+ *     same buffers for every line.</li>
+ *     <li>{@code GET /metrics}, which returns the number of requests and items, and a histogram of the latencies of
+ *     each operation, in the Prometheus text format.</li>
+ * </ul>
+ *
+ * For example, with {@code java -cp greektools.jar:greektools-server.jar com.aspectsense.greektools.server.GreeklishServer 8080}:
+ * <pre>
+ * curl -H 'Content-Type: application/x-ndjson' --data-binary $'"Καλή μέρα"\n"Ψυχή"\n' localhost:8080/toGreeklish
+ * </pre>
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public final class GreeklishServer {
+
+    public static final int DEFAULT_PORT = 8080;
+
+    /** The largest {@code text/plain} body, or NDJSON line, accepted. */
+    static final int MAX_TEXT_LENGTH = 1 << 20;
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    // the Prometheus buckets of the latencies are powers of two of microseconds, from 1µs up to about 34s
+    private static final int NUM_OF_LATENCY_BUCKETS = 26;
+
+    enum Operation {
+        TO_GREEKLISH("toGreeklish"),
+        REMOVE_ACCENTS("removeAccents"),
+        CONTAINS_GREEK("containsGreek");
+
+        private final String path;
+
+        Operation(final String path) {
+            this.path = path;
+        }
+    }
+
+    private final HttpServer httpServer;
+    private final ExecutorService executorService;
+    private final Map<Operation, LatencyHistogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> items = new EnumMap<>(Operation.class);
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * Creates a server bound to the given address, which is not started yet.
+     *
+     * @param address the address to bind to; a port of 0 picks a free port, see {@link #getPort()}
+     * @throws IOException if the address cannot be bound
+     */
+    public GreeklishServer(final InetSocketAddress address) throws IOException {
+        this.httpServer = HttpServer.create(address, 0);
+        this.executorService = newPerRequestExecutor();
+        httpServer.setExecutor(executorService);
+        for(final Operation operation : Operation.values()) {
+            latencies.put(operation, new LatencyHistogram());
+            items.put(operation, new LongAdder());
+            httpServer.createContext("/" + operation.path, exchange -> handle(operation, exchange));
+        }
+        httpServer.createContext("/metrics", this::handleMetrics);
+    }
+
+    /**
+     * @return a virtual-thread-per-task executor if the runtime supports it, or else a cached pool of daemon threads
+     */
+    static ExecutorService newPerRequestExecutor() {
+        try {
+            // looked up reflectively, so that the server also runs on versions of Java before 21
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException roe) {
+            final AtomicInteger counter = new AtomicInteger();
+            return Executors.newCachedThreadPool(runnable -> {
+                final Thread thread = new Thread(runnable, "greeklish-server-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    public void start() {
+        httpServer.start();
+    }
+
+    /**
+     * Stops accepting requests, and waits up to the given delay for the current ones to finish.
+     *
+     * @param delaySeconds the maximum time to wait for the current requests, in seconds
+     */
+    public void stop(final int delaySeconds) {
+        httpServer.stop(delaySeconds);
+        executorService.shutdown();
+        try {
+            executorService.awaitTermination(delaySeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return the port the server is bound to
+     */
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    private void handle(final Operation operation, final HttpExchange exchange) throws IOException {
+        final long start = System.nanoTime();
+        try {
+            if(!"POST".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "Use POST");
+                return;
+            }
+            final boolean withAccents;
+            try {
+                withAccents = "true".equals(queryParameter(exchange.getRequestURI().getRawQuery(), "accents"));
+            } catch (IllegalArgumentException iae) {
+                sendError(exchange, 400, "Malformed query: " + iae.getMessage());
+                return;
+            }
+            final String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+            if(contentType != null && contentType.startsWith(NDJSON)) {
+                handleBatch(operation, withAccents, exchange);
+            } else {
+                handleText(operation, withAccents, exchange);
+            }
+        } finally {
+            exchange.close();
+            latencies.get(operation).record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * @param rawQuery the query of a request, as sent, e.g. "accents=true&amp;x=1", or null if there is none
+     * @param name the name of the parameter
+     * @return the decoded value of the last parameter with the given name, "" if it has no value, or null if there
+     * is none
+     * @throws IllegalArgumentException if the query has malformed escapes
+     */
+    static String queryParameter(final String rawQuery, final String name) {
+        if(rawQuery == null) return null;
+        String value = null;
+        for(final String parameter : rawQuery.split("&")) {
+            final int equals = parameter.indexOf('=');
+            final String key = URLDecoder.decode(equals == -1 ? parameter : parameter.substring(0, equals), StandardCharsets.UTF_8);
+            if(key.equals(name)) value = equals == -1 ? "" : URLDecoder.decode(parameter.substring(equals + 1), StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    private void handleText(final Operation operation, final boolean withAccents, final HttpExchange exchange) throws IOException {
+        final StringBuilder text = new StringBuilder();
+        try(final Reader reader = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)) {
+            final char [] buffer = new char[4096];
+            for(int read; (read = reader.read(buffer)) != -1; ) {
+                if(text.length() + read > MAX_TEXT_LENGTH) {
+                    sendError(exchange, 413, "The text is longer than " + MAX_TEXT_LENGTH + " characters");
+                    return;
+                }
+                text.append(buffer, 0, read);
+            }
+        }
+        final StringBuilder result = new StringBuilder(text.length() + 16);
+        apply(operation, withAccents, text, result);
+        items.get(operation).increment();
+        send(exchange, 200, "text/plain; charset=utf-8", result);
+    }
+
+    /**
+     * Converts an NDJSON batch in a single pass: each line is read, decoded, converted and written to the response
+     * before the next line is read, reusing the same buffers, so the memory used does not depend on the batch size.
+     */
+    private void handleBatch(final Operation operation, final boolean withAccents, final HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", NDJSON + "; charset=utf-8");
+        exchange.sendResponseHeaders(200, 0); // chunked, as the length is not known until the end
+        final StringBuilder line = new StringBuilder();
+        final StringBuilder text = new StringBuilder();
+        final StringBuilder result = new StringBuilder();
+        long numOfItems = 0;
+        try(final InputStream inputStream = exchange.getRequestBody();
+            final Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8))) {
+            final char [] buffer = new char[8192];
+            boolean tooLong = false;
+            for(int read; (read = reader.read(buffer)) != -1; ) {
+                for(int i = 0; i < read; i++) {
+                    final char c = buffer[i];
+                    if(c != '\n') {
+                        if(line.length() < MAX_TEXT_LENGTH) line.append(c); else tooLong = true;
+                        continue;
+                    }
+                    numOfItems += handleLine(operation, withAccents, line, tooLong, text, result, writer);
+                    line.setLength(0);
+                    tooLong = false;
+                }
+            }
+            numOfItems += handleLine(operation, withAccents, line, tooLong, text, result, writer);
+        } finally {
+            items.get(operation).add(numOfItems);
+        }
+    }
+
+    /**
+     * @return 1 if the line was converted, or 0 if it was blank
+     */
+    private int handleLine(final Operation operation, final boolean withAccents, final StringBuilder line,
+                           final boolean tooLong, final StringBuilder text, final StringBuilder result,
+                           final Writer writer) throws IOException {
+        if(isBlank(line)) return 0;
+        text.setLength(0);
+        result.setLength(0);
+        try {
+            if(tooLong) throw new IllegalArgumentException("The line is longer than " + MAX_TEXT_LENGTH + " characters");
+            JsonStrings.decode(line, text);
+        } catch (IllegalArgumentException iae) {
+            errors.increment();
+            writer.write("{\"error\":");
+            JsonStrings.encode(iae.getMessage(), writer);
+            writer.write("}\n");
+            return 1;
+        }
+        if(operation == Operation.CONTAINS_GREEK) {
+            writer.write(Boolean.toString(GreekScanner.containsGreek(text)));
+        } else {
+            apply(operation, withAccents, text, result);
+            JsonStrings.encode(result, writer);
+        }
+        writer.write('\n');
+        return 1;
+    }
+
+    private static void apply(final Operation operation, final boolean withAccents, final CharSequence text, final StringBuilder result) {
+        switch (operation) {
+            case TO_GREEKLISH:
+                Greeklish.toGreeklish(text, withAccents, result);
+                break;
+            case REMOVE_ACCENTS:
+                Greeklish.removeAccents(text, result);
+                break;
+            case CONTAINS_GREEK:
+                result.append(GreekScanner.containsGreek(text));
+                break;
+            default:
+                throw new IllegalStateException("Unknown operation: " + operation);
+        }
+    }
+
+    private static boolean isBlank(final CharSequence line) {
+        for(int i = 0; i < line.length(); i++) {
+            if(!Character.isWhitespace(line.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    private void handleMetrics(final HttpExchange exchange) throws IOException {
+        try {
+            if(!"GET".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "Use GET");
+                return;
+            }
+            send(exchange, 200, "text/plain; version=0.0.4; charset=utf-8", getMetrics());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * @return the metrics of the server, in the Prometheus text format
+     */
+    public String getMetrics() {
+        final StringBuilder metrics = new StringBuilder();
+        metrics.append("# TYPE greeklish_items_total counter\n");
+        for(final Operation operation : Operation.values()) {
+            metrics.append("greeklish_items_total{operation=\"").append(operation.path).append("\"} ")
+                    .append(items.get(operation).sum()).append('\n');
+        }
+        metrics.append("# TYPE greeklish_malformed_items_total counter\n");
+        metrics.append("greeklish_malformed_items_total ").append(errors.sum()).append('\n');
+        metrics.append("# TYPE greeklish_request_duration_seconds histogram\n");
+        for(final Operation operation : Operation.values()) {
+            final LatencyHistogram histogram = latencies.get(operation);
+            final String labels = "{operation=\"" + operation.path + "\"";
+            for(int b = 0; b < NUM_OF_LATENCY_BUCKETS; b++) {
+                final long upperBoundMicros = 1L << b;
+                metrics.append("greeklish_request_duration_seconds_bucket").append(labels).append(",le=\"")
+                        .append(upperBoundMicros / 1e6).append("\"} ").append(histogram.getCountAtOrBelow(upperBoundMicros * 1000)).append('\n');
+            }
+            final long count = histogram.getCount();
+            metrics.append("greeklish_request_duration_seconds_bucket").append(labels).append(",le=\"+Inf\"} ").append(count).append('\n');
+            metrics.append("greeklish_request_duration_seconds_sum").append(labels).append("} ").append(histogram.getSum() / 1e9).append('\n');
+            metrics.append("greeklish_request_duration_seconds_count").append(labels).append("} ").append(count).append('\n');
+        }
+        return metrics.toString();
+    }
+
+    private static void sendError(final HttpExchange exchange, final int status, final String message) throws IOException {
+        send(exchange, status, "text/plain; charset=utf-8", message + "\n");
+    }
+
+    private static void send(final HttpExchange exchange, final int status, final String contentType, final CharSequence body) throws IOException {
+        final byte [] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if(bytes.length > 0) exchange.getResponseBody().write(bytes);
+    }
+
+    /**
+     * Runs the server until the process is stopped.
+     *
+     * @param args optionally the port, by default {@link #DEFAULT_PORT}
+     * @throws IOException if the port cannot be bound
+     */
+    public static void main(final String [] args) throws IOException {
+        final int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        final GreeklishServer server = new GreeklishServer(new InetSocketAddress(port));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(1)));
+        server.start();
+        System.out.println("Listening on http://localhost:" + server.getPort() + "/");
+    }
+}
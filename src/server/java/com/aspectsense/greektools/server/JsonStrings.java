@@ -0,0 +1,92 @@
+package com.aspectsense.greektools.server;
+
+import java.io.IOException;
+
+/**
+ * Decodes and encodes JSON strings, which is all the JSON needed by the NDJSON bodies of the {@link GreeklishServer},
+ * without allocating any intermediate objects.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+final class JsonStrings {
+
+    private static final char [] HEX = "0123456789abcdef".toCharArray();
+
+    private JsonStrings() {}
+
+    /**
+     * Decodes the JSON string in the given text, which may be surrounded by whitespace, e.g. {@code "Καλή\tμέρα"},
+     * appending its value to the given builder.
+     *
+     * @throws IllegalArgumentException if the text is not a single JSON string
+     */
+    static void decode(final CharSequence json, final StringBuilder value) {
+        int i = skipWhitespace(json, 0);
+        if(i == json.length() || json.charAt(i) != '"') throw new IllegalArgumentException("Expected a JSON string");
+        i++;
+        while(true) {
+            if(i == json.length()) throw new IllegalArgumentException("Unterminated JSON string");
+            final char c = json.charAt(i++);
+            if(c == '"') break;
+            if(c < 0x20) throw new IllegalArgumentException("Unescaped control character in JSON string");
+            if(c != '\\') {
+                value.append(c);
+                continue;
+            }
+            if(i == json.length()) throw new IllegalArgumentException("Unterminated JSON string");
+            final char escaped = json.charAt(i++);
+            switch (escaped) {
+                case '"': case '\\': case '/': value.append(escaped); break;
+                case 'b': value.append('\b'); break;
+                case 'f': value.append('\f'); break;
+                case 'n': value.append('\n'); break;
+                case 'r': value.append('\r'); break;
+                case 't': value.append('\t'); break;
+                case 'u':
+                    if(i + 4 > json.length()) throw new IllegalArgumentException("Invalid unicode escape in JSON string");
+                    int code = 0;
+                    for(int h = 0; h < 4; h++) {
+                        final int digit = Character.digit(json.charAt(i++), 16);
+                        if(digit < 0) throw new IllegalArgumentException("Invalid unicode escape in JSON string");
+                        code = code * 16 + digit;
+                    }
+                    value.append((char) code);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Invalid escape in JSON string: \\" + escaped);
+            }
+        }
+        if(skipWhitespace(json, i) != json.length()) throw new IllegalArgumentException("Unexpected characters after JSON string");
+    }
+
+    private static int skipWhitespace(final CharSequence json, int i) {
+        while(i < json.length() && (json.charAt(i) == ' ' || json.charAt(i) == '\t' || json.charAt(i) == '\r' || json.charAt(i) == '\n')) i++;
+        return i;
+    }
+
+    /**
+     * Appends the given value as a JSON string, in quotes and with the necessary escapes.
+     */
+    static void encode(final CharSequence value, final Appendable json) throws IOException {
+        json.append('"');
+        for(int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            // the line and paragraph separators are escaped too, as some JavaScript parsers reject them
+            switch (c) {
+                case '"': json.append("\\\""); break;
+                case '\\': json.append("\\\\"); break;
+                case '\n': json.append("\\n"); break;
+                case '\r': json.append("\\r"); break;
+                case '\t': json.append("\\t"); break;
+                default:
+                    if(c < 0x20 || c == '\u2028' || c == '\u2029') {
+                        json.append("\\u").append(HEX[c >> 12]).append(HEX[(c >> 8) & 0xF]).append(HEX[(c >> 4) & 0xF]).append(HEX[c & 0xF]);
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        json.append('"');
+    }
+}
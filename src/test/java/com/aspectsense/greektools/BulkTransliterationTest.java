@@ -0,0 +1,70 @@
+package com.aspectsense.greektools;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Testing the bulk, parallel methods of {@link Greeklish}.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public class BulkTransliterationTest {
+
+    private static final String [] GREEK_WORDS = {
+            "Αυτή", "είναι", "μια", "δοκιμαστική", "πρόταση.", "Είναι", "καλή;", "ΕΥΓΝΩΜΟΣΎΝΗ", "Μπιφτέκια", "Αγγαρεία",
+            "Ευθεία", "ΑΥΛΌΣ", "Φαΐ", "αυ", "Εύα", "ταυ", "  ", "\n", "Νέαρχος\tΟυρανός"
+    };
+
+    private static String randomText(final Random random, final int numOfWords) {
+        final StringBuilder stringBuilder = new StringBuilder();
+        for(int i = 0; i < numOfWords; i++) {
+            stringBuilder.append(GREEK_WORDS[random.nextInt(GREEK_WORDS.length)]).append(random.nextInt(8) == 0 ? "  " : " ");
+        }
+        return stringBuilder.toString();
+    }
+
+    @Test
+    public void testArraysAndLists() {
+        final Random random = new Random(42);
+        final List<String> greek = new ArrayList<>();
+        for(int i = 0; i < 2000; i++) greek.add(randomText(random, random.nextInt(6)));
+
+        final ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            final String [] greeklishArray = Greeklish.toGreeklish(greek.toArray(new String[0]), true, pool);
+            final List<String> greeklishList = Greeklish.toGreeklish(greek, false);
+            boolean succeed = greeklishArray.length == greek.size() && greeklishList.size() == greek.size();
+            for(int i = 0; i < greek.size(); i++) {
+                succeed &= greeklishArray[i].equals(Greeklish.toGreeklish(greek.get(i), true));
+                succeed &= greeklishList.get(i).equals(Greeklish.toGreeklish(greek.get(i), false));
+            }
+            assert succeed;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testLargeText() {
+        final String greek = "  " + randomText(new Random(7), 100_000);
+        final String expected = Greeklish.toGreeklish(greek, false);
+        final String greeklish = Greeklish.toGreeklishParallel(greek, false);
+        final String greeklishWords = Greeklish.toGreeklishWords(greek, false, true).collect(Collectors.joining(" "));
+        System.out.println(greek.length() + " characters -> " + greeklish.length() + " characters");
+        assert greeklish.equals(expected);
+        // the stream has the words without the whitespace and punctuation between them
+        final StringBuilder expectedWords = new StringBuilder();
+        final WordTokenizer tokenizer = new WordTokenizer(expected);
+        while(tokenizer.next()) {
+            if(expectedWords.length() > 0) expectedWords.append(' ');
+            expectedWords.append(expected, tokenizer.start(), tokenizer.end());
+        }
+        assert greeklishWords.equals(expectedWords.toString());
+    }
+}
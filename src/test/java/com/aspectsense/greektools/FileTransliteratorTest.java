@@ -0,0 +1,73 @@
+package com.aspectsense.greektools;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Testing the conversion of files in {@link FileTransliterator}.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public class FileTransliteratorTest {
+
+    private static final String GREEK_LINE = "Αυτή είναι μια δοκιμαστική πρόταση.\tΕίναι καλή; ΕΥΓΝΩΜΟΣΎΝΗ Μπιφτέκια Αγγαρεία Εύα ταυ\n";
+
+    @Test
+    public void testFiles() throws IOException {
+        final StringBuilder greek = new StringBuilder();
+        for(int i = 0; i < 500; i++) greek.append(i).append(' ').append(GREEK_LINE);
+
+        final Path input = Files.createTempFile("greek", ".txt");
+        final Path output = Files.createTempFile("greeklish", ".txt");
+        try {
+            Files.write(input, greek.toString().getBytes(StandardCharsets.UTF_8));
+            for(final FileTransliterator.Mode mode : FileTransliterator.Mode.values()) {
+                final String expected;
+                if(mode == FileTransliterator.Mode.REMOVE_ACCENTS) {
+                    expected = Greeklish.removeAccents(greek.toString());
+                } else {
+                    final StringWriter stringWriter = new StringWriter();
+                    Greeklish.toGreeklish(new StringReader(greek.toString()), stringWriter, mode == FileTransliterator.Mode.TO_GREEKLISH_WITH_ACCENTS);
+                    expected = stringWriter.toString();
+                }
+                // small chunks, so that the file is split in many of them
+                final long written = FileTransliterator.transliterate(input, output, mode, 3, 100);
+                final String result = new String(Files.readAllBytes(output), StandardCharsets.UTF_8);
+                System.out.println(mode + ": " + written + " bytes " + (result.equals(expected) ? "✓" : "✗"));
+                assert result.equals(expected);
+                assert written == Files.size(output);
+            }
+        } finally {
+            Files.delete(input);
+            Files.delete(output);
+        }
+    }
+
+    @Test
+    public void testWithoutWhitespace() throws IOException {
+        // no whitespace at all, so the chunks are cut at character boundaries; removing accents is per character
+        final StringBuilder greek = new StringBuilder();
+        for(int i = 0; i < 500; i++) greek.append("άέήίόύώ😀ΐΰ");
+        final Path input = Files.createTempFile("greek", ".txt");
+        final Path output = Files.createTempFile("greeklish", ".txt");
+        try {
+            Files.write(input, greek.toString().getBytes(StandardCharsets.UTF_8));
+            for(final int chunkSize : new int [] { 4, 5, 6, 7, 100 }) {
+                FileTransliterator.transliterate(input, output, FileTransliterator.Mode.REMOVE_ACCENTS, 3, chunkSize);
+                final String result = new String(Files.readAllBytes(output), StandardCharsets.UTF_8);
+                assert result.equals(Greeklish.removeAccents(greek.toString())) : chunkSize;
+            }
+            System.out.println("Converted without whitespace ✓");
+        } finally {
+            Files.delete(input);
+            Files.delete(output);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.aspectsense.greektools;
+
+import org.junit.Test;
+
+/**
+ * Testing the classification of characters in {@link GreekCharClass}.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public class GreekCharClassTest {
+
+    private static final String ALL_GREEK_UPPERCASE_LETTERS = "ΑΆΒΓΔΕΈΖΗΉΘΙΊΪΚΛΜΝΞΟΌΠΡΣΤΥΎΫΦΧΨΩΏ";
+    private static final String ALL_GREEK_LOWERCASE_LETTERS = "αάβγδεέζηήθιίϊΐκλμνξοόπρσςτυύϋΰφχψωώ";
+    private static final String ALL_GREEK_VOWELS = "ΑαΆάΕεΈέΗηΉήΙιΊίΪϊΐΟοΌόΥυΎύΫϋΰΩωΏώ";
+    private static final String NOTE_1_GREEK_CONSONANTS = "ΒβΓγΔδΖζΛλΜμΝνΡρ";
+    private static final String NOTE_2_GREEK_CONSONANTS = "ΘθΚκΞξΠπΣσςΤτΦφΧχΨψ";
+
+    @Test
+    public void testMonotonic() {
+        for(final char c : ALL_GREEK_UPPERCASE_LETTERS.toCharArray()) {
+            assert GreekCharClass.isGreek(c) && GreekCharClass.isUpper(c) && !GreekCharClass.isLower(c) : c;
+        }
+        for(final char c : ALL_GREEK_LOWERCASE_LETTERS.toCharArray()) {
+            assert GreekCharClass.isGreek(c) && GreekCharClass.isLower(c) && !GreekCharClass.isUpper(c) : c;
+        }
+        for(final char c : (ALL_GREEK_UPPERCASE_LETTERS + ALL_GREEK_LOWERCASE_LETTERS).toCharArray()) {
+            assert GreekCharClass.isVowel(c) == (ALL_GREEK_VOWELS.indexOf(c) != -1) : c;
+            assert GreekCharClass.isNote1(c) == (NOTE_1_GREEK_CONSONANTS.indexOf(c) != -1) : c;
+            assert GreekCharClass.isNote2(c) == (NOTE_2_GREEK_CONSONANTS.indexOf(c) != -1) : c;
+        }
+        assert GreekCharClass.stripAccent('ά') == 'α';
+        assert GreekCharClass.stripAccent('ΐ') == 'ι';
+        assert GreekCharClass.stripAccent('Ϋ') == 'Υ';
+        assert GreekCharClass.stripAccent('ς') == 'ς';
+    }
+
+    @Test
+    public void testOtherCharacters() {
+        for(final char c : "azAZ09 ;.·;ʹϢЀ".toCharArray()) {
+            assert !GreekCharClass.isGreek(c) && !GreekCharClass.isVowel(c) && GreekCharClass.stripAccent(c) == c : c;
+        }
+    }
+
+    @Test
+    public void testPolytonic() {
+        assert GreekCharClass.isGreek('ἀ') && GreekCharClass.isVowel('ἀ') && GreekCharClass.isLower('ἀ');
+        assert GreekCharClass.stripAccent('ἀ') == 'α';
+        assert GreekCharClass.stripAccent('ᾧ') == 'ω';
+        assert GreekCharClass.stripAccent('Ἢ') == 'Η' && GreekCharClass.isUpper('Ἢ');
+        assert GreekCharClass.isNote1('ῥ') && GreekCharClass.stripAccent('ῥ') == 'ρ';
+    }
+
+    @Test
+    public void testMonotonicVersions() {
+        assert GreekCharClass.toMonotonic('ἄ') == 'ά';
+        assert GreekCharClass.toMonotonic('ᾶ') == 'ά'; // perispomeni
+        assert GreekCharClass.toMonotonic('ὸ') == 'ό'; // varia
+        assert GreekCharClass.toMonotonic('ᾳ') == 'α'; // ypogegrammeni
+        assert GreekCharClass.toMonotonic('ῒ') == 'ΐ';
+        assert GreekCharClass.toMonotonic('Ἀ') == 'Α';
+        assert GreekCharClass.toMonotonic('ῥ') == 'ρ';
+        assert GreekCharClass.toMonotonic('α') == 'α' && GreekCharClass.toMonotonic('a') == 'a';
+        assert GreekCharClass.hasRoughBreathing('ἁ') && GreekCharClass.hasRoughBreathing('Ὅ') && GreekCharClass.hasRoughBreathing('ῥ');
+        assert !GreekCharClass.hasRoughBreathing('ἀ') && !GreekCharClass.hasRoughBreathing('ά') && !GreekCharClass.hasRoughBreathing('ρ');
+        assert GreekCharClass.hasRoughBreathing("ο\u0314", 1, 2) && !GreekCharClass.hasRoughBreathing("ο\u0313", 1, 2);
+
+        assert GreekCharClass.isCombiningMark('\u0301') && GreekCharClass.isCombiningMark('\u0345');
+        assert !GreekCharClass.isCombiningMark('ά') && !GreekCharClass.isCombiningMark('\u0370');
+        assert GreekCharClass.withCombiningMarks('α', "\u0301", 0, 1) == 'ά';
+        assert GreekCharClass.withCombiningMarks('ι', "\u0308\u0301", 0, 2) == 'ΐ';
+        assert GreekCharClass.withCombiningMarks('Υ', "\u0308", 0, 1) == 'Ϋ';
+        assert GreekCharClass.withCombiningMarks('ω', "\u0313\u0342\u0345", 0, 3) == 'ώ';
+        assert GreekCharClass.withCombiningMarks('β', "\u0301", 0, 1) == 'β';
+        assert GreekCharClass.withCombiningMarks('e', "\u0301", 0, 1) == 'e';
+    }
+}
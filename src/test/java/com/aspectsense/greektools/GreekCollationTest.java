@@ -0,0 +1,91 @@
+package com.aspectsense.greektools;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Testing the sorting of Greek text.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public class GreekCollationTest {
+
+    private static final String [] SORTED = {
+            "",
+            "123",
+            "Zeus",
+            "αγια",
+            "Αγια", // accents are compared before case
+            "αγιά",
+            "άγια",
+            "Άγια",
+            "αγιος",
+            "Αγιος",
+            "ΑΓΙΟΣ",
+            "άγιος",
+            "Άγιος",
+            "Αγιοσ τ",
+            "βήτα",
+            "Κοσμος",
+            "κόσμος",
+            "ΚΌΣΜΟΣ",
+            "Ολος",
+            "ωμέγα",
+    };
+
+    @Test
+    public void testOrder() {
+        final List<String> list = new ArrayList<>(Arrays.asList(SORTED));
+        Collections.shuffle(list, new Random(7));
+        list.sort(GreekCollation.comparator());
+        final boolean comparatorMatch = list.equals(Arrays.asList(SORTED));
+        System.out.println(list + " " + (comparatorMatch ? "✓" : "✗"));
+
+        Collections.shuffle(list, new Random(8));
+        final String [] array = list.toArray(new String[0]);
+        GreekCollation.sort(array);
+        final boolean sortMatch = Arrays.equals(array, SORTED);
+        System.out.println(Arrays.toString(array) + " " + (sortMatch ? "✓" : "✗"));
+        assert comparatorMatch && sortMatch;
+    }
+
+    @Test
+    public void testFinalSigma() {
+        assert GreekCollation.compare("κοσμοσ", "κοσμος") == 0;
+        assert Arrays.equals(GreekCollation.sortKey("κοσμοσ"), GreekCollation.sortKey("κοσμος"));
+        assert GreekCollation.compare("ΚΟΣΜΟΣ", "κοσμος") > 0;
+    }
+
+    @Test
+    public void testSortKeysMatchComparator() {
+        final String alphabet = "αάβγδεέζηήθιίϊΐκλμνξοόπρσςτυύϋΰφχψωώΑΆΒΓΣΩΏ ab1";
+        final Random random = new Random(843);
+        final String [] texts = new String[2000];
+        for(int i = 0; i < texts.length; i++) {
+            final char [] chars = new char[random.nextInt(6)];
+            for(int j = 0; j < chars.length; j++) chars[j] = alphabet.charAt(random.nextInt(alphabet.length()));
+            texts[i] = new String(chars);
+        }
+        final byte [][] keys = new byte[texts.length][];
+        for(int i = 0; i < texts.length; i++) keys[i] = GreekCollation.sortKey(texts[i]);
+
+        boolean succeed = true;
+        for(int i = 0; i < 20000; i++) {
+            final int a = random.nextInt(texts.length);
+            final int b = random.nextInt(texts.length);
+            final int byComparator = Integer.signum(GreekCollation.compare(texts[a], texts[b]));
+            final int byKeys = Integer.signum(GreekCollation.compare(keys[a], keys[b]));
+            if(byComparator != byKeys) {
+                System.out.println(texts[a] + " vs " + texts[b] + ": " + byComparator + " [" + byKeys + "] ✗");
+                succeed = false;
+            }
+        }
+        assert succeed;
+    }
+}
@@ -0,0 +1,73 @@
+package com.aspectsense.greektools;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Testing the scanning of characters and UTF-8 bytes in {@link GreekScanner}.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public class GreekScannerTest {
+
+    private static String padding(final int length) {
+        final StringBuilder stringBuilder = new StringBuilder();
+        for(int i = 0; i < length; i++) stringBuilder.append((char) ('a' + i % 26));
+        return stringBuilder.toString();
+    }
+
+    @Test
+    public void testIndexOfFirstGreek() {
+        boolean succeed = true;
+        for(int prefixLength = 0; prefixLength < 40; prefixLength++) {
+            // ASCII, Latin-1 and non-Greek characters from the Greek and Coptic block before the first Greek letter
+            final String prefix = padding(prefixLength) + "é·ʹ;";
+            for(final String greek : new String [] { "α", "Ώ", "ΐ", "ἀ", "ᾧ", "ς" }) {
+                final String text = prefix + greek + " και άλλα";
+                final byte [] utf8 = text.getBytes(StandardCharsets.UTF_8);
+                final int expectedByteIndex = prefix.getBytes(StandardCharsets.UTF_8).length;
+                final ByteBuffer direct = ByteBuffer.allocateDirect(utf8.length + 3);
+                direct.put(new byte[3]).put(utf8).flip().position(3);
+
+                succeed &= GreekScanner.indexOfFirstGreek(text) == prefix.length();
+                succeed &= GreekScanner.indexOfFirstGreek(text.toCharArray(), 0, text.length()) == prefix.length();
+                succeed &= GreekScanner.indexOfFirstGreek(utf8, 0, utf8.length) == expectedByteIndex;
+                succeed &= GreekScanner.indexOfFirstGreek(direct) == expectedByteIndex + 3;
+                succeed &= direct.position() == 3;
+            }
+        }
+        assert succeed;
+    }
+
+    @Test
+    public void testNoGreek() {
+        for(int length = 0; length < 40; length++) {
+            final String text = padding(length) + "ʹ; é ü ж 中文 😀";
+            final byte [] utf8 = text.getBytes(StandardCharsets.UTF_8);
+            assert !GreekScanner.containsGreek(text);
+            assert !GreekScanner.containsGreek(text.toCharArray(), 0, text.length());
+            assert !GreekScanner.containsGreek(utf8, 0, utf8.length);
+            assert !GreekScanner.containsGreek(ByteBuffer.wrap(utf8));
+            assert GreekScanner.greekCharRatio(text) == 0d;
+            assert GreekScanner.greekCharRatio(utf8, 0, utf8.length) == 0d;
+        }
+        // a Greek letter cut at the end of the range is not counted
+        final byte [] utf8 = "abcα".getBytes(StandardCharsets.UTF_8);
+        assert !GreekScanner.containsGreek(utf8, 0, utf8.length - 1);
+    }
+
+    @Test
+    public void testGreekCharRatio() {
+        final String text = "Mixed, με 4 ελληνικές λέξεις and 3 English words: καλά.";
+        final byte [] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        final double expected = 21d / (21 + 20);
+        System.out.println(text + " -> " + GreekScanner.greekCharRatio(text) + " [" + expected + "]");
+        assert Math.abs(GreekScanner.greekCharRatio(text) - expected) < 1e-9;
+        assert Math.abs(GreekScanner.greekCharRatio(text.toCharArray(), 0, text.length()) - expected) < 1e-9;
+        assert Math.abs(GreekScanner.greekCharRatio(utf8, 0, utf8.length) - expected) < 1e-9;
+        assert Math.abs(GreekScanner.greekCharRatio(ByteBuffer.wrap(utf8)) - expected) < 1e-9;
+    }
+}
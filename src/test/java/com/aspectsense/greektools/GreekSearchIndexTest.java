@@ -0,0 +1,95 @@
+package com.aspectsense.greektools;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Testing the accent, case and script insensitive search.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public class GreekSearchIndexTest {
+
+    private static final List<String> ENTRIES = Arrays.asList(
+            "Γειά σου Κόσμε!",           // 0
+            "ο κόσμος είναι μεγάλος",    // 1
+            "KOSMOS",                    // 2
+            "Kósmos Hotel",              // 3
+            "ο ακόσμητος",               // 4
+            "Λευκωσία, Κύπρος",          // 5
+            "Lefkosia",                  // 6
+            "Θεσσαλονίκη",               // 7
+            "");                         // 8
+
+    private static boolean check(final String query, final int [] found, final int... expected) {
+        final boolean match = Arrays.equals(found, expected);
+        System.out.println(query + " -> " + Arrays.toString(found) + " [" + Arrays.toString(expected) + "] " + (match ? "✓" : "✗"));
+        return match;
+    }
+
+    @Test
+    public void testFindSubstring() {
+        final GreekSearchIndex greekSearchIndex = new GreekSearchIndex(ENTRIES);
+        assert greekSearchIndex.size() == ENTRIES.size();
+
+        boolean succeed = true;
+        succeed &= check("Κόσμος", greekSearchIndex.findSubstring("Κόσμος"), 1, 2, 3);
+        succeed &= check("κοσμος", greekSearchIndex.findSubstring("κοσμος"), 1, 2, 3);
+        succeed &= check("kosmos", greekSearchIndex.findSubstring("kosmos"), 1, 2, 3);
+        succeed &= check("κόσμ", greekSearchIndex.findSubstring("κόσμ"), 0, 1, 2, 3, 4);
+        succeed &= check("ΛΕΥΚΩΣΊΑ", greekSearchIndex.findSubstring("ΛΕΥΚΩΣΊΑ"), 5, 6);
+        succeed &= check("σου κοσμε", greekSearchIndex.findSubstring("σου κοσμε"), 0);
+        succeed &= check("thessal", greekSearchIndex.findSubstring("thessal"), 7);
+        succeed &= check("ος", greekSearchIndex.findSubstring("ος"), 0, 1, 2, 3, 4, 5, 6);
+        succeed &= check("xyz", greekSearchIndex.findSubstring("xyz"));
+        succeed &= check("", greekSearchIndex.findSubstring(""));
+        assert succeed;
+    }
+
+    @Test
+    public void testFindPrefix() {
+        final GreekSearchIndex greekSearchIndex = new GreekSearchIndex(ENTRIES);
+
+        boolean succeed = true;
+        succeed &= check("Κοσμ", greekSearchIndex.findPrefix("Κοσμ"), 0, 1, 2, 3);
+        succeed &= check("hot", greekSearchIndex.findPrefix("hot"), 3);
+        succeed &= check("ο κοσ", greekSearchIndex.findPrefix("ο κοσ"), 1);
+        succeed &= check("κ", greekSearchIndex.findPrefix("κ"), 0, 1, 2, 3, 5);
+        succeed &= check("smos", greekSearchIndex.findPrefix("smos"));
+        assert succeed;
+    }
+
+    @Test
+    public void testAgainstScan() {
+        final String [] words = {"κόσμος", "Λευκωσία", "ουρανός", "ΑΓΓΑΡΕΊΑ", "Μπιφτέκια", "ευχαριστώ", "kosmos", "taverna", "θάλασσα", "123"};
+        final Random random = new Random(12);
+        final List<String> entries = new ArrayList<>();
+        for(int i = 0; i < 5000; i++) {
+            final StringBuilder entry = new StringBuilder();
+            final int numOfWords = random.nextInt(4);
+            for(int w = 0; w < numOfWords; w++) entry.append(words[random.nextInt(words.length)]).append(random.nextBoolean() ? " " : ", ");
+            entries.add(entry.toString());
+        }
+        final GreekSearchIndex greekSearchIndex = new GreekSearchIndex(entries);
+
+        boolean succeed = true;
+        for(final String query : new String [] {"ΚΌΣΜΟΣ", "osmo", "kosia", "ουρανος λευκ", "ng", "mpift", "ta", "3"}) {
+            final StringBuilder normalizedQuery = new StringBuilder();
+            GreekSearchIndex.normalize(query, normalizedQuery);
+            final String pattern = normalizedQuery.substring(1);
+            final List<Integer> expected = new ArrayList<>();
+            for(int i = 0; i < entries.size(); i++) {
+                final StringBuilder normalizedEntry = new StringBuilder();
+                GreekSearchIndex.normalize(entries.get(i), normalizedEntry);
+                if(normalizedEntry.indexOf(pattern) != -1) expected.add(i);
+            }
+            succeed &= check(query, greekSearchIndex.findSubstring(query), expected.stream().mapToInt(Integer::intValue).toArray());
+        }
+        assert succeed;
+    }
+}
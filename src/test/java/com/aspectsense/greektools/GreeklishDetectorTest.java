@@ -0,0 +1,71 @@
+package com.aspectsense.greektools;
+
+import org.junit.Test;
+
+/**
+ * Testing the {@link GreeklishDetector} with phrases which are not in the samples it was built from.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public class GreeklishDetectorTest {
+
+    // held out: neither the phrases nor their less common words are in src/main/tables/*-sample.txt
+    private static final String [] GREEK = {
+            "Το λεωφορείο έχει καθυστέρηση", "Ποιος πήρε τα γυαλιά μου;", "Δείξε μου τη φωτογραφία",
+            "Ο εκτυπωτής κόλλησε πάλι", "Θα καθυστερήσω λίγο", "Βρήκες παρκάρισμα;", "Η θεία έφτιαξε κουλουράκια",
+            "Μην ξεχνάς την ομπρέλα", "Χάλασε το ψυγείο", "Πότε τελειώνει η βάρδια σου;", "Νίκησαν οι γείτονες",
+            "Πήγαινε να κοιμηθείς", "Άλλαξα σχέδια", "Το δέμα έφτασε", "Φέρε και γάλα", "Πονάει το κεφάλι μου",
+            "Περίμενε στη γωνία", "Μπράβο για το δίπλωμα"
+    };
+
+    private static final String [] ENGLISH = {
+            "The bus is running late", "Who took my glasses?", "Send me the photo", "The printer jammed",
+            "I will be slightly delayed", "Did you find parking?", "Auntie baked cookies", "Take the umbrella",
+            "The fridge broke down", "When does your shift end?", "The neighbours won", "Go to bed", "I changed my mind",
+            "The parcel came", "Buy some milk too", "My head hurts", "Wait by the corner", "Well done on the driving test",
+            "meeting at noon", "upload the spreadsheet"
+    };
+
+    @Test
+    public void testDetection() {
+        int correct = 0;
+        for(final String greek : GREEK) {
+            final String greeklish = Greeklish.toGreeklish(greek);
+            final boolean detected = GreeklishDetector.isGreeklish(greeklish);
+            System.out.println(greeklish + " -> " + GreeklishDetector.score(greeklish) + " " + (detected ? "✓" : "✗"));
+            if(detected) correct++;
+        }
+        for(final String english : ENGLISH) {
+            final boolean detected = !GreeklishDetector.isGreeklish(english);
+            System.out.println(english + " -> " + GreeklishDetector.score(english) + " " + (detected ? "✓" : "✗"));
+            if(detected) correct++;
+        }
+        System.out.println("Detected " + correct + " of " + (GREEK.length + ENGLISH.length));
+        assert correct >= 0.9 * (GREEK.length + ENGLISH.length);
+
+        // informal spellings and upper case
+        assert GreeklishDetector.isGreeklish("pame me to amaxi");
+        assert GreeklishDetector.isGreeklish("KALO KOURAGIO");
+        assert GreeklishDetector.isGreeklish("o ektypotis xalase");
+    }
+
+    @Test
+    public void testScore() {
+        // no Latin letters, nothing to score
+        assert GreeklishDetector.score("") == 0;
+        assert GreeklishDetector.score("1821 - 2021!") == 0;
+        assert GreeklishDetector.score("Καλημέρα") == 0;
+        assert !GreeklishDetector.isGreeklish("Καλημέρα");
+
+        // the case and the characters between words do not matter
+        assert GreeklishDetector.score("Kalimera, ti kaneis?") == GreeklishDetector.score("KALIMERA ti  kaneis");
+        assert GreeklishDetector.score("«Kalimera» 123 ti kaneis;") == GreeklishDetector.score("kalimera ti kaneis");
+
+        // ranges
+        final String text = "Thank you - efcharisto poly";
+        assert GreeklishDetector.score(text, 0, 9) == GreeklishDetector.score("Thank you");
+        assert GreeklishDetector.score(text, 12, text.length()) == GreeklishDetector.score("efcharisto poly");
+        assert GreeklishDetector.score(text, 0, 9) < 0 && GreeklishDetector.score(text, 12, text.length()) > 0;
+    }
+}
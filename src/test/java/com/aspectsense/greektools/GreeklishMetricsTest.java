@@ -0,0 +1,157 @@
+package com.aspectsense.greektools;
+
+import com.aspectsense.greektools.GreeklishListener.Operation;
+import com.aspectsense.greektools.GreeklishListener.RuleFamily;
+import org.junit.Test;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/**
+ * Testing the {@link GreeklishListener} hooks of {@link Greeklish} with the {@link GreeklishMetrics}.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public class GreeklishMetricsTest {
+
+    @Test
+    public void testMetrics() throws IOException {
+        final GreeklishMetrics metrics = new GreeklishMetrics();
+        Greeklish.setListener(metrics);
+        try {
+            assert Greeklish.getListener() == metrics;
+            final String greek = "Μπαμπάς, αυτή η ΘΕΜΑ μουσική";
+            final String greeklish = Greeklish.toGreeklish(greek);
+            assert greeklish.equals("Bampas, afti i THEMA mousiki");
+            final StringWriter writer = new StringWriter();
+            Greeklish.toGreeklish(greek, true, writer);
+            assert Greeklish.toGreeklishWord("Αύριο", false).equals("Avrio");
+            assert Greeklish.removeAccents("Ένας Κόσμος").equals("Ενας Κοσμος");
+            final StringBuilder withoutAccents = new StringBuilder("> ");
+            Greeklish.removeAccentsLowercase("κόσμος", withoutAccents);
+            assert withoutAccents.toString().equals("> κοσμος");
+            System.out.println(metrics + " " + metrics.getLatencies(Operation.TO_GREEKLISH));
+
+            assert metrics.getCalls(Operation.TO_GREEKLISH) == 2;
+            assert metrics.getInputCharacters(Operation.TO_GREEKLISH) == 2 * greek.length();
+            assert metrics.getOutputCharacters(Operation.TO_GREEKLISH) == greeklish.length() + writer.toString().length();
+            assert metrics.getWords(Operation.TO_GREEKLISH) == 2 * 5;
+            assert metrics.getLatencies(Operation.TO_GREEKLISH).getCount() == 2;
+            assert metrics.getCalls(Operation.TO_GREEKLISH_WORD) == 1 && metrics.getWords(Operation.TO_GREEKLISH_WORD) == 1;
+            assert metrics.getOutputCharacters(Operation.TO_GREEKLISH_WORD) == 5;
+            assert metrics.getCalls(Operation.REMOVE_ACCENTS) == 2;
+            assert metrics.getInputCharacters(Operation.REMOVE_ACCENTS) == 11 + 6;
+            assert metrics.getOutputCharacters(Operation.REMOVE_ACCENTS) == 11 + 6;
+            assert metrics.getWords(Operation.REMOVE_ACCENTS) == 0;
+
+            // "Μπ" and "ΘΕΜΑ" twice, "αυ" three times (with "Αύ") and "ου" twice; "μπ" inside a word is not initial
+            assert metrics.getRuleCount(RuleFamily.WORD_INITIAL) == 2;
+            assert metrics.getRuleCount(RuleFamily.ALL_CAPS) == 2;
+            assert metrics.getRuleCount(RuleFamily.NOTES_1_2) == 3;
+            assert metrics.getRuleCount(RuleFamily.EXCEPTIONS) == 2;
+
+            metrics.reset();
+            assert metrics.getCalls(Operation.TO_GREEKLISH) == 0 && metrics.getLatencies(Operation.TO_GREEKLISH).getCount() == 0;
+            assert metrics.getRuleCount(RuleFamily.NOTES_1_2) == 0;
+        } finally {
+            Greeklish.setListener(null);
+        }
+        // nothing is recorded without the listener
+        Greeklish.toGreeklish("αυτή");
+        assert Greeklish.getListener() == null;
+    }
+
+    @Test
+    public void testHistogram() {
+        final GreeklishMetrics.LatencyHistogram histogram = new GreeklishMetrics().getLatencies(Operation.TO_GREEKLISH);
+        assert histogram.getCount() == 0 && histogram.getValueAtPercentile(50) == 0 && histogram.getMaxValue() == 0;
+        for(long value = 1; value <= 100_000; value++) histogram.record(value);
+        boolean succeed = true;
+        for(final double percentile : new double[] { 1, 10, 50, 90, 99, 99.9, 100 }) {
+            final long expected = (long) (percentile * 1000);
+            final long value = histogram.getValueAtPercentile(percentile);
+            succeed &= value >= expected && value <= expected * 1.04;
+        }
+        System.out.println(histogram + " " + (succeed ? "✓" : "✗"));
+        assert succeed;
+        assert histogram.getCount() == 100_000 && Math.abs(histogram.getMean() - 50_000.5) < 1e-6;
+        assert histogram.getSum() == 100_000L * 100_001 / 2;
+        // cumulative counts, as exported by the server: exact up to 32, and then within the width of a bucket
+        assert histogram.getCountAtOrBelow(-1) == 0 && histogram.getCountAtOrBelow(0) == 0;
+        assert histogram.getCountAtOrBelow(20) == 20 && histogram.getCountAtOrBelow(Long.MAX_VALUE) == 100_000;
+        for(final long value : new long[] { 100, 1_000, 4_096, 50_000 }) {
+            final long count = histogram.getCountAtOrBelow(value);
+            succeed &= count <= value && count >= value * 0.96;
+        }
+        assert succeed;
+
+        // small values are exact, and the buckets cover all the longs
+        final GreeklishMetrics.LatencyHistogram exact = new GreeklishMetrics().getLatencies(Operation.TO_GREEKLISH);
+        exact.record(7);
+        exact.record(-3);
+        assert exact.getValueAtPercentile(100) == 7 && exact.getValueAtPercentile(50) == 0;
+        exact.record(Long.MAX_VALUE);
+        assert exact.getMaxValue() == Long.MAX_VALUE;
+        final Random random = new Random(42);
+        for(int i = 0; i < 100_000; i++) {
+            final long value = random.nextLong() >>> random.nextInt(64);
+            final int bucket = GreeklishMetrics.LatencyHistogram.bucketOf(value);
+            succeed &= GreeklishMetrics.LatencyHistogram.highestValueOf(bucket) >= value;
+            succeed &= bucket == 0 || GreeklishMetrics.LatencyHistogram.highestValueOf(bucket - 1) < value;
+        }
+        assert succeed;
+    }
+
+    @Test
+    public void testConcurrentRecording() throws InterruptedException {
+        final GreeklishMetrics metrics = new GreeklishMetrics();
+        Greeklish.setListener(metrics);
+        try {
+            final Thread [] threads = new Thread[4];
+            for(int t = 0; t < threads.length; t++) {
+                threads[t] = new Thread(() -> {
+                    for(int i = 0; i < 10_000; i++) Greeklish.toGreeklish("Καλή μέρα");
+                });
+                threads[t].start();
+            }
+            for(final Thread thread : threads) thread.join();
+        } finally {
+            Greeklish.setListener(null);
+        }
+        assert metrics.getCalls(Operation.TO_GREEKLISH) == 40_000;
+        assert metrics.getWords(Operation.TO_GREEKLISH) == 80_000;
+        assert metrics.getLatencies(Operation.TO_GREEKLISH).getCount() == 40_000;
+    }
+
+    @Test
+    public void testJmx() throws JMException {
+        final GreeklishMetrics metrics = new GreeklishMetrics();
+        metrics.registerMBean();
+        try {
+            Greeklish.setListener(metrics);
+            Greeklish.toGreeklish("Καλή μέρα");
+            Greeklish.setListener(null);
+
+            final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName objectName = new ObjectName(GreeklishMetrics.OBJECT_NAME);
+            final TabularData calls = (TabularData) mBeanServer.getAttribute(objectName, "Calls");
+            final CompositeData row = calls.get(new Object[] { Operation.TO_GREEKLISH.name() });
+            System.out.println("JMX: " + metrics.getCalls());
+            assert (Long) row.get("value") == 1;
+            assert mBeanServer.getAttribute(objectName, "Latency99thPercentileNanos") instanceof TabularData;
+            mBeanServer.invoke(objectName, "reset", new Object[0], new String[0]);
+            assert metrics.getCalls(Operation.TO_GREEKLISH) == 0;
+        } finally {
+            Greeklish.setListener(null);
+            GreeklishMetrics.unregisterMBean();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.aspectsense.greektools;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+
+/**
+ * Testing the conversion of streams, i.e. {@link GreeklishReader} and {@link GreeklishWriter}.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public class GreeklishStreamTest {
+
+    private static final String GREEK_TEXT = "Αυτή είναι μια δοκιμαστική πρόταση.\n\tΕίναι καλή;  ΕΥΓΝΩΜΟΣΎΝΗ Μπιφτέκια\r\nΑγγαρεία Εύα ταυ ";
+    private static final String EXPECTED_GREEKLISH_TEXT = "Afti einai mia dokimastiki protasi.\n\tEinai kali?  EVGNOMOSYNI Biftekia\r\nAngareia Eva taf ";
+
+    @Test
+    public void testToGreeklishReaderWriter() throws IOException {
+        final StringWriter stringWriter = new StringWriter();
+        Greeklish.toGreeklish(new StringReader(GREEK_TEXT), stringWriter, false);
+        final boolean match = stringWriter.toString().equals(EXPECTED_GREEKLISH_TEXT);
+        System.out.println(GREEK_TEXT + " -> " + stringWriter + " [" + EXPECTED_GREEKLISH_TEXT + "] " + (match ? "✓" : "✗"));
+        assert match;
+    }
+
+    @Test
+    public void testGreeklishReader() throws IOException {
+        // the smallest buffer makes words span the boundaries of the reads
+        final Reader reader = new GreeklishReader(new OneCharReader(GREEK_TEXT), false, StreamingTransliterator.MIN_BUFFER_SIZE);
+        final StringBuilder result = new StringBuilder();
+        final char [] buffer = new char[3];
+        int count;
+        while((count = reader.read(buffer)) != -1) {
+            result.append(buffer, 0, count);
+        }
+        reader.close();
+        final boolean match = result.toString().equals(EXPECTED_GREEKLISH_TEXT);
+        System.out.println(GREEK_TEXT + " -> " + result + " [" + EXPECTED_GREEKLISH_TEXT + "] " + (match ? "✓" : "✗"));
+        assert match;
+    }
+
+    @Test
+    public void testGreeklishWriter() throws IOException {
+        final StringWriter stringWriter = new StringWriter();
+        final Writer writer = new GreeklishWriter(stringWriter, true, StreamingTransliterator.MIN_BUFFER_SIZE);
+        for(int i = 0; i < GREEK_TEXT.length(); i += 5) {
+            writer.write(GREEK_TEXT, i, Math.min(5, GREEK_TEXT.length() - i));
+        }
+        writer.close();
+        final String expected = "Aftī́ eínai mia dokimastikī́ prótasī.\n\tEínai kalī́?  EVGNŌMOSÝNĪ Biftékia\r\nAngareía Éva taf ";
+        final boolean match = stringWriter.toString().equals(expected);
+        System.out.println(GREEK_TEXT + " -> " + stringWriter + " [" + expected + "] " + (match ? "✓" : "✗"));
+        assert match;
+    }
+
+    /**
+     * A reader returning at most one character per read.
+     */
+    private static class OneCharReader extends StringReader {
+        OneCharReader(final String s) {
+            super(s);
+        }
+
+        @Override
+        public int read(final char [] cbuf, final int off, final int len) throws IOException {
+            return super.read(cbuf, off, Math.min(len, 1));
+        }
+    }
+}
@@ -2,6 +2,10 @@ package com.aspectsense.greektools;
 
 import org.junit.Test;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.CharBuffer;
+import java.text.Normalizer;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -153,6 +157,107 @@ public class GreeklishTest {
         assert succeed;
     }
 
+    @Test
+    public void testToGreeklishAppendable() throws IOException {
+        boolean succeed = true;
+        final StringBuilder stringBuilder = new StringBuilder();
+        final char [] allGreekWords = String.join("|", GREEK_WORDS).toCharArray();
+        final CharBuffer slice = CharBuffer.wrap(allGreekWords);
+        int start = 0;
+        for(int i = 0; i < GREEK_WORDS.length; i++) {
+            // convert each word as a slice of the larger buffer, reusing the same builder
+            slice.limit(start + GREEK_WORDS[i].length()).position(start);
+            stringBuilder.setLength(0);
+            Greeklish.toGreeklish(slice, true, stringBuilder);
+            start += GREEK_WORDS[i].length() + 1;
+            final StringWriter stringWriter = new StringWriter();
+            Greeklish.toGreeklish(GREEK_WORDS[i], false, stringWriter);
+            final boolean match = stringBuilder.toString().equals(EXPECTED_GREEKLISH_WORDS_WITH_ACCENTS[i])
+                    && stringWriter.toString().equals(EXPECTED_GREEKLISH_WORDS_SIMPLIFIED[i]);
+            System.out.println(GREEK_WORDS[i] + " -> " + stringBuilder + ", " + stringWriter + " " + (match ? "✓" : "✗"));
+            succeed &= match;
+        }
+        assert succeed;
+    }
+
+    @Test
+    public void testRemoveAccentsUnchanged() throws IOException {
+        final String withoutAccents = "Η ΔΙΗΘΙΣΗ ειναι ενα ασυνηθιστο ρημα";
+        assert Greeklish.removeAccents(withoutAccents) == withoutAccents;
+        assert Greeklish.removeAccentsLowercase(withoutAccents) == withoutAccents;
+        assert Greeklish.removeAccentsUppercase(withoutAccents) == withoutAccents;
+
+        final StringWriter stringWriter = new StringWriter();
+        Greeklish.removeAccents(CharBuffer.wrap("Ένας Κόσμος"), stringWriter);
+        assert stringWriter.toString().equals("Ενας Κοσμος");
+    }
+
+    @Test
+    public void testWordEdges() {
+        final Map<String,String> testWords = new HashMap<>();
+        testWords.put("Εύα", "Eva"); // note 1 applies when a single letter follows
+        testWords.put("ταυ", "taf"); // note 2 applies at the end of the word
+        testWords.put("Ζευς", "Zefs");
+        testWords.put("Μπαμπάς", "Bampas"); // ΜΠ is converted to B only at the beginning of the word
+        testWords.put("ΑΥΕΥ", "AVEF");
+        testWords.put("Καυ.", "Kaf.");
+        testWords.put("", "");
+
+        boolean succeed = true;
+        for(final String greekWord : testWords.keySet()) {
+            final String greeklishWord = Greeklish.toGreeklishWord(greekWord, false);
+            final boolean match = greeklishWord.equals(testWords.get(greekWord));
+            System.out.println(greekWord + " -> " + greeklishWord + " [" + testWords.get(greekWord) + "] " + (match ? "✓" : "✗"));
+            succeed &= match;
+        }
+        assert succeed;
+    }
+
+    @Test
+    public void testToGreekRoundTrip() {
+        boolean succeed = true;
+        for(final String greekWord : GREEK_WORDS) {
+            // the transliteration with accents tells apart letters such as "ι" and "η", so it is converted back exactly
+            final String greeklishWord = Greeklish.toGreeklish(greekWord, true);
+            final String roundTrip = Greeklish.toGreek(greeklishWord);
+            final boolean match = roundTrip.equals(greekWord);
+            System.out.println(greekWord + " -> " + greeklishWord + " -> " + roundTrip + " " + (match ? "✓" : "✗"));
+            succeed &= match;
+        }
+        assert succeed;
+    }
+
+    @Test
+    public void testToGreek() {
+        final Map<String,String> testWords = new HashMap<>();
+        testWords.put("Nearchos", "Νεαρχος");
+        testWords.put("THEOS", "ΘΕΟΣ");
+        testWords.put("psychi", "ψυχι");
+        testWords.put("Anglia", "Αγγλια");
+        testWords.put("anchos", "αγχος");
+        testWords.put("sfinx", "σφιγξ");
+        testWords.put("Bampas", "Μπαμπας"); // b at the beginning of the word
+        testWords.put("BAMPAS", "ΜΠΑΜΠΑΣ");
+        testWords.put("Avlos", "Αυλος"); // av before a voiced consonant
+        testWords.put("efcharisto", "ευχαριστο");
+        testWords.put("taf", "ταυ"); // af at the end of the word
+        testWords.put("taverna", "ταβερνα"); // av before a vowel
+        testWords.put("afou", "αφου");
+        testWords.put("kosmos, kosme!", "κοσμος, κοσμε!"); // final sigma before punctuation
+        testWords.put("Afti einai mia dokimastiki protasi. Einai kali?", "Αυτι ειναι μια δοκιμαστικι προτασι. Ειναι καλι;");
+        testWords.put("Kósmos", "Κόσμος");
+        testWords.put("  ", "  "); // whitespace is kept as it is
+
+        boolean succeed = true;
+        for(final String greeklishWord : testWords.keySet()) {
+            final String greekWord = Greeklish.toGreek(greeklishWord);
+            final boolean match = greekWord.equals(testWords.get(greeklishWord));
+            System.out.println(greeklishWord + " -> " + greekWord + " [" + testWords.get(greeklishWord) + "] " + (match ? "✓" : "✗"));
+            succeed &= match;
+        }
+        assert succeed;
+    }
+
     @Test
     public void testRemoveLowercaseAccents() {
         final Map<String,String> testTexts = new HashMap<>();
@@ -231,4 +336,53 @@ public class GreeklishTest {
         }
         assert succeed;
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testPolytonicAndDecomposed() {
+        final Map<String,String> testTexts = new HashMap<>();
+        // ISO 843 converts the rough breathing to "h" before a vowel and after an initial rho
+        testTexts.put("Ἐν ἀρχῇ ἦν ὁ λόγος", "En archi in ho logos");
+        testTexts.put("Αὐτὸς εὐδαίμων", "Aftos evdaimon");
+        testTexts.put("ΟΥ̓ΡΑΝΟΣ Οὐρανός", "OURANOS Ouranos");
+        testTexts.put("Ῥόδος ῥήτωρ", "Rhodos rhitor");
+        testTexts.put("Οἱ Ἕλληνες ὑπὸ", "Hoi Hellines hypo");
+        testTexts.put("ΟἹ Ὁ ἙΛΛΗΝΕΣ", "HOI Ho HELLINES");
+
+        boolean succeed = true;
+        for(final String text : testTexts.keySet()) {
+            final String greeklish = Greeklish.toGreeklish(text);
+            final String decomposed = Greeklish.toGreeklish(Normalizer.normalize(text, Normalizer.Form.NFD));
+            final boolean match = greeklish.equals(testTexts.get(text)) && decomposed.equals(greeklish);
+            System.out.println(text + " -> " + greeklish + " [" + testTexts.get(text) + "] " + (match ? "✓" : "✗"));
+            succeed &= match;
+        }
+        assert succeed;
+        assert Greeklish.toGreeklish("ἄνθρωπος", true).equals(Greeklish.toGreeklish("άνθρωπος", true));
+
+        // decomposed monotonic text is converted as the precomposed one, with and without accents
+        final String [] monotonic = { "Αυτή είναι μια δοκιμαστική πρόταση.", "ΕΥΓΝΩΜΟΣΎΝΗ", "Φαΐ", "προϋπόθεση", "ΆΥΛΟΣ Εύα" };
+        for(final String text : monotonic) {
+            final String nfd = Normalizer.normalize(text, Normalizer.Form.NFD);
+            succeed &= Greeklish.toGreeklish(nfd).equals(Greeklish.toGreeklish(text));
+            succeed &= Greeklish.toGreeklish(nfd, true).equals(Greeklish.toGreeklish(text, true));
+            succeed &= Greeklish.removeAccents(nfd).equals(Greeklish.removeAccents(text));
+        }
+        assert succeed;
+
+        // combining marks of other letters are kept
+        assert Greeklish.toGreeklish("café").equals("café");
+        assert Greeklish.removeAccents("cafe\u0301 κο\u0301σμος").equals("cafe\u0301 κοσμος");
+        assert Greeklish.removeAccents("ἄνθρωπος ᾠδή").equals("ανθρωπος ωδη");
+        assert Greeklish.removeAccentsLowercase("Α\u0301ρης α\u0301ρης").equals("Α\u0301ρης αρης");
+        final String unchanged = "Ενας κοσμος, cafe\u0301";
+        assert Greeklish.removeAccents(unchanged) == unchanged;
+
+        // the alignment covers the combining marks
+        final String nfd = Normalizer.normalize("Κάθε ψυχή", Normalizer.Form.NFD);
+        final StringBuilder greeklish = new StringBuilder();
+        final OffsetAlignment alignment = new OffsetAlignment();
+        Greeklish.toGreeklish(nfd, false, greeklish, alignment);
+        assert greeklish.toString().equals("Kathe psychi");
+        assert alignment.getSourceEnd() == nfd.length() && alignment.toSourceEnd(2) == 3;
+    }
+}
@@ -0,0 +1,98 @@
+package com.aspectsense.greektools;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Testing the {@link IncrementalTransliterator} against the transliteration of the whole text.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public class IncrementalTransliteratorTest {
+
+    private static final String [] PIECES = {
+            "Αυτή", "είναι", "μια", "δοκιμαστική", "πρόταση", "ΕΥΓΝΩΜΟΣΎΝΗ", "Μπιφτέκια", "αυ", "ευ", "ταυ", "μπ", "γγ",
+            "Ψυχή", "ΘΕΜΑ", "Θ", "σ", "ς", "τ", "ά", "ΐ", "ἄνθρωπος", "ά", "́", " ", "  ", "\n", ",", ";", ".", "-",
+            "«", "»", "1821", "abc"
+    };
+
+    @Test
+    public void testTyping() {
+        final Transliterator transliterator = TransliterationProfile.ISO_843.transliterator();
+        final IncrementalTransliterator preview = new IncrementalTransliterator(transliterator);
+        final String text = "Η Αυγή έφυγε. ΜΠΑΜΠΑΣ αυτός, ευχή;";
+        boolean succeed = true;
+        for(int i = 0; i < text.length(); i++) {
+            preview.insert(i, text.substring(i, i + 1));
+            succeed &= preview.getOutputString().equals(transliterator.transliterate(text.substring(0, i + 1)));
+        }
+        System.out.println(text + " -> " + preview.getOutput() + " " + (succeed ? "✓" : "✗"));
+        assert succeed;
+        assert preview.getText().toString().equals(text);
+
+        // deleting the space joins two words, and the note 1/2 rules see the new neighbour
+        preview.setText("αυ θέμα");
+        assert preview.getOutputString().equals("av thema");
+        preview.delete(2, 1);
+        assert preview.getOutputString().equals("afthema");
+        preview.insert(2, " ");
+        assert preview.getOutputString().equals("av thema");
+        preview.replace(0, 2, "ΜΠΑ");
+        assert preview.getOutputString().equals(transliterator.transliterate("ΜΠΑ θέμα"));
+    }
+
+    @Test
+    public void testRandomEdits() {
+        final Random random = new Random(42);
+        for(final Transliterator transliterator : new Transliterator [] {
+                TransliterationProfile.ISO_843.transliterator(), TransliterationProfile.ISO_843_WITH_ACCENTS.transliterator() }) {
+            final IncrementalTransliterator preview = new IncrementalTransliterator(transliterator, "Καλή μέρα");
+            final StringBuilder text = new StringBuilder("Καλή μέρα");
+            boolean succeed = true;
+            for(int i = 0; i < 5000; i++) {
+                final String before = preview.getOutputString();
+                final int start = random.nextInt(text.length() + 1);
+                final int end = Math.min(text.length(), start + (random.nextInt(4) == 0 ? random.nextInt(12) : 0));
+                final StringBuilder inserted = new StringBuilder();
+                for(int n = random.nextInt(3); n > 0; n--) inserted.append(PIECES[random.nextInt(PIECES.length)]);
+                if(text.length() > 200 && inserted.length() > 0) inserted.setLength(0);
+                preview.replace(start, end, inserted);
+                text.replace(start, end, inserted.toString());
+
+                final String after = preview.getOutputString();
+                succeed &= after.equals(transliterator.transliterate(text.toString()));
+                succeed &= preview.getText().toString().equals(text.toString());
+                // the reported change turns the previous output into the new one
+                final String patched = before.substring(0, preview.getChangeStart()) +
+                        after.substring(preview.getChangeStart(), preview.getChangeStart() + preview.getChangeInsertedLength()) +
+                        before.substring(preview.getChangeStart() + preview.getChangeRemovedLength());
+                succeed &= patched.equals(after);
+            }
+            System.out.println(transliterator + ": " + preview + " " + (succeed ? "✓" : "✗"));
+            assert succeed;
+        }
+    }
+
+    @Test
+    public void testLargeDocument() {
+        final Transliterator transliterator = TransliterationProfile.ISO_843.transliterator();
+        final StringBuilder document = new StringBuilder();
+        while(document.length() < 1_000_000) document.append("Αυτή είναι μια δοκιμαστική πρόταση. ");
+        final IncrementalTransliterator preview = new IncrementalTransliterator(transliterator, document);
+
+        // typing in the middle of the document touches only the word being typed
+        final String typed = "Καλημέρα σας";
+        final int offset = document.length() / 2;
+        final long start = System.nanoTime();
+        for(int i = 0; i < typed.length(); i++) {
+            preview.insert(offset + i, typed.substring(i, i + 1));
+            assert preview.getChangeRemovedLength() < 64 && preview.getChangeInsertedLength() < 64;
+        }
+        final long elapsed = System.nanoTime() - start;
+        System.out.println("Typed " + typed.length() + " characters in a " + document.length() + " characters document in " + elapsed / 1000 + "µs");
+        document.insert(offset, typed);
+        assert preview.getOutputString().equals(transliterator.transliterate(document.toString()));
+    }
+}
@@ -0,0 +1,116 @@
+package com.aspectsense.greektools;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Testing the {@link NameDictionary} and its use before the transliteration rules.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public class NameDictionaryTest {
+
+    private static final String LETTERS = "αβγδεζηθικλμνξοπρστυφχψωάέήίόύώΑΓΔΚΜΠΣΩ";
+
+    private static String randomWord(final Random random) {
+        final StringBuilder word = new StringBuilder();
+        for(int n = 1 + random.nextInt(8); n > 0; n--) word.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+        return word.toString();
+    }
+
+    @Test
+    public void testLookups() throws IOException {
+        final Random random = new Random(42);
+        final Map<String, String> entries = new HashMap<>();
+        while(entries.size() < 100_000) {
+            final String word = randomWord(random);
+            entries.put(word, Greeklish.toGreeklish(word) + (random.nextBoolean() ? "ë" : "😀"));
+        }
+        final Path file = Files.createTempFile("names", ".dict");
+        try {
+            long start = System.nanoTime();
+            NameDictionary.write(entries, file);
+            System.out.println("Wrote " + entries.size() + " words in " + (System.nanoTime() - start) / 1_000_000 + "ms, " + Files.size(file) + " bytes");
+            start = System.nanoTime();
+            final NameDictionary dictionary = NameDictionary.open(file);
+            System.out.println("Opened " + dictionary + " in " + (System.nanoTime() - start) / 1000 + "µs");
+            assert dictionary.size() == entries.size();
+
+            boolean succeed = true;
+            for(final Map.Entry<String, String> entry : entries.entrySet()) {
+                succeed &= entry.getValue().equals(dictionary.get(entry.getKey()));
+            }
+            // words which are not in the dictionary, including prefixes and extensions of words which are
+            for(int i = 0; i < 100_000; i++) {
+                final String word = randomWord(random);
+                succeed &= entries.containsKey(word) == (dictionary.get(word) != null);
+                final String longer = word + "ς";
+                succeed &= entries.containsKey(longer) == (dictionary.get(longer) != null);
+                final String shorter = word.substring(0, word.length() - 1);
+                succeed &= entries.containsKey(shorter) == (dictionary.get(shorter) != null);
+            }
+            System.out.println("lookups: " + (succeed ? "✓" : "✗"));
+            assert succeed;
+            assert dictionary.get("") == null && dictionary.get("abc") == null && dictionary.get("ωωωωωωωωω") == null;
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testGreeklish() throws IOException {
+        final Path tsv = Files.createTempFile("names", ".tsv");
+        final Path file = Files.createTempFile("names", ".dict");
+        try {
+            Files.write(tsv, Arrays.asList("# official spellings", "Γιώργος\tYiorgos", "ΓΙΩΡΓΟΣ\tYIORGOS", "", "Λευκωσία\tNicosia"), StandardCharsets.UTF_8);
+            NameDictionary.compile(tsv, file);
+            final NameDictionary dictionary = NameDictionary.open(file);
+            assert dictionary.size() == 3;
+            assert Greeklish.toGreeklish("Γιώργος, Λευκωσία").equals("Giorgos, Lefkosia");
+
+            Greeklish.setNameDictionary(dictionary);
+            Greeklish.setWordCache(new WordCache(64));
+            try {
+                assert Greeklish.getNameDictionary() == dictionary;
+                // whole words only, before the rules, with or without accents, and also from the cache
+                assert Greeklish.toGreeklish("Ο Γιώργος ζει στη Λευκωσία.").equals("O Yiorgos zei sti Nicosia.");
+                assert Greeklish.toGreeklish("Ο Γιώργος ζει στη Λευκωσία.").equals("O Yiorgos zei sti Nicosia.");
+                assert Greeklish.toGreeklish("ΓΙΩΡΓΟΣ Γιώργου", true).equals("YIORGOS " + Greeklish.toGreeklishWord("Γιώργου", true));
+                assert Greeklish.toGreeklishWord("Γιώργος", false).equals("Yiorgos");
+
+                final StringBuilder greeklish = new StringBuilder();
+                final OffsetAlignment alignment = new OffsetAlignment();
+                Greeklish.toGreeklish("Κάθε Λευκωσία", false, greeklish, alignment);
+                assert greeklish.toString().equals("Kathe Nicosia");
+                assert alignment.toSource(greeklish.indexOf("Nicosia")) == 5 && alignment.toSourceEnd(greeklish.length()) == 13;
+            } finally {
+                Greeklish.setNameDictionary(null);
+                Greeklish.setWordCache(null);
+            }
+            assert Greeklish.toGreeklish("Γιώργος").equals("Giorgos");
+        } finally {
+            Files.delete(tsv);
+            Files.delete(file);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testNotADictionary() throws IOException {
+        final Path file = Files.createTempFile("names", ".dict");
+        try {
+            Files.write(file, "Γιώργος\tYiorgos\n".getBytes(StandardCharsets.UTF_8));
+            NameDictionary.open(file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
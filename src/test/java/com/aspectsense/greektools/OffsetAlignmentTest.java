@@ -0,0 +1,88 @@
+package com.aspectsense.greektools;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Testing the {@link OffsetAlignment} produced by the transliteration.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public class OffsetAlignmentTest {
+
+    private static final String [] GREEK_WORDS = {
+            "Αυτή", "είναι", "μια", "δοκιμαστική", "πρόταση.", "Είναι", "καλή;", "ΕΥΓΝΩΜΟΣΎΝΗ", "Μπιφτέκια", "Αγγαρεία",
+            "Ευθεία", "ΑΥΛΌΣ", "Φαΐ", "αυ", "Εύα", "ταυ", "  ", "\n", "Νέαρχος\tΟυρανός", "άγχος", "Ψυχή", "ΘΕΜΑ"
+    };
+
+    @Test
+    public void testOffsets() {
+        final String greek = "Κάθε ψυχή";
+        final StringBuilder greeklish = new StringBuilder();
+        final OffsetAlignment alignment = new OffsetAlignment();
+        Greeklish.toGreeklish(greek, false, greeklish, alignment);
+        System.out.println(greek + " -> " + greeklish + " " + alignment + " " + Arrays.toString(alignment.toSourceOffsets()));
+        assert greeklish.toString().equals("Kathe psychi");
+        assert Arrays.equals(alignment.toSourceOffsets(), new int [] {0, 1, 2, 2, 3, 4, 5, 5, 6, 7, 7, 8, 9});
+        // "Ka", "th", "e ", "ps", "y", "ch", "i"
+        assert alignment.getNumOfSegments() == 7;
+
+        // the "h" of "th" maps to the "θ", and a range ending in the middle of "th" covers the whole "θ"
+        assert alignment.toSource(3) == 2;
+        assert alignment.toSourceEnd(3) == 3;
+        assert alignment.toOutput(2) == 2;
+        assert alignment.toOutputEnd(3) == 4;
+
+        // a match in the converted text is highlighted in the original text
+        final int matchStart = greeklish.indexOf("psychi");
+        final int matchEnd = matchStart + "psychi".length();
+        assert greek.substring(alignment.toSource(matchStart), alignment.toSourceEnd(matchEnd)).equals("ψυχή");
+        assert greek.substring(alignment.toSource(matchStart), alignment.toSourceEnd(matchStart + 2)).equals("ψ");
+    }
+
+    @Test
+    public void testContractions() {
+        final OffsetAlignment alignment = new OffsetAlignment();
+        final StringBuilder greeklish = new StringBuilder();
+        TransliterationProfile.ISO_843_WITH_ACCENTS.transliterator().transliterate("Μπάμπης άγχος", greeklish, alignment);
+        System.out.println(greeklish + " " + Arrays.toString(alignment.toSourceOffsets()));
+        assert greeklish.toString().equals("Bámpīs ánchos");
+        // "Μπ" to "B" and "γχ" to "nch"
+        assert Arrays.equals(alignment.toSourceOffsets(), new int [] {0, 2, 3, 4, 5, 6, 7, 8, 9, 9, 9, 11, 12, 13});
+        assert alignment.toSourceEnd(1) == 2;
+        assert alignment.toOutput(10) == 8 && alignment.toOutputEnd(10) == 11;
+    }
+
+    @Test
+    public void testRandomTexts() {
+        final Random random = new Random(42);
+        final OffsetAlignment alignment = new OffsetAlignment();
+        final StringBuilder greeklish = new StringBuilder();
+        final WordCache wordCache = new WordCache(64);
+        Greeklish.setWordCache(wordCache); // the cache does not keep the alignment, so it must be bypassed
+        try {
+            boolean succeed = true;
+            for(int i = 0; i < 1000; i++) {
+                final StringBuilder greek = new StringBuilder();
+                for(int w = random.nextInt(8); w > 0; w--) greek.append(GREEK_WORDS[random.nextInt(GREEK_WORDS.length)]).append(' ');
+                greeklish.setLength(0);
+                Greeklish.toGreeklish(greek, i % 2 == 0, greeklish, alignment);
+                succeed &= greeklish.toString().equals(Greeklish.toGreeklish(greek.toString(), i % 2 == 0));
+                succeed &= alignment.getOutputLength() == greeklish.length();
+                succeed &= alignment.getSourceEnd() == greek.length();
+                final int [] offsets = alignment.toSourceOffsets();
+                for(int o = 1; o < offsets.length; o++) succeed &= offsets[o] >= offsets[o - 1];
+                for(int s = 0; s <= greek.length(); s++) {
+                    succeed &= alignment.toSource(alignment.toOutput(s)) <= s;
+                    succeed &= alignment.toSourceEnd(alignment.toOutputEnd(s)) >= s;
+                }
+            }
+            assert succeed;
+        } finally {
+            Greeklish.setWordCache(null);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.aspectsense.greektools;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Testing the {@link TransliterationProcessor}.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public class TransliterationProcessorTest {
+
+    private static final String [] GREEK = {
+            "Καλή μέρα κόσμε", "Μπιφτέκια", "ΕΥΓΝΩΜΟΣΎΝΗ", "Αυτή είναι μια δοκιμαστική πρόταση.", "Ψυχή", "άγχος"
+    };
+
+    /**
+     * Publishes the given number of items synchronously, as they are requested, and records the largest number of items
+     * requested but not yet sent.
+     */
+    private static final class CountingPublisher implements Flow.Publisher<String> {
+        private final int numOfItems;
+        private final AtomicLong outstanding = new AtomicLong();
+        private volatile long maxOutstanding = 0;
+        private volatile boolean cancelled = false;
+
+        CountingPublisher(final int numOfItems) {
+            this.numOfItems = numOfItems;
+        }
+
+        @Override
+        public void subscribe(final Flow.Subscriber<? super String> subscriber) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                private int sent = 0;
+                private boolean emitting = false;
+
+                @Override
+                public synchronized void request(final long n) {
+                    maxOutstanding = Math.max(maxOutstanding, outstanding.addAndGet(n));
+                    if(emitting) return; // re-entrant call from onNext
+                    emitting = true;
+                    while(outstanding.get() > 0 && sent < numOfItems && !cancelled) {
+                        outstanding.decrementAndGet();
+                        subscriber.onNext(GREEK[sent % GREEK.length] + " " + sent++);
+                    }
+                    if(sent == numOfItems && !cancelled) {
+                        sent++;
+                        subscriber.onComplete();
+                    }
+                    emitting = false;
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+    }
+
+    /**
+     * Collects the items, requesting them a few at a time.
+     */
+    private static final class CollectingSubscriber implements Flow.Subscriber<String> {
+        private final int batch;
+        private final List<String> items = new ArrayList<>();
+        private final CountDownLatch done = new CountDownLatch(1);
+        private Flow.Subscription subscription;
+        private int received = 0;
+        private volatile Throwable error = null;
+        private volatile boolean completed = false;
+
+        CollectingSubscriber(final int batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(batch);
+        }
+
+        @Override
+        public void onNext(final String item) {
+            items.add(item);
+            if(++received == batch) {
+                received = 0;
+                subscription.request(batch);
+            }
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            error = throwable;
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            done.countDown();
+        }
+
+        boolean await() throws InterruptedException {
+            return done.await(30, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testOrderAndBackpressure() throws InterruptedException {
+        final int numOfItems = 100_000;
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            final TransliterationProcessor processor = TransliterationProcessor.builder(Greeklish::toGreeklish)
+                    .executor(executorService)
+                    .parallelism(4)
+                    .batchSize(32)
+                    .bufferSize(256)
+                    .build();
+            final CountingPublisher publisher = new CountingPublisher(numOfItems);
+            final CollectingSubscriber subscriber = new CollectingSubscriber(7);
+            final long start = System.nanoTime();
+            processor.subscribe(subscriber);
+            publisher.subscribe(processor);
+            assert subscriber.await();
+            final long elapsed = System.nanoTime() - start;
+            System.out.println(numOfItems + " items in " + elapsed / 1_000_000 + "ms, at most " + publisher.maxOutstanding + " requested");
+
+            assert subscriber.completed && subscriber.error == null;
+            assert subscriber.items.size() == numOfItems;
+            boolean succeed = true;
+            for(int i = 0; i < numOfItems; i++) {
+                succeed &= subscriber.items.get(i).equals(Greeklish.toGreeklish(GREEK[i % GREEK.length] + " " + i));
+            }
+            System.out.println("in order: " + (succeed ? "✓" : "✗"));
+            assert succeed;
+            // the processor never asks for more items than it can hold
+            assert publisher.maxOutstanding <= 256;
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testSlowSubscriber() throws InterruptedException {
+        final TransliterationProcessor processor = TransliterationProcessor.builder(Greeklish::removeAccents)
+                .bufferSize(16)
+                .build();
+        final CountingPublisher publisher = new CountingPublisher(1000);
+        final CollectingSubscriber subscriber = new CollectingSubscriber(1);
+        publisher.subscribe(processor);
+        processor.subscribe(subscriber);
+        assert subscriber.await();
+        assert subscriber.completed && subscriber.items.size() == 1000;
+        assert subscriber.items.get(2).equals("ΕΥΓΝΩΜΟΣΥΝΗ 2");
+        assert publisher.maxOutstanding <= 16;
+    }
+
+    @Test
+    public void testFailingOperation() throws InterruptedException {
+        final Function<String, String> failing = s -> {
+            if(s.endsWith(" 500")) throw new IllegalArgumentException(s);
+            return Greeklish.toGreeklish(s);
+        };
+        final TransliterationProcessor processor = TransliterationProcessor.builder(failing)
+                .batchSize(16)
+                .build();
+        final CountingPublisher publisher = new CountingPublisher(10_000);
+        final CollectingSubscriber subscriber = new CollectingSubscriber(10);
+        publisher.subscribe(processor);
+        processor.subscribe(subscriber);
+        assert subscriber.await();
+        System.out.println(subscriber.items.size() + " items, then " + subscriber.error);
+        // the items before the failure are delivered in order, and then the error
+        assert subscriber.error instanceof IllegalArgumentException;
+        assert !subscriber.completed && subscriber.items.size() == 500;
+        assert publisher.cancelled;
+    }
+
+    @Test
+    public void testSecondSubscriber() throws InterruptedException {
+        final TransliterationProcessor processor = TransliterationProcessor.builder(Greeklish::toGreeklish).build();
+        processor.subscribe(new CollectingSubscriber(1));
+        final CollectingSubscriber second = new CollectingSubscriber(1);
+        processor.subscribe(second);
+        assert second.await();
+        assert second.error instanceof IllegalStateException;
+    }
+}
@@ -0,0 +1,71 @@
+package com.aspectsense.greektools;
+
+import org.junit.Test;
+
+/**
+ * Testing the {@link Transliterator} and the built-in {@link TransliterationProfile}s.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public class TransliteratorTest {
+
+    private static final String GREEK = "Αυτή είναι μια δοκιμαστική πρόταση. Ο Μπάμπης και η Ευαγγελία στα ΧΑΝΙΑ.";
+
+    private static boolean check(final TransliterationProfile profile, final String greek, final String expected) {
+        final String converted = profile.transliterator().transliterate(greek);
+        final boolean succeed = converted.equals(expected);
+        System.out.println((succeed ? "✓ " : "✗ ") + profile + ": " + greek + " -> " + converted + (succeed ? "" : " (expected " + expected + ")"));
+        return succeed;
+    }
+
+    @Test
+    public void testBuiltInProfilesBackGreeklish() {
+        assert TransliterationProfile.ISO_843.transliterator().transliterate(GREEK).equals(Greeklish.toGreeklish(GREEK, false));
+        assert TransliterationProfile.ISO_843_WITH_ACCENTS.transliterator().transliterate(GREEK).equals(Greeklish.toGreeklish(GREEK, true));
+        assert TransliterationProfile.ISO_843.transliterator().transliterateWord("Κόσμος").equals(Greeklish.toGreeklishWord("Κόσμος", false));
+        assert TransliterationProfile.ISO_843_WITH_ACCENTS.transliterator().transliterateWord("Κόσμος").equals("Kósmos");
+        // each profile is compiled once
+        assert TransliterationProfile.ISO_843.transliterator() == TransliterationProfile.ISO_843.transliterator();
+        assert Greeklish.getTransliterator(false) == TransliterationProfile.ISO_843.transliterator();
+    }
+
+    @Test
+    public void testProfiles() {
+        boolean succeed = true;
+        succeed &= check(TransliterationProfile.ELOT_743_PASSPORT, "Μπάμπης Λαμπράκης", "Mpampis Lamprakis");
+        succeed &= check(TransliterationProfile.ELOT_743_PASSPORT, "ΜΠΑΜΠΗΣ ΕΥΘΥΜΙΟΣ", "MPAMPIS EFTHYMIOS");
+        succeed &= check(TransliterationProfile.ELOT_743_PASSPORT, "Ηυγενία", "Ivgenia");
+        succeed &= check(TransliterationProfile.UN_BGN, "Μπάμπης Λαμπράκης", "Bambis Lambrakis");
+        succeed &= check(TransliterationProfile.UN_BGN, "Ντομάτα Γκρέκο Άγγελος", "Domata Greko Angelos");
+        succeed &= check(TransliterationProfile.UN_BGN, "ΚΑΝΤΑΡΑ", "KANDARA");
+        succeed &= check(TransliterationProfile.PHONETIC, "Οικογένεια Αιγαίο είναι υιός", "Ikogenia Egeo ine ios");
+        succeed &= check(TransliterationProfile.PHONETIC, "Ξυλόκαστρο Χανιά ΞΑΝΘΗ Ψυχή", "Ksilokastro Hania KSANTHI Psihi");
+        succeed &= check(TransliterationProfile.PHONETIC, "Μπάμπης Ντίνος", "Babis Dinos");
+        assert succeed;
+    }
+
+    @Test
+    public void testBuilder() {
+        final TransliterationProfile.Builder builder = TransliterationProfile.builder("Custom", TransliterationProfile.ISO_843)
+                .map("η", "ee").map("ή", "ee")
+                .digraph("ου", "u")
+                .remove("Μπ");
+        final TransliterationProfile custom = builder.build();
+        boolean succeed = check(custom, "Μπάμπης Κουρής", "Mpampees Kurees");
+        // changing the builder does not change the profiles already built
+        builder.map("ή", "i");
+        succeed &= check(custom, "Κουρής", "Kurees");
+        succeed &= check(builder.build(), "Κουρής", "Kuris");
+        // the base profile is not changed either
+        succeed &= check(TransliterationProfile.ISO_843, "Μπάμπης Κουρής", "Bampis Kouris");
+        // a profile without any rules copies the text as it is
+        succeed &= check(TransliterationProfile.builder("Empty").build(), "Κόσμος", "Κόσμος");
+        assert succeed;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyKey() {
+        TransliterationProfile.builder("Invalid").map("", "a");
+    }
+}
@@ -0,0 +1,113 @@
+package com.aspectsense.greektools;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Testing the conversion of UTF-8 bytes in {@link Utf8Transliterator}.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public class Utf8TransliteratorTest {
+
+    private static final String GREEK_TEXT = "Αυτή είναι μια δοκιμαστική πρόταση.\n\tΕίναι καλή;  ΕΥΓΝΩΜΟΣΎΝΗ Μπιφτέκια\r\n" +
+            "Αγγαρεία Εύα ταυ, ΦΑΪ και emoji 😀 με «εισαγωγικά» ";
+
+    private static String expected(final boolean withAccents) throws IOException {
+        final StringWriter stringWriter = new StringWriter();
+        Greeklish.toGreeklish(new StringReader(GREEK_TEXT), stringWriter, withAccents);
+        return stringWriter.toString();
+    }
+
+    @Test
+    public void testWholeText() throws IOException {
+        for(final boolean withAccents : new boolean [] { false, true }) {
+            final byte [] greeklish = Utf8Transliterator.toGreeklish(GREEK_TEXT.getBytes(StandardCharsets.UTF_8), withAccents);
+            final String result = new String(greeklish, StandardCharsets.UTF_8);
+            final boolean match = result.equals(expected(withAccents));
+            System.out.println(GREEK_TEXT + " -> " + result + " " + (match ? "✓" : "✗"));
+            assert match;
+        }
+    }
+
+    /**
+     * Converts the text through buffers of the given sizes, filling the input a few bytes at a time, as a network or
+     * file channel would.
+     */
+    private static String stream(final String text, final int inSize, final int outSize) throws IOException {
+        final byte [] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        final Utf8Transliterator utf8Transliterator = new Utf8Transliterator(true);
+        final ByteBuffer in = ByteBuffer.allocateDirect(inSize);
+        final ByteBuffer out = ByteBuffer.allocateDirect(outSize);
+        final ByteArrayOutputStream result = new ByteArrayOutputStream();
+        int consumed = 0;
+        int produced = 0;
+        int read = 0;
+        boolean done = false;
+        for(int calls = 0; !done; calls++) {
+            assert calls < 10 * utf8.length : "no progress";
+            final int chunk = Math.min(in.remaining(), Math.min(7, utf8.length - read));
+            in.put(utf8, read, chunk);
+            read += chunk;
+            in.flip();
+            final boolean endOfInput = read == utf8.length;
+            Utf8Transliterator.Result transliteration;
+            do {
+                transliteration = utf8Transliterator.transliterate(in, out, endOfInput);
+                consumed += transliteration.getBytesConsumed();
+                produced += transliteration.getBytesProduced();
+                out.flip();
+                while(out.hasRemaining()) result.write(out.get());
+                out.clear();
+            } while(transliteration.isOverflow());
+            done = endOfInput && !in.hasRemaining();
+            in.compact();
+        }
+        assert consumed == utf8.length;
+        assert produced == result.size();
+        return result.toString("UTF-8");
+    }
+
+    @Test
+    public void testStreaming() throws IOException {
+        // small direct buffers, so that words and characters are cut at the boundaries of both buffers
+        final String result = stream(GREEK_TEXT, 40, 16);
+        System.out.println(GREEK_TEXT + " -> " + result);
+        assert result.equals(expected(true));
+    }
+
+    @Test
+    public void testSmallBuffers() throws IOException {
+        // words which do not fit in the output buffer are written in parts
+        for(int outSize = Utf8Transliterator.MIN_BUFFER_SIZE; outSize <= 8; outSize++) {
+            assert stream(GREEK_TEXT, 256, outSize).equals(expected(true)) : outSize;
+        }
+        // words which do not fit in the input buffer are converted in pieces, which is lossless for Latin words
+        final String latin = "supercalifragilisticexpialidocious, 😀 antidisestablishmentarianism";
+        for(int inSize = Utf8Transliterator.MIN_BUFFER_SIZE; inSize <= 8; inSize++) {
+            assert stream(latin, inSize, 4).equals(latin) : inSize;
+            final String result = stream(GREEK_TEXT, inSize, Utf8Transliterator.MIN_BUFFER_SIZE);
+            System.out.println(inSize + ": " + result);
+        }
+        try {
+            new Utf8Transliterator(false).transliterate(ByteBuffer.allocate(16), ByteBuffer.allocate(3), true);
+            assert false;
+        } catch (IllegalArgumentException iae) {
+            System.out.println("Output buffer of 3 bytes rejected ✓");
+        }
+    }
+
+    @Test
+    public void testMalformedInput() {
+        final byte [] malformed = { 'a', (byte) 0xCE, ' ', (byte) 0xCE, (byte) 0xB1, (byte) 0xFF, (byte) 0xCE };
+        final String result = new String(Utf8Transliterator.toGreeklish(malformed, false), StandardCharsets.UTF_8);
+        assert result.equals("a� a��") : result;
+    }
+}
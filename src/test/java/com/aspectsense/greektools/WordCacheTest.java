@@ -0,0 +1,92 @@
+package com.aspectsense.greektools;
+
+import org.junit.Test;
+
+/**
+ * Testing the {@link WordCache}.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public class WordCacheTest {
+
+    @Test
+    public void testCache() {
+        final String greek = "Αυτή είναι μια δοκιμαστική πρόταση. Είναι καλή; Αυτή είναι μια δοκιμαστική πρόταση.";
+        final String expected = Greeklish.toGreeklish(greek, false);
+        final String expectedWithAccents = Greeklish.toGreeklish(greek, true);
+
+        final WordCache wordCache = new WordCache(1000);
+        Greeklish.setWordCache(wordCache);
+        try {
+            for(int i = 0; i < 3; i++) {
+                assert Greeklish.toGreeklish(greek, false).equals(expected);
+                assert Greeklish.toGreeklish(greek, true).equals(expectedWithAccents);
+            }
+            System.out.println(wordCache);
+            // 7 distinct words in each of the two accent modes
+            assert wordCache.getMissCount() == 14;
+            assert wordCache.getHitCount() == 6 * 12 - 14;
+            assert wordCache.size() == 14;
+            assert wordCache.getEvictionCount() == 0;
+        } finally {
+            Greeklish.setWordCache(null);
+        }
+    }
+
+    @Test
+    public void testEviction() {
+        final WordCache wordCache = new WordCache(1);
+        assert wordCache.getCapacity() == WordCache.WAYS;
+        Greeklish.setWordCache(wordCache);
+        try {
+            final String [] words = { "Νέαρχος", "Ουρανός", "Συλλαβή", "Διαλυτικά", "Άυλος", "Αυλός", "Φαΐ", "Ξύπνημα",
+                    "Διύλιση", "Αγγαρεία", "Μπιφτέκια", "Ευγνωμοσύνη", "Ευθεία" };
+            for(final String word : words) {
+                final String greeklish = Greeklish.toGreeklishWord(word, false);
+                assert greeklish.equals(Greeklish.toGreeklishWord(word, false));
+            }
+            System.out.println(wordCache);
+            assert wordCache.size() == WordCache.WAYS;
+            assert wordCache.getEvictionCount() == words.length - WordCache.WAYS;
+        } finally {
+            Greeklish.setWordCache(null);
+        }
+    }
+
+    @Test
+    public void testConcurrentClear() throws InterruptedException {
+        // a small cache, so that the sets are full and inserting evicts while another thread clears them
+        final WordCache wordCache = new WordCache(16);
+        Greeklish.setWordCache(wordCache);
+        try {
+            final String [] words = { "Νέαρχος", "Ουρανός", "Συλλαβή", "Διαλυτικά", "Άυλος", "Αυλός", "Φαΐ", "Ξύπνημα",
+                    "Διύλιση", "Αγγαρεία", "Μπιφτέκια", "Ευγνωμοσύνη", "Ευθεία", "Καλημέρα", "Σπίτι", "Θάλασσα",
+                    "Βουνό", "Ποτάμι", "Δέντρο", "Λουλούδι" };
+            final String [] expected = new String[words.length];
+            for(int i = 0; i < words.length; i++) expected[i] = Greeklish.toGreeklishWord(words[i], false);
+            final Throwable [] failure = new Throwable[1];
+            final Thread [] threads = new Thread[3];
+            for(int t = 0; t < threads.length; t++) {
+                threads[t] = new Thread(() -> {
+                    try {
+                        for(int n = 0; n < 20_000; n++) {
+                            final int i = n % words.length;
+                            if(!Greeklish.toGreeklishWord(words[i], false).equals(expected[i])) throw new AssertionError(words[i]);
+                        }
+                    } catch (Throwable throwable) {
+                        failure[0] = throwable;
+                    }
+                });
+                threads[t].start();
+            }
+            for(int n = 0; n < 2_000; n++) wordCache.clear();
+            for(final Thread thread : threads) thread.join();
+            System.out.println(wordCache + " " + (failure[0] == null ? "✓" : "✗ " + failure[0]));
+            assert failure[0] == null;
+            assert wordCache.size() <= wordCache.getCapacity();
+        } finally {
+            Greeklish.setWordCache(null);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.aspectsense.greektools;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Testing the {@link WordTokenizer} and the handling of whitespace and punctuation in {@link Greeklish}.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public class WordTokenizerTest {
+
+    private static List<String> words(final CharSequence text) {
+        final List<String> words = new ArrayList<>();
+        final WordTokenizer tokenizer = new WordTokenizer(text);
+        while(tokenizer.next()) words.add(text.subSequence(tokenizer.start(), tokenizer.end()).toString());
+        return words;
+    }
+
+    @Test
+    public void testWords() {
+        // no-break space, em space, ideographic space, tab, line separator and punctuation are all boundaries
+        final String text = " Καλή;\tναι όχι (ίσως)　«ΚΑΙ» τ' αστέρια—1821 ";
+        final List<String> words = words(text);
+        System.out.println(words);
+        assert words.equals(Arrays.asList("Καλή", "ναι", "όχι", "ίσως", "ΚΑΙ", "τ", "αστέρια", "1821"));
+
+        // combining marks are part of the words
+        assert words("κόσμος, ἄνθρωπος").equals(Arrays.asList("κόσμος", "ἄνθρωπος"));
+        assert words("").isEmpty();
+        assert words(" ;. ").isEmpty();
+    }
+
+    @Test
+    public void testOffsets() {
+        final String text = "Ο κόσμος, ο ωραίος.";
+        final WordTokenizer tokenizer = new WordTokenizer(text, 2, 17);
+        final int [] expected = {2, 8, 10, 11, 12, 17};
+        int i = 0;
+        while(tokenizer.next()) {
+            assert tokenizer.start() == expected[i++];
+            assert tokenizer.end() == expected[i++];
+        }
+        assert i == expected.length;
+
+        // a tokenizer can be reused
+        tokenizer.reset("αβ γδ", 3, 5);
+        assert tokenizer.next() && tokenizer.start() == 3 && tokenizer.end() == 5;
+        assert !tokenizer.next();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNoCurrentWord() {
+        new WordTokenizer("κόσμος").start();
+    }
+
+    @Test
+    public void testGreeklishKeepsSpacingAndPunctuation() throws IOException {
+        final String [][] tests = {
+                { "  Καλή μέρα\t\tκόσμε!\n", "  Kali mera\t\tkosme!\n" },
+                { "(Μπάμπης)", "(Bampis)" }, // word-initial rule after punctuation
+                { "«Μπαμπάς»", "«Bampas»" },
+                { "αυ, ευ.", "av, ev." }, // a word which consists only of the digraph
+                { "ταυ,\nταυ", "taf,\ntaf" },
+                { "Τι;", "Ti?" },
+                { "ΧΑΝΙΑ, ΧΑΝΙΑ", "CHANIA, CHANIA" },
+                { "κόσμος ο ωραίος", "kosmos o oraios" }
+        };
+        boolean succeed = true;
+        for(final String [] test : tests) {
+            final String greeklish = Greeklish.toGreeklish(test[0]);
+            final StringWriter stringWriter = new StringWriter();
+            Greeklish.toGreeklish(new StringReader(test[0]), stringWriter, false);
+            final String utf8 = new String(Utf8Transliterator.toGreeklish(test[0].getBytes(StandardCharsets.UTF_8), false), StandardCharsets.UTF_8);
+            final boolean match = greeklish.equals(test[1]) && stringWriter.toString().equals(test[1]) && utf8.equals(test[1]);
+            System.out.println(test[0] + " -> " + greeklish + " " + (match ? "✓" : "✗"));
+            succeed &= match;
+        }
+        assert succeed;
+        // the conversion back keeps the spacing too
+        assert Greeklish.toGreek("  Kosmos,\tkosme!\n").equals("  Κοσμος,\tκοσμε!\n");
+    }
+}
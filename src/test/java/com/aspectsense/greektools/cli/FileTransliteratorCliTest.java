@@ -0,0 +1,45 @@
+package com.aspectsense.greektools.cli;
+
+import com.aspectsense.greektools.Greeklish;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Testing the {@link FileTransliteratorCli} with temporary files.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public class FileTransliteratorCliTest {
+
+    @Test
+    public void testRun() throws IOException {
+        final String greek = "Καλή μέρα,\nΨΥΧΗ και Αύριο!\n";
+        final Path input = Files.createTempFile("greek", ".txt");
+        final Path output = Files.createTempFile("greeklish", ".txt");
+        try {
+            Files.write(input, greek.getBytes(StandardCharsets.UTF_8));
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final ByteArrayOutputStream err = new ByteArrayOutputStream();
+            final int status = FileTransliteratorCli.run(new String [] { "--accents", "--threads", "2", input.toString(), output.toString() },
+                    new PrintStream(out, true), new PrintStream(err, true));
+            System.out.println(out + (status == GreeklishCli.EXIT_SUCCESS ? "✓" : "✗"));
+            assert status == GreeklishCli.EXIT_SUCCESS && out.toString().startsWith("Converted ");
+            assert new String(Files.readAllBytes(output), StandardCharsets.UTF_8).equals(Greeklish.toGreeklish(greek, true));
+
+            assert FileTransliteratorCli.run(new String [] { input.toString() }, new PrintStream(out), new PrintStream(err)) == GreeklishCli.EXIT_ERROR;
+            assert FileTransliteratorCli.run(new String [] { "--threads", "x", input.toString(), output.toString() },
+                    new PrintStream(out), new PrintStream(err)) == GreeklishCli.EXIT_ERROR;
+            assert err.toString().contains(FileTransliteratorCli.USAGE);
+        } finally {
+            Files.delete(input);
+            Files.delete(output);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.aspectsense.greektools.cli;
+
+import com.aspectsense.greektools.Greeklish;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+
+/**
+ * Testing the {@link GreeklishCli} with in-memory standard input and output.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public class GreeklishCliTest {
+
+    private static final class Result {
+        private final int status;
+        private final String output;
+        private final String error;
+
+        private Result(final int status, final String output, final String error) {
+            this.status = status;
+            this.output = output;
+            this.error = error;
+        }
+    }
+
+    private static Result run(final String input, final String... args) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ByteArrayOutputStream err = new ByteArrayOutputStream();
+        final int status = GreeklishCli.run(args, new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), out,
+                new PrintStream(err, true));
+        return new Result(status, new String(out.toByteArray(), StandardCharsets.UTF_8), err.toString());
+    }
+
+    @Test
+    public void testCommands() {
+        final String text = "Καλή μέρα,\r\nΨΥΧΗ και Αύριο!\n";
+        Result result = run(text);
+        System.out.println(result.output + (result.status == 0 ? "✓" : "✗"));
+        assert result.status == GreeklishCli.EXIT_SUCCESS && result.output.equals(Greeklish.toGreeklish(text));
+        result = run(text, "--accents");
+        assert result.status == GreeklishCli.EXIT_SUCCESS && result.output.equals(Greeklish.toGreeklish(text, true));
+        result = run(text, "--remove-accents");
+        assert result.status == GreeklishCli.EXIT_SUCCESS && result.output.equals("Καλη μερα,\r\nΨΥΧΗ και Αυριο!\n");
+        assert run("", "--remove-accents").output.isEmpty() && run("").output.isEmpty();
+
+        assert run("Hello Κόσμε", "--contains-greek").status == GreeklishCli.EXIT_SUCCESS;
+        assert run("Hello world", "--contains-greek").status == GreeklishCli.EXIT_NOT_FOUND;
+        assert run("Hello world", "--contains-greek").output.isEmpty();
+
+        result = run(text, "--greek");
+        assert result.status == GreeklishCli.EXIT_ERROR && result.output.isEmpty() && result.error.contains(GreeklishCli.USAGE);
+        assert run(text, "--help").status == GreeklishCli.EXIT_SUCCESS;
+    }
+
+    @Test
+    public void testLargeInput() {
+        // decomposed text, so that letters and their combining marks end up on both sides of the buffers
+        final StringBuilder text = new StringBuilder();
+        while(text.length() < 100_000) text.append("Αυτή είναι μια δοκιμαστική πρόταση, ἄνθρωπος. ");
+        final String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        final long start = System.nanoTime();
+        final Result result = run(decomposed, "--remove-accents");
+        System.out.println("Removed the accents of " + decomposed.length() + " characters in " + (System.nanoTime() - start) / 1000 + "µs");
+        assert result.status == GreeklishCli.EXIT_SUCCESS;
+        assert result.output.equals(Greeklish.removeAccents(decomposed));
+        assert run(decomposed).output.equals(Greeklish.toGreeklish(decomposed));
+        assert run("Hello " + decomposed, "--contains-greek").status == GreeklishCli.EXIT_SUCCESS;
+    }
+}
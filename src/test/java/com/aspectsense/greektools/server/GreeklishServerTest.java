@@ -0,0 +1,122 @@
+package com.aspectsense.greektools.server;
+
+import com.aspectsense.greektools.Greeklish;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Testing the {@link GreeklishServer} over HTTP, on a free local port.
+ *
+ * @author Nearchos Paspallis
+ * Created: 17-Oct-26
+ */
+public class GreeklishServerTest {
+
+    private static GreeklishServer server;
+
+    @BeforeClass
+    public static void startServer() throws IOException {
+        server = new GreeklishServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+    }
+
+    @AfterClass
+    public static void stopServer() {
+        server.stop(0);
+    }
+
+    private static String request(final String method, final String path, final String contentType, final String body) throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + server.getPort() + path).openConnection();
+        connection.setRequestMethod(method);
+        if(body != null) {
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", contentType);
+            try(final OutputStream outputStream = connection.getOutputStream()) {
+                outputStream.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        final int status = connection.getResponseCode();
+        try(final InputStream inputStream = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final byte [] buffer = new byte[4096];
+            for(int read; inputStream != null && (read = inputStream.read(buffer)) != -1; ) bytes.write(buffer, 0, read);
+            return status + " " + new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    public void testText() throws IOException {
+        assert request("POST", "/toGreeklish", "text/plain", "Καλή μέρα κόσμε!").equals("200 Kali mera kosme!");
+        assert request("POST", "/toGreeklish?accents=true", "text/plain", "Καλή μέρα").equals("200 " + Greeklish.toGreeklish("Καλή μέρα", true));
+        assert request("POST", "/toGreeklish?x=1&accents=true", "text/plain", "Καλή μέρα").equals("200 " + Greeklish.toGreeklish("Καλή μέρα", true));
+        assert request("POST", "/toGreeklish?accents=false", "text/plain", "Καλή μέρα").equals("200 Kali mera");
+        assert request("POST", "/toGreeklish?accents=%ZZ", "text/plain", "Καλή μέρα").startsWith("400 ");
+        assert request("POST", "/removeAccents", "text/plain", "Ένας Κόσμος").equals("200 Ενας Κοσμος");
+        assert request("POST", "/containsGreek", "text/plain", "abc").equals("200 false");
+        assert request("GET", "/toGreeklish", null, null).startsWith("405");
+    }
+
+    @Test
+    public void testBatch() throws IOException {
+        final String batch = "\"Καλή μέρα\"\n\"Ψυχή\\n\\\"Νέαρχος\\\"\"\nnot json\n\n\"\\u039c\\u03c0\"";
+        final String response = request("POST", "/toGreeklish", "application/x-ndjson", batch);
+        System.out.println(response);
+        // a line per non-blank line of the request, in order, and an error for the malformed line
+        assert response.equals("200 \"Kali mera\"\n\"Psychi\\n\\\"Nearchos\\\"\"\n{\"error\":\"Expected a JSON string\"}\n\"B\"\n");
+
+        assert request("POST", "/containsGreek", "application/x-ndjson", "\"abc\"\n\"αβγ\"\n").equals("200 false\ntrue\n");
+
+        // a larger batch is streamed line by line
+        final StringBuilder large = new StringBuilder();
+        final StringBuilder expected = new StringBuilder("200 ");
+        for(int i = 0; i < 10_000; i++) {
+            large.append("\"Αυτή είναι η πρόταση ").append(i).append("\"\n");
+            expected.append('"').append(Greeklish.toGreeklish("Αυτή είναι η πρόταση " + i)).append("\"\n");
+        }
+        assert request("POST", "/toGreeklish", "application/x-ndjson", large.toString()).equals(expected.toString());
+    }
+
+    @Test
+    public void testMetrics() throws IOException {
+        request("POST", "/removeAccents", "application/x-ndjson", "\"Ένας\"\n\"Κόσμος\"\n");
+        final String metrics = request("GET", "/metrics", null, null);
+        System.out.println(metrics.substring(0, metrics.indexOf("# TYPE greeklish_request_duration_seconds")));
+        assert metrics.startsWith("200 ");
+        assert metrics.contains("greeklish_items_total{operation=\"removeAccents\"} ");
+        assert metrics.contains("greeklish_request_duration_seconds_bucket{operation=\"removeAccents\",le=\"+Inf\"} ");
+        assert !metrics.contains("greeklish_request_duration_seconds_count{operation=\"removeAccents\"} 0\n");
+    }
+
+    @Test
+    public void testJsonStrings() throws IOException {
+        final StringBuilder value = new StringBuilder();
+        JsonStrings.decode(" \"a\\tβ\\u0393\\/\" ", value);
+        assert value.toString().equals("a\tβΓ/");
+        final StringBuilder json = new StringBuilder();
+        JsonStrings.encode("\"\\\n\u0001\u2028ά", json);
+        assert json.toString().equals("\"\\\"\\\\\\n\\u0001\\u2028ά\"");
+    }
+
+    @Test
+    public void testQueryParameter() {
+        assert GreeklishServer.queryParameter(null, "accents") == null;
+        assert GreeklishServer.queryParameter("", "accents") == null;
+        assert GreeklishServer.queryParameter("accents=true", "accents").equals("true");
+        assert GreeklishServer.queryParameter("x=1&accents=true&y", "accents").equals("true");
+        assert GreeklishServer.queryParameter("accents=true&accents=false", "accents").equals("false");
+        assert GreeklishServer.queryParameter("accents", "accents").isEmpty();
+        assert GreeklishServer.queryParameter("acc%65nts=tr%75e", "accents").equals("true");
+        assert GreeklishServer.queryParameter("noaccents=true", "accents") == null;
+    }
+}